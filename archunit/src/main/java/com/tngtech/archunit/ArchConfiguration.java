@@ -18,6 +18,8 @@ package com.tngtech.archunit;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +32,9 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableMap;
 import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.Source;
+import com.tngtech.archunit.core.domain.Source.Checksum;
+import com.tngtech.archunit.core.importer.ImportListener;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +55,16 @@ public final class ArchConfiguration {
     static final String CLASS_RESOLVER_ARGS = "classResolver.args";
     @Internal
     public static final String ENABLE_MD5_IN_CLASS_SOURCES = "enableMd5InClassSources";
+    @Internal // {@value ...} does not work on non public constants outside of the package
+    public static final String CLASS_SOURCE_CHECKSUM_ALGORITHM = "classSourceChecksumAlgorithm";
+    static final String IMPORT_PARALLELISM = "import.parallelism";
+    static final String IMPORT_CACHE_PATH = "import.cache.path";
+    static final String IMPORT_JDK_SNAPSHOT_PATH = "import.jdkSnapshot.path";
+    static final String IMPORT_RESOLUTION_MAX_DEPTH = "import.resolution.maxDepth";
+    static final String IMPORT_RESOLUTION_MAX_CLASSES = "import.resolution.maxClasses";
+    static final String IMPORT_ACCESS_RECORDS_HEAP_BUDGET = "import.accessRecords.heapBudgetMb";
+    @Internal // {@value ...} does not work on non public constants outside of the package
+    public static final String IMPORT_LISTENERS = "import.listeners";
     private static final String EXTENSION_PREFIX = "extension";
 
     private static final Logger LOG = LoggerFactory.getLogger(ArchConfiguration.class);
@@ -120,6 +135,172 @@ public final class ArchConfiguration {
         properties.setProperty(ENABLE_MD5_IN_CLASS_SOURCES, String.valueOf(enabled));
     }
 
+    /**
+     * @return The name of the {@link Checksum.Algorithm} to calculate {@link Source#getChecksum()} with, if configured
+     */
+    @PublicAPI(usage = ACCESS)
+    public Optional<String> getClassSourceChecksumAlgorithm() {
+        String configured = properties.getProperty(CLASS_SOURCE_CHECKSUM_ALGORITHM);
+        return configured != null && !configured.trim().isEmpty()
+                ? Optional.of(configured.trim())
+                : Optional.<String>absent();
+    }
+
+    /**
+     * @param algorithmName The name of the {@link Checksum.Algorithm} to calculate {@link Source#getChecksum()} with, e.g. {@code CRC32C}
+     */
+    @PublicAPI(usage = ACCESS)
+    public void setClassSourceChecksumAlgorithm(String algorithmName) {
+        properties.setProperty(CLASS_SOURCE_CHECKSUM_ALGORITHM, algorithmName);
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void unsetClassSourceChecksumAlgorithm() {
+        properties.remove(CLASS_SOURCE_CHECKSUM_ALGORITHM);
+    }
+
+    /**
+     * @return The number of threads used to parse class files during import. A configured value of {@code 0} or less
+     *         means one thread per available processor. The default of {@code 1} imports all class files sequentially.
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getImportParallelism() {
+        int configured = Integer.parseInt(properties.getProperty(IMPORT_PARALLELISM).trim());
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setImportParallelism(int parallelism) {
+        properties.setProperty(IMPORT_PARALLELISM, String.valueOf(parallelism));
+    }
+
+    /**
+     * @return The directory where the results of parsing class files are cached across imports and JVMs, if configured.
+     *         Cached results are only reused for class files (or JAR files containing class files) that have not been modified since.
+     */
+    @PublicAPI(usage = ACCESS)
+    public Optional<Path> getImportCachePath() {
+        String configured = properties.getProperty(IMPORT_CACHE_PATH);
+        return configured != null && !configured.trim().isEmpty()
+                ? Optional.of(Paths.get(configured.trim()))
+                : Optional.<Path>absent();
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setImportCachePath(Path path) {
+        properties.setProperty(IMPORT_CACHE_PATH, path.toAbsolutePath().toString());
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void unsetImportCachePath() {
+        properties.remove(IMPORT_CACHE_PATH);
+    }
+
+    /**
+     * @return The directory where snapshots of the classes of the JDK are stored, if configured. Each Java runtime version
+     *         gets its own snapshot, which is completed lazily, i.e. each JDK class is added when it is imported for the first time.
+     *         Later imports on the same Java runtime replay JDK classes from the snapshot instead of parsing them again.
+     *         Unlike {@link #getImportCachePath()} the directory can be shared by all projects using the same Java runtime.
+     */
+    @PublicAPI(usage = ACCESS)
+    public Optional<Path> getImportJdkSnapshotPath() {
+        String configured = properties.getProperty(IMPORT_JDK_SNAPSHOT_PATH);
+        return configured != null && !configured.trim().isEmpty()
+                ? Optional.of(Paths.get(configured.trim()))
+                : Optional.<Path>absent();
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setImportJdkSnapshotPath(Path path) {
+        properties.setProperty(IMPORT_JDK_SNAPSHOT_PATH, path.toAbsolutePath().toString());
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void unsetImportJdkSnapshotPath() {
+        properties.remove(IMPORT_JDK_SNAPSHOT_PATH);
+    }
+
+    /**
+     * @return How many steps away from the imported classes missing types are resolved, if limited. Types referenced
+     *         by the imported classes are 1 step away, types referenced by those types 2 steps, and so on. The super types
+     *         of a resolved class count as the same step as the class itself, so a depth of 1 resolves the direct dependencies
+     *         of the imported classes and their class hierarchies. Types further away are only represented by stubs.
+     */
+    @PublicAPI(usage = ACCESS)
+    public Optional<Integer> getImportResolutionMaxDepth() {
+        return getOptionalInt(IMPORT_RESOLUTION_MAX_DEPTH);
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setImportResolutionMaxDepth(int maxDepth) {
+        properties.setProperty(IMPORT_RESOLUTION_MAX_DEPTH, String.valueOf(maxDepth));
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void unsetImportResolutionMaxDepth() {
+        properties.remove(IMPORT_RESOLUTION_MAX_DEPTH);
+    }
+
+    /**
+     * @return The maximum number of missing types resolved per import, if limited. Once this number of types has been resolved,
+     *         all further missing types are only represented by stubs.
+     */
+    @PublicAPI(usage = ACCESS)
+    public Optional<Integer> getImportResolutionMaxClasses() {
+        return getOptionalInt(IMPORT_RESOLUTION_MAX_CLASSES);
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setImportResolutionMaxClasses(int maxClasses) {
+        properties.setProperty(IMPORT_RESOLUTION_MAX_CLASSES, String.valueOf(maxClasses));
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void unsetImportResolutionMaxClasses() {
+        properties.remove(IMPORT_RESOLUTION_MAX_CLASSES);
+    }
+
+    /**
+     * @return The heap in megabytes, that the accesses recorded while reading class files may take up, if limited.
+     *         Once this budget is exceeded, the recorded accesses are spilled to temporary files and read back
+     *         when the class graph is completed.
+     */
+    @PublicAPI(usage = ACCESS)
+    public Optional<Integer> getImportAccessRecordsHeapBudgetInMegabytes() {
+        return getOptionalInt(IMPORT_ACCESS_RECORDS_HEAP_BUDGET);
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setImportAccessRecordsHeapBudgetInMegabytes(int megabytes) {
+        properties.setProperty(IMPORT_ACCESS_RECORDS_HEAP_BUDGET, String.valueOf(megabytes));
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void unsetImportAccessRecordsHeapBudgetInMegabytes() {
+        properties.remove(IMPORT_ACCESS_RECORDS_HEAP_BUDGET);
+    }
+
+    private Optional<Integer> getOptionalInt(String propertyName) {
+        String configured = properties.getProperty(propertyName);
+        return configured != null && !configured.trim().isEmpty()
+                ? Optional.of(Integer.parseInt(configured.trim()))
+                : Optional.<Integer>absent();
+    }
+
+    /**
+     * @return The fully qualified class names of the {@link ImportListener ImportListeners} to notify about every import
+     */
+    @PublicAPI(usage = ACCESS)
+    public List<String> getImportListeners() {
+        return Splitter.on(",").trimResults().omitEmptyStrings()
+                .splitToList(properties.getProperty(IMPORT_LISTENERS, ""));
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setImportListeners(String... listenerClassNames) {
+        properties.setProperty(IMPORT_LISTENERS, Joiner.on(",").join(listenerClassNames));
+    }
+
     @PublicAPI(usage = ACCESS)
     public Optional<String> getClassResolver() {
         return Optional.fromNullable(properties.getProperty(CLASS_RESOLVER));
@@ -270,7 +451,8 @@ public final class ArchConfiguration {
     private static class PropertiesOverwritableBySystemProperties {
         private static final Properties PROPERTY_DEFAULTS = createProperties(ImmutableMap.of(
                 RESOLVE_MISSING_DEPENDENCIES_FROM_CLASS_PATH, Boolean.TRUE.toString(),
-                ENABLE_MD5_IN_CLASS_SOURCES, Boolean.FALSE.toString()
+                ENABLE_MD5_IN_CLASS_SOURCES, Boolean.FALSE.toString(),
+                IMPORT_PARALLELISM, String.valueOf(1)
         ));
 
         private final Properties baseProperties = createProperties(PROPERTY_DEFAULTS);
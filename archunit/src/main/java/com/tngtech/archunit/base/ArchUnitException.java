@@ -105,6 +105,41 @@ public class ArchUnitException extends RuntimeException {
         }
     }
 
+    @Internal
+    public static class ImportListenerConfigurationException extends ArchUnitException {
+        private ImportListenerConfigurationException(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+        public static ImportListenerConfigurationException onInstantiation(String listenerClass, Throwable cause) {
+            String message = String.format("Error creating import listener %s, it must implement %s and provide a public default constructor",
+                    listenerClass, "com.tngtech.archunit.core.importer.ImportListener");
+            return new ImportListenerConfigurationException(message, cause);
+        }
+    }
+
+    @Internal
+    public static class ChecksumAlgorithmConfigurationException extends ArchUnitException {
+        private ChecksumAlgorithmConfigurationException(String message) {
+            super(message);
+        }
+
+        public static ChecksumAlgorithmConfigurationException onUnknownAlgorithm(
+                String propertyName, String algorithmName, List<?> validAlgorithms) {
+
+            String message = String.format("Unknown checksum algorithm '%s' configured via property %s, valid algorithms are ['%s']",
+                    algorithmName, propertyName, Joiner.on("', '").join(validAlgorithms));
+            return new ChecksumAlgorithmConfigurationException(message);
+        }
+    }
+
+    @Internal
+    public static class ClassImportException extends ArchUnitException {
+        public ClassImportException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
     @Internal
     public static class InvalidSyntaxUsageException extends ArchUnitException {
         public InvalidSyntaxUsageException(String message) {
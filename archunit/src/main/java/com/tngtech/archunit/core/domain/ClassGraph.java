@@ -0,0 +1,390 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.base.Optional;
+
+/**
+ * All classes of one import, shared by each of these classes. Every class is numbered by its position within
+ * the graph, so the dependencies between the classes can be indexed by id.<br>
+ * The dependencies to each class are indexed lazily on the first request, in one pass over the dependencies
+ * from all classes of the graph, instead of assembling them for each class on its own. The index is stored like
+ * a sparse adjacency matrix, i.e. one array of all dependencies ordered by target and the offset of the
+ * dependencies to each class within this array.<br>
+ * To answer transitive queries, the graph is condensed into its strongly connected components once (compare
+ * {@link Condensation}). Which classes transitively depend on classes matching a certain predicate is then
+ * determined for all classes at once, within one pass over the condensed graph, and cached per predicate.
+ */
+class ClassGraph {
+    private final ImmutableMap<String, JavaClass> classesByName;
+    private final ImmutableList<JavaClass> classesById;
+    private final Supplier<DependenciesByTarget> dependenciesByTarget = Suppliers.memoize(new Supplier<DependenciesByTarget>() {
+        @Override
+        public DependenciesByTarget get() {
+            return indexDependenciesByTarget();
+        }
+    });
+
+    private final Supplier<Condensation> condensation = Suppliers.memoize(new Supplier<Condensation>() {
+        @Override
+        public Condensation get() {
+            return condense();
+        }
+    });
+    private final LoadingCache<DescribedPredicate<? super JavaClass>, BitSet> classesTransitivelyDependingOn =
+            CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<DescribedPredicate<? super JavaClass>, BitSet>() {
+                @Override
+                public BitSet load(DescribedPredicate<? super JavaClass> predicate) {
+                    return condensation.get().findClassesTransitivelyDependingOnClassesThat(predicate);
+                }
+            });
+    private volatile boolean complete;
+
+    private ClassGraph(Map<String, JavaClass> classesByName) {
+        this.classesByName = ImmutableMap.copyOf(classesByName);
+        this.classesById = this.classesByName.values().asList();
+    }
+
+    /**
+     * Marks the import of the classes of this graph as completed, i.e. from now on the type hierarchies
+     * of these classes will not change anymore
+     */
+    void markComplete() {
+        complete = true;
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    Optional<JavaClass> tryGetClass(String typeName) {
+        return Optional.fromNullable(classesByName.get(typeName));
+    }
+
+    /**
+     * @return All dependencies from classes of this graph where the class with the given id is the target
+     */
+    Set<Dependency> getDirectDependenciesTo(int classId) {
+        return dependenciesByTarget.get().getDependenciesTo(classId);
+    }
+
+    /**
+     * @return All classes of this graph that can be reached from the class with the given id by following
+     *         its dependencies, including the class itself
+     */
+    Set<JavaClass> getClassesTransitivelyReachableFrom(int classId) {
+        ImmutableSet.Builder<JavaClass> result = ImmutableSet.builder();
+        for (int id : condensation.get().getClassesReachableFrom(classId)) {
+            result.add(classesById.get(id));
+        }
+        return result.build();
+    }
+
+    /**
+     * @return true, if the class with the given id transitively depends on any class matching the predicate,
+     *         i.e. any class that can be reached by following at least one dependency
+     */
+    boolean transitivelyDependsOnClassesThat(int classId, DescribedPredicate<? super JavaClass> predicate) {
+        return classesTransitivelyDependingOn.getUnchecked(predicate).get(classId);
+    }
+
+    private DependenciesByTarget indexDependenciesByTarget() {
+        int[] offsets = new int[classesById.size() + 1];
+        for (JavaClass origin : classesById) {
+            for (Dependency dependency : origin.getDirectDependenciesFromSelf()) {
+                offsets[idOf(dependency.getTargetClass()) + 1]++;
+            }
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+
+        int[] nextPosition = Arrays.copyOf(offsets, classesById.size());
+        Dependency[] dependencies = new Dependency[offsets[classesById.size()]];
+        for (JavaClass origin : classesById) {
+            for (Dependency dependency : origin.getDirectDependenciesFromSelf()) {
+                dependencies[nextPosition[idOf(dependency.getTargetClass())]++] = dependency;
+            }
+        }
+        return new DependenciesByTarget(dependencies, offsets);
+    }
+
+    private Condensation condense() {
+        int[] offsets = new int[classesById.size() + 1];
+        for (int id = 0; id < classesById.size(); id++) {
+            offsets[id + 1] = offsets[id] + classesById.get(id).getDirectDependenciesFromSelf().size();
+        }
+        int[] targets = new int[offsets[classesById.size()]];
+        for (int id = 0; id < classesById.size(); id++) {
+            int position = offsets[id];
+            for (Dependency dependency : classesById.get(id).getDirectDependenciesFromSelf()) {
+                targets[position++] = idOf(dependency.getTargetClass());
+            }
+        }
+        return new Condensation(offsets, targets, classesById);
+    }
+
+    private int idOf(JavaClass javaClass) {
+        int id = javaClass.getIdInClassGraph();
+        if (javaClass.getClassGraph().orNull() != this) {
+            throw new IllegalStateException(String.format(
+                    "Dependency target %s is not part of the import of its origin", javaClass.getName()));
+        }
+        return id;
+    }
+
+    static ClassGraph of(Map<String, JavaClass> classesByName) {
+        ClassGraph result = new ClassGraph(classesByName);
+        for (int id = 0; id < result.classesById.size(); id++) {
+            result.classesById.get(id).setClassGraph(result, id);
+        }
+        return result;
+    }
+
+    /**
+     * The graph of the strongly connected components of the classes, i.e. the maximal sets of classes that
+     * all transitively depend on each other. The condensed graph is acyclic and its components are numbered
+     * in reverse topological order, i.e. every component only depends on components with lower numbers.
+     */
+    private static class Condensation {
+        private final ImmutableList<JavaClass> classesById;
+        private final int[] componentOf;
+        private final int[] memberOffsets;
+        private final int[] members;
+        private final int[] successorOffsets;
+        private final int[] successors;
+
+        /**
+         * @param offsets The offset of the targets of the dependencies from each class within {@code targets}
+         * @param targets The ids of the targets of all dependencies, ordered by origin
+         */
+        Condensation(int[] offsets, int[] targets, ImmutableList<JavaClass> classesById) {
+            this.classesById = classesById;
+            componentOf = findStronglyConnectedComponents(offsets, targets);
+            int numberOfComponents = classesById.isEmpty() ? 0 : max(componentOf) + 1;
+
+            memberOffsets = new int[numberOfComponents + 1];
+            for (int component : componentOf) {
+                memberOffsets[component + 1]++;
+            }
+            for (int i = 1; i < memberOffsets.length; i++) {
+                memberOffsets[i] += memberOffsets[i - 1];
+            }
+            members = new int[componentOf.length];
+            int[] nextPosition = Arrays.copyOf(memberOffsets, numberOfComponents);
+            for (int id = 0; id < componentOf.length; id++) {
+                members[nextPosition[componentOf[id]]++] = id;
+            }
+
+            successorOffsets = new int[numberOfComponents + 1];
+            int[] lastSeenFrom = new int[numberOfComponents];
+            Arrays.fill(lastSeenFrom, -1);
+            for (int component = 0; component < numberOfComponents; component++) {
+                successorOffsets[component + 1] = successorOffsets[component]
+                        + visitSuccessors(component, offsets, targets, lastSeenFrom, null, 0);
+            }
+            successors = new int[successorOffsets[numberOfComponents]];
+            Arrays.fill(lastSeenFrom, -1);
+            for (int component = 0; component < numberOfComponents; component++) {
+                visitSuccessors(component, offsets, targets, lastSeenFrom, successors, successorOffsets[component]);
+            }
+        }
+
+        /**
+         * Collects each component the given component has dependencies to exactly once, skipping the component itself.
+         *
+         * @return The number of successors of the component
+         */
+        private int visitSuccessors(int component, int[] offsets, int[] targets, int[] lastSeenFrom, int[] result, int start) {
+            int count = 0;
+            lastSeenFrom[component] = component;
+            for (int m = memberOffsets[component]; m < memberOffsets[component + 1]; m++) {
+                for (int t = offsets[members[m]]; t < offsets[members[m] + 1]; t++) {
+                    int successor = componentOf[targets[t]];
+                    if (lastSeenFrom[successor] != component) {
+                        lastSeenFrom[successor] = component;
+                        if (result != null) {
+                            result[start + count] = successor;
+                        }
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Tarjan's algorithm, unrolled into an explicit stack, since dependency chains can easily become too long
+         * for the call stack. Components are numbered in the order they are completed, which is reverse topological.
+         */
+        private static int[] findStronglyConnectedComponents(int[] offsets, int[] targets) {
+            int numberOfClasses = offsets.length - 1;
+            int[] index = new int[numberOfClasses];
+            int[] lowLink = new int[numberOfClasses];
+            int[] nextTarget = new int[numberOfClasses];
+            int[] componentOf = new int[numberOfClasses];
+            boolean[] onStack = new boolean[numberOfClasses];
+            int[] stack = new int[numberOfClasses];
+            int[] path = new int[numberOfClasses];
+            Arrays.fill(index, -1);
+            int nextIndex = 0;
+            int nextComponent = 0;
+            int stackSize = 0;
+            for (int root = 0; root < numberOfClasses; root++) {
+                if (index[root] >= 0) {
+                    continue;
+                }
+                int pathLength = 0;
+                path[pathLength++] = root;
+                index[root] = lowLink[root] = nextIndex++;
+                nextTarget[root] = offsets[root];
+                stack[stackSize++] = root;
+                onStack[root] = true;
+                while (pathLength > 0) {
+                    int current = path[pathLength - 1];
+                    if (nextTarget[current] < offsets[current + 1]) {
+                        int target = targets[nextTarget[current]++];
+                        if (index[target] < 0) {
+                            path[pathLength++] = target;
+                            index[target] = lowLink[target] = nextIndex++;
+                            nextTarget[target] = offsets[target];
+                            stack[stackSize++] = target;
+                            onStack[target] = true;
+                        } else if (onStack[target]) {
+                            lowLink[current] = Math.min(lowLink[current], index[target]);
+                        }
+                        continue;
+                    }
+                    pathLength--;
+                    if (pathLength > 0) {
+                        int caller = path[pathLength - 1];
+                        lowLink[caller] = Math.min(lowLink[caller], lowLink[current]);
+                    }
+                    if (lowLink[current] == index[current]) {
+                        int member;
+                        do {
+                            member = stack[--stackSize];
+                            onStack[member] = false;
+                            componentOf[member] = nextComponent;
+                        } while (member != current);
+                        nextComponent++;
+                    }
+                }
+            }
+            return componentOf;
+        }
+
+        private static int max(int[] values) {
+            int result = Integer.MIN_VALUE;
+            for (int value : values) {
+                result = Math.max(result, value);
+            }
+            return result;
+        }
+
+        private int numberOfComponents() {
+            return memberOffsets.length - 1;
+        }
+
+        private int sizeOf(int component) {
+            return memberOffsets[component + 1] - memberOffsets[component];
+        }
+
+        Iterable<Integer> getClassesReachableFrom(int classId) {
+            BitSet visited = new BitSet();
+            Deque<Integer> toVisit = new ArrayDeque<>();
+            toVisit.add(componentOf[classId]);
+            visited.set(componentOf[classId]);
+            ImmutableList.Builder<Integer> result = ImmutableList.builder();
+            while (!toVisit.isEmpty()) {
+                int component = toVisit.poll();
+                for (int m = memberOffsets[component]; m < memberOffsets[component + 1]; m++) {
+                    result.add(members[m]);
+                }
+                for (int s = successorOffsets[component]; s < successorOffsets[component + 1]; s++) {
+                    if (!visited.get(successors[s])) {
+                        visited.set(successors[s]);
+                        toVisit.add(successors[s]);
+                    }
+                }
+            }
+            return result.build();
+        }
+
+        /**
+         * Since every component only depends on components with lower numbers, it suffices to visit the components
+         * in ascending order, to know for every successor already, if it leads to a matching class.
+         * Within a component with more than one class, every class depends transitively on every class of the component,
+         * including itself.
+         */
+        BitSet findClassesTransitivelyDependingOnClassesThat(DescribedPredicate<? super JavaClass> predicate) {
+            BitSet containsMatchingClass = new BitSet(numberOfComponents());
+            for (int id = 0; id < classesById.size(); id++) {
+                if (predicate.apply(classesById.get(id))) {
+                    containsMatchingClass.set(componentOf[id]);
+                }
+            }
+            BitSet leadsToMatchingClass = new BitSet(numberOfComponents());
+            for (int component = 0; component < numberOfComponents(); component++) {
+                for (int s = successorOffsets[component]; s < successorOffsets[component + 1]; s++) {
+                    if (containsMatchingClass.get(successors[s]) || leadsToMatchingClass.get(successors[s])) {
+                        leadsToMatchingClass.set(component);
+                        break;
+                    }
+                }
+            }
+            BitSet result = new BitSet(classesById.size());
+            for (int id = 0; id < classesById.size(); id++) {
+                int component = componentOf[id];
+                if (leadsToMatchingClass.get(component) || (sizeOf(component) > 1 && containsMatchingClass.get(component))) {
+                    result.set(id);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class DependenciesByTarget {
+        private final Dependency[] dependencies;
+        private final int[] offsets;
+
+        DependenciesByTarget(Dependency[] dependencies, int[] offsets) {
+            this.dependencies = dependencies;
+            this.offsets = offsets;
+        }
+
+        Set<Dependency> getDependenciesTo(int classId) {
+            // dependencies from different origins are never equal, so every dependency is contained only once
+            return ImmutableSet.copyOf(Arrays.asList(dependencies).subList(offsets[classId], offsets[classId + 1]));
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.tngtech.archunit.core.domain;
 
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -48,17 +49,43 @@ import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
  * i.e. <code>origin</code> will never be equal to <code>target</code>.
  */
 public class Dependency implements HasDescription, Comparable<Dependency>, HasSourceCodeLocation {
+    /**
+     * Orders the causes of dependencies of the same {@link Type} by the names of the involved members or classes,
+     * i.e. by strings that already exist, instead of creating the descriptions
+     */
+    private static final Comparator<HasDescription> CAUSE_ORDER = new Comparator<HasDescription>() {
+        @Override
+        public int compare(HasDescription first, HasDescription second) {
+            if (first instanceof JavaAccess<?> && second instanceof JavaAccess<?>) {
+                JavaAccess<?> firstAccess = (JavaAccess<?>) first;
+                JavaAccess<?> secondAccess = (JavaAccess<?>) second;
+                return ComparisonChain.start()
+                        .compare(firstAccess.getOrigin().getFullName(), secondAccess.getOrigin().getFullName())
+                        .compare(firstAccess.getTarget().getFullName(), secondAccess.getTarget().getFullName())
+                        .result();
+            }
+            if (first instanceof HasName.AndFullName && second instanceof HasName.AndFullName) {
+                return ((HasName.AndFullName) first).getFullName().compareTo(((HasName.AndFullName) second).getFullName());
+            }
+            return 0;
+        }
+    };
+
     private final JavaClass originClass;
     private final JavaClass targetClass;
     private final int lineNumber;
-    private final String description;
+    private final Type type;
+    private final HasDescription cause;
     private final SourceCodeLocation sourceCodeLocation;
+    // most descriptions are never shown, thus they are only created on demand
+    private String description;
 
-    private Dependency(JavaClass originClass, JavaClass targetClass, int lineNumber, String description) {
+    private Dependency(JavaClass originClass, JavaClass targetClass, int lineNumber, Type type, HasDescription cause) {
         this.originClass = originClass;
         this.targetClass = targetClass;
         this.lineNumber = lineNumber;
-        this.description = description;
+        this.type = type;
+        this.cause = cause;
         this.sourceCodeLocation = SourceCodeLocation.of(originClass, lineNumber);
     }
 
@@ -66,81 +93,89 @@ public class Dependency implements HasDescription, Comparable<Dependency>, HasSo
         if (access.getOriginOwner().equals(access.getTargetOwner()) || access.getTargetOwner().isPrimitive()) {
             return Optional.absent();
         }
-        return Optional.of(new Dependency(access.getOriginOwner(), access.getTargetOwner(), access.getLineNumber(), access.getDescription()));
+        return Optional.of(new Dependency(access.getOriginOwner(), access.getTargetOwner(), access.getLineNumber(), Type.ACCESS, access));
     }
 
     static Dependency fromInheritance(JavaClass origin, JavaClass targetSuperType) {
         checkArgument(!origin.equals(targetSuperType) && !targetSuperType.isPrimitive(),
                 "It should never be possible to create an inheritance dependency to self or any primitive");
 
-        String originType = origin.isInterface() ? "Interface" : "Class";
-        String originDescription = originType + " " + bracketFormat(origin.getName());
-
-        String dependencyType = !origin.isInterface() && targetSuperType.isInterface() ? "implements" : "extends";
-
-        String targetType = targetSuperType.isInterface() ? "interface" : "class";
-        String targetDescription = bracketFormat(targetSuperType.getName());
-
-        String dependencyDescription = originDescription + " " + dependencyType + " " + targetType + " " + targetDescription;
-
-        String description = dependencyDescription + " in " + origin.getSourceCodeLocation();
-        return new Dependency(origin, targetSuperType, 0, description);
+        return new Dependency(origin, targetSuperType, 0, Type.INHERITANCE, origin);
     }
 
     static Optional<Dependency> tryCreateFromField(JavaField field) {
-        return tryCreateDependencyFromJavaMember(field, "has type", field.getRawType());
+        return tryCreateDependency(field.getOwner(), Type.FIELD_TYPE, field, field.getRawType());
     }
 
     static Optional<Dependency> tryCreateFromReturnType(JavaMethod method) {
-        return tryCreateDependencyFromJavaMember(method, "has return type", method.getRawReturnType());
+        return tryCreateDependency(method.getOwner(), Type.RETURN_TYPE, method, method.getRawReturnType());
     }
 
     static Optional<Dependency> tryCreateFromParameter(JavaCodeUnit codeUnit, JavaClass parameter) {
-        return tryCreateDependencyFromJavaMember(codeUnit, "has parameter of type", parameter);
+        return tryCreateDependency(codeUnit.getOwner(), Type.PARAMETER_TYPE, codeUnit, parameter);
     }
 
     static Optional<Dependency> tryCreateFromThrowsDeclaration(ThrowsDeclaration<? extends JavaCodeUnit> declaration) {
-        return tryCreateDependencyFromJavaMember(declaration.getLocation(), "throws type", declaration.getRawType());
+        return tryCreateDependency(declaration.getLocation().getOwner(), Type.THROWS_DECLARATION, declaration.getLocation(), declaration.getRawType());
     }
 
     static Optional<Dependency> tryCreateFromAnnotation(JavaAnnotation<?> target) {
         Origin origin = findSuitableOrigin(target);
-        return tryCreateDependency(origin.originClass, origin.originDescription, "is annotated with", target.getRawType());
+        return tryCreateDependency(origin.originClass, Type.ANNOTATION, origin.annotatedElement, target.getRawType());
     }
 
     static Optional<Dependency> tryCreateFromAnnotationMember(JavaAnnotation<?> annotation, JavaClass memberType) {
         Origin origin = findSuitableOrigin(annotation);
-        return tryCreateDependency(origin.originClass, origin.originDescription, "has annotation member of type", memberType);
+        return tryCreateDependency(origin.originClass, Type.ANNOTATION_MEMBER, origin.annotatedElement, memberType);
     }
 
     private static Origin findSuitableOrigin(JavaAnnotation<?> annotation) {
         Object annotatedElement = annotation.getAnnotatedElement();
         if (annotatedElement instanceof JavaMember) {
             JavaMember member = (JavaMember) annotatedElement;
-            return new Origin(member.getOwner(), member.getDescription());
+            return new Origin(member.getOwner(), member);
         }
         if (annotatedElement instanceof JavaClass) {
             JavaClass clazz = (JavaClass) annotatedElement;
-            return new Origin(clazz, clazz.getDescription());
+            return new Origin(clazz, clazz);
         }
         throw new IllegalStateException("Could not find suitable dependency origin for " + annotation);
     }
 
-    private static Optional<Dependency> tryCreateDependencyFromJavaMember(JavaMember origin, String dependencyType, JavaClass target) {
-        return tryCreateDependency(origin.getOwner(), origin.getDescription(), dependencyType, target);
-    }
-
     private static Optional<Dependency> tryCreateDependency(
-            JavaClass originClass, String originDescription, String dependencyType, JavaClass targetClass) {
+            JavaClass originClass, Type type, HasDescription cause, JavaClass targetClass) {
 
         if (originClass.equals(targetClass) || targetClass.isPrimitive()) {
             return Optional.absent();
         }
 
+        return Optional.of(new Dependency(originClass, targetClass, 0, type, cause));
+    }
+
+    private String createDescription() {
+        switch (type) {
+            case ACCESS:
+                return cause.getDescription();
+            case INHERITANCE:
+                return createInheritanceDescription();
+            default:
+                String dependencyDescription = cause.getDescription() + " " + type.verb + " " + bracketFormat(targetClass.getName());
+                return dependencyDescription + " in " + originClass.getSourceCodeLocation();
+        }
+    }
+
+    private String createInheritanceDescription() {
+        String originType = originClass.isInterface() ? "Interface" : "Class";
+        String originDescription = originType + " " + bracketFormat(originClass.getName());
+
+        String dependencyType = !originClass.isInterface() && targetClass.isInterface() ? "implements" : "extends";
+
+        String targetType = targetClass.isInterface() ? "interface" : "class";
         String targetDescription = bracketFormat(targetClass.getName());
-        String dependencyDescription = originDescription + " " + dependencyType + " " + targetDescription;
-        String description = dependencyDescription + " in " + originClass.getSourceCodeLocation();
-        return Optional.of(new Dependency(originClass, targetClass, 0, description));
+
+        String dependencyDescription = originDescription + " " + dependencyType + " " + targetType + " " + targetDescription;
+
+        return dependencyDescription + " in " + originClass.getSourceCodeLocation();
     }
 
     private static String bracketFormat(String name) {
@@ -160,7 +195,11 @@ public class Dependency implements HasDescription, Comparable<Dependency>, HasSo
     @Override
     @PublicAPI(usage = ACCESS)
     public String getDescription() {
-        return description;
+        String result = description;
+        if (result == null) {
+            result = description = createDescription();
+        }
+        return result;
     }
 
     @Override
@@ -172,15 +211,20 @@ public class Dependency implements HasDescription, Comparable<Dependency>, HasSo
     @Override
     @PublicAPI(usage = ACCESS)
     public int compareTo(Dependency o) {
-        return ComparisonChain.start()
+        int result = ComparisonChain.start()
+                .compare(originClass.getName(), o.originClass.getName())
+                .compare(targetClass.getName(), o.targetClass.getName())
                 .compare(lineNumber, o.lineNumber)
-                .compare(getDescription(), o.getDescription())
+                .compare(type, o.type)
+                .compare(cause, o.cause, CAUSE_ORDER)
                 .result();
+        // only different accesses of the same members in the same line, like reading and writing a field, are left
+        return result != 0 || equals(o) ? result : getDescription().compareTo(o.getDescription());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(originClass, targetClass, lineNumber, description);
+        return Objects.hash(originClass, targetClass, lineNumber, type, cause);
     }
 
     @Override
@@ -195,7 +239,8 @@ public class Dependency implements HasDescription, Comparable<Dependency>, HasSo
         return Objects.equals(this.originClass, other.originClass)
                 && Objects.equals(this.targetClass, other.targetClass)
                 && Objects.equals(this.lineNumber, other.lineNumber)
-                && Objects.equals(this.description, other.description);
+                && Objects.equals(this.type, other.type)
+                && Objects.equals(this.cause, other.cause);
     }
 
     @Override
@@ -204,7 +249,7 @@ public class Dependency implements HasDescription, Comparable<Dependency>, HasSo
                 .add("originClass", originClass)
                 .add("targetClass", targetClass)
                 .add("lineNumber", lineNumber)
-                .add("description", description)
+                .add("description", getDescription())
                 .toString();
     }
 
@@ -219,11 +264,31 @@ public class Dependency implements HasDescription, Comparable<Dependency>, HasSo
 
     private static class Origin {
         private final JavaClass originClass;
-        private final String originDescription;
+        private final HasDescription annotatedElement;
 
-        private Origin(JavaClass originClass, String originDescription) {
+        private Origin(JavaClass originClass, HasDescription annotatedElement) {
             this.originClass = originClass;
-            this.originDescription = originDescription;
+            this.annotatedElement = annotatedElement;
+        }
+    }
+
+    /**
+     * The kind of dependency, where {@link #verb} describes how the cause of the dependency relates to the target
+     */
+    private enum Type {
+        ACCESS(""),
+        INHERITANCE(""),
+        FIELD_TYPE("has type"),
+        RETURN_TYPE("has return type"),
+        PARAMETER_TYPE("has parameter of type"),
+        THROWS_DECLARATION("throws type"),
+        ANNOTATION("is annotated with"),
+        ANNOTATION_MEMBER("has annotation member of type");
+
+        private final String verb;
+
+        Type(String verb) {
+            this.verb = verb;
         }
     }
 
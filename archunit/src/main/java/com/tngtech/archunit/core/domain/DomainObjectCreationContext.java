@@ -135,8 +135,21 @@ public class DomainObjectCreationContext {
         return new JavaEnumConstant(builder);
     }
 
-    public static Source createSource(URI uri, Optional<String> sourceFileName, boolean md5InClassSourcesEnabled) {
-        return new Source(uri, sourceFileName, md5InClassSourcesEnabled);
+    public static Source createSource(URI uri, Optional<String> sourceFileName,
+            boolean md5InClassSourcesEnabled, Optional<Source.Checksum.Algorithm> checksumAlgorithm) {
+        return new Source(uri, sourceFileName, md5InClassSourcesEnabled, checksumAlgorithm);
+    }
+
+    public static Source createSource(URI uri, Optional<String> sourceFileName, Optional<Source.Md5sum> md5sum, Optional<Source.Checksum> checksum) {
+        return new Source(uri, sourceFileName, md5sum.or(Source.Md5sum.DISABLED), checksum.or(Source.Checksum.DISABLED));
+    }
+
+    public static Source.Md5sum createMd5sum(byte[] classFile, int length) {
+        return Source.Md5sum.of(classFile, length);
+    }
+
+    public static Source.Checksum createChecksum(Source.Checksum.Algorithm algorithm, byte[] classFile, int length) {
+        return Source.Checksum.of(algorithm, classFile, length);
     }
 
     public static <CODE_UNIT extends JavaCodeUnit> ThrowsClause<CODE_UNIT> createThrowsClause(CODE_UNIT codeUnit, List<JavaClass> types) {
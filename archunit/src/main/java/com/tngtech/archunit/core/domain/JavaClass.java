@@ -47,7 +47,6 @@ import com.tngtech.archunit.core.importer.DomainBuilders.JavaClassBuilder;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Iterables.concat;
-import static com.google.common.collect.Sets.union;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 import static com.tngtech.archunit.base.ClassLoaders.getCurrentClassLoader;
 import static com.tngtech.archunit.base.DescribedPredicate.equalTo;
@@ -97,7 +96,104 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
                     .build();
         }
     });
+    private final Supplier<List<JavaClass>> allSuperClasses = new TypeHierarchyClosure<List<JavaClass>>() {
+        @Override
+        List<JavaClass> compute() {
+            ImmutableList.Builder<JavaClass> result = ImmutableList.builder();
+            if (superClass.isPresent()) {
+                result.add(superClass.get());
+                result.addAll(superClass.get().getAllSuperClasses());
+            }
+            return result.build();
+        }
+    };
+    private final Supplier<List<JavaClass>> classHierarchy = new TypeHierarchyClosure<List<JavaClass>>() {
+        @Override
+        List<JavaClass> compute() {
+            return ImmutableList.<JavaClass>builder()
+                    .add(JavaClass.this)
+                    .addAll(getAllSuperClasses())
+                    .build();
+        }
+    };
+    private final Supplier<Set<JavaClass>> allInterfaces = new TypeHierarchyClosure<Set<JavaClass>>() {
+        @Override
+        Set<JavaClass> compute() {
+            ImmutableSet.Builder<JavaClass> result = ImmutableSet.builder();
+            for (JavaClass i : interfaces) {
+                result.add(i);
+                result.addAll(i.getAllInterfaces());
+            }
+            if (superClass.isPresent()) {
+                result.addAll(superClass.get().getAllInterfaces());
+            }
+            return result.build();
+        }
+    };
+    private final Supplier<Set<JavaClass>> allClassesSelfIsAssignableTo = new TypeHierarchyClosure<Set<JavaClass>>() {
+        @Override
+        Set<JavaClass> compute() {
+            return ImmutableSet.<JavaClass>builder()
+                    .add(JavaClass.this)
+                    .addAll(getAllSuperClasses())
+                    .addAll(getAllInterfaces())
+                    .build();
+        }
+    };
+    private final Supplier<Set<JavaClass>> allSubClasses = new TypeHierarchyClosure<Set<JavaClass>>() {
+        @Override
+        Set<JavaClass> compute() {
+            ImmutableSet.Builder<JavaClass> result = ImmutableSet.builder();
+            for (JavaClass subClass : subClasses) {
+                result.add(subClass);
+                result.addAll(subClass.getAllSubClasses());
+            }
+            return result.build();
+        }
+    };
+    private Optional<ClassGraph> classGraph = Optional.absent();
+    private int idInClassGraph;
+    private final Supplier<Accesses> accessesFromSelf = Suppliers.memoize(new Supplier<Accesses>() {
+        @Override
+        public Accesses get() {
+            ImmutableSet.Builder<JavaFieldAccess> fieldAccesses = ImmutableSet.builder();
+            ImmutableSet.Builder<JavaMethodCall> methodCalls = ImmutableSet.builder();
+            ImmutableSet.Builder<JavaConstructorCall> constructorCalls = ImmutableSet.builder();
+            for (JavaCodeUnit codeUnit : codeUnits) {
+                fieldAccesses.addAll(codeUnit.getFieldAccesses());
+                methodCalls.addAll(codeUnit.getMethodCallsFromSelf());
+                constructorCalls.addAll(codeUnit.getConstructorCallsFromSelf());
+            }
+            return new Accesses(fieldAccesses.build(), methodCalls.build(), constructorCalls.build());
+        }
+    });
+    private final Supplier<Accesses> accessesToSelf = Suppliers.memoize(new Supplier<Accesses>() {
+        @Override
+        public Accesses get() {
+            ImmutableSet.Builder<JavaFieldAccess> fieldAccesses = ImmutableSet.builder();
+            for (JavaField field : fields) {
+                fieldAccesses.addAll(field.getAccessesToSelf());
+            }
+            ImmutableSet.Builder<JavaMethodCall> methodCalls = ImmutableSet.builder();
+            for (JavaMethod method : methods) {
+                methodCalls.addAll(method.getCallsOfSelf());
+            }
+            ImmutableSet.Builder<JavaConstructorCall> constructorCalls = ImmutableSet.builder();
+            for (JavaConstructor constructor : constructors) {
+                constructorCalls.addAll(constructor.getCallsOfSelf());
+            }
+            return new Accesses(fieldAccesses.build(), methodCalls.build(), constructorCalls.build());
+        }
+    });
     private JavaClassDependencies javaClassDependencies;
+    private final Supplier<Set<Dependency>> directDependenciesToSelf = Suppliers.memoize(new Supplier<Set<Dependency>>() {
+        @Override
+        public Set<Dependency> get() {
+            return classGraph.isPresent()
+                    ? classGraph.get().getDirectDependenciesTo(idInClassGraph)
+                    : javaClassDependencies.getDirectDependenciesToClass();
+        }
+    });
 
     JavaClass(JavaClassBuilder builder) {
         source = checkNotNull(builder.getSource());
@@ -164,6 +260,25 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
         this.javaPackage = checkNotNull(javaPackage);
     }
 
+    /**
+     * @param classGraph All classes of the import of this class, i.e. in particular the complete type hierarchy
+     *                   of this class, which allows to look up types by name to check assignability, instead of
+     *                   comparing names within the hierarchy, and to look up the dependencies to this class
+     * @param id The id of this class within {@code classGraph}
+     */
+    void setClassGraph(ClassGraph classGraph, int id) {
+        this.classGraph = Optional.of(classGraph);
+        this.idInClassGraph = id;
+    }
+
+    Optional<ClassGraph> getClassGraph() {
+        return classGraph;
+    }
+
+    int getIdInClassGraph() {
+        return idInClassGraph;
+    }
+
     @PublicAPI(usage = ACCESS)
     public String getPackageName() {
         return javaType.getPackageName();
@@ -576,10 +691,7 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
      */
     @PublicAPI(usage = ACCESS)
     public List<JavaClass> getClassHierarchy() {
-        ImmutableList.Builder<JavaClass> result = ImmutableList.builder();
-        result.add(this);
-        result.addAll(getAllSuperClasses());
-        return result.build();
+        return classHierarchy.get();
     }
 
     /**
@@ -588,13 +700,7 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
      */
     @PublicAPI(usage = ACCESS)
     public List<JavaClass> getAllSuperClasses() {
-        ImmutableList.Builder<JavaClass> result = ImmutableList.builder();
-        JavaClass current = this;
-        while (current.getSuperClass().isPresent()) {
-            current = current.getSuperClass().get();
-            result.add(current);
-        }
-        return result.build();
+        return allSuperClasses.get();
     }
 
     @PublicAPI(usage = ACCESS)
@@ -609,15 +715,7 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaClass> getAllInterfaces() {
-        ImmutableSet.Builder<JavaClass> result = ImmutableSet.builder();
-        for (JavaClass i : interfaces) {
-            result.add(i);
-            result.addAll(i.getAllInterfaces());
-        }
-        if (superClass.isPresent()) {
-            result.addAll(superClass.get().getAllInterfaces());
-        }
-        return result.build();
+        return allInterfaces.get();
     }
 
     /**
@@ -630,11 +728,7 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaClass> getAllClassesSelfIsAssignableTo() {
-        return ImmutableSet.<JavaClass>builder()
-                .add(this)
-                .addAll(getAllSuperClasses())
-                .addAll(getAllInterfaces())
-                .build();
+        return allClassesSelfIsAssignableTo.get();
     }
 
     @PublicAPI(usage = ACCESS)
@@ -644,12 +738,7 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaClass> getAllSubClasses() {
-        Set<JavaClass> result = new HashSet<>();
-        for (JavaClass subClass : subClasses) {
-            result.add(subClass);
-            result.addAll(subClass.getAllSubClasses());
-        }
-        return result;
+        return allSubClasses.get();
     }
 
     @PublicAPI(usage = ACCESS)
@@ -888,7 +977,7 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaAccess<?>> getAccessesFromSelf() {
-        return union(getFieldAccessesFromSelf(), getCallsFromSelf());
+        return accessesFromSelf.get().all;
     }
 
     /**
@@ -905,11 +994,7 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaFieldAccess> getFieldAccessesFromSelf() {
-        ImmutableSet.Builder<JavaFieldAccess> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
-            result.addAll(codeUnit.getFieldAccesses());
-        }
-        return result.build();
+        return accessesFromSelf.get().fieldAccesses;
     }
 
     /**
@@ -920,25 +1005,17 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaCall<?>> getCallsFromSelf() {
-        return union(getMethodCallsFromSelf(), getConstructorCallsFromSelf());
+        return accessesFromSelf.get().calls;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodCall> getMethodCallsFromSelf() {
-        ImmutableSet.Builder<JavaMethodCall> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
-            result.addAll(codeUnit.getMethodCallsFromSelf());
-        }
-        return result.build();
+        return accessesFromSelf.get().methodCalls;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorCall> getConstructorCallsFromSelf() {
-        ImmutableSet.Builder<JavaConstructorCall> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
-            result.addAll(codeUnit.getConstructorCallsFromSelf());
-        }
-        return result.build();
+        return accessesFromSelf.get().constructorCalls;
     }
 
     /**
@@ -960,6 +1037,63 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
         return javaClassDependencies.getDirectDependenciesFromClass();
     }
 
+    /**
+     * Returns all dependencies originating from this class or any class this class transitively depends on,
+     * i.e. the {@link #getDirectDependenciesFromSelf() direct dependencies} of all classes that can be reached
+     * by following the dependencies from this class. This includes dependencies back to this class,
+     * if this class is part of a dependency cycle.<br>
+     * NOTE: The result is assembled on each call, since it can easily comprise a large part of the import.
+     * To check if this class transitively depends on certain classes use
+     * {@link #transitivelyDependsOnClassesThat(DescribedPredicate)} instead.
+     *
+     * @return All dependencies originating from this class or any class transitively reachable from this class
+     */
+    @PublicAPI(usage = ACCESS)
+    public Set<Dependency> getTransitiveDependenciesFromSelf() {
+        ImmutableSet.Builder<Dependency> result = ImmutableSet.builder();
+        for (JavaClass javaClass : getClassesTransitivelyReachableFromSelf()) {
+            result.addAll(javaClass.getDirectDependenciesFromSelf());
+        }
+        return result.build();
+    }
+
+    private Set<JavaClass> getClassesTransitivelyReachableFromSelf() {
+        if (classGraph.isPresent()) {
+            return classGraph.get().getClassesTransitivelyReachableFrom(idInClassGraph);
+        }
+        Set<JavaClass> result = new HashSet<>();
+        List<JavaClass> toVisit = new ArrayList<>();
+        toVisit.add(this);
+        while (!toVisit.isEmpty()) {
+            JavaClass next = toVisit.remove(toVisit.size() - 1);
+            if (result.add(next)) {
+                for (Dependency dependency : next.getDirectDependenciesFromSelf()) {
+                    toVisit.add(dependency.getTargetClass());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param predicate Determines which classes match the transitive dependency target
+     * @return true, if any class matching the predicate can be reached by following the dependencies from this class
+     *         (compare {@link #getTransitiveDependenciesFromSelf()}). Within one import this is determined once
+     *         for all classes and each predicate, so the check is cheap for every further class.
+     */
+    @PublicAPI(usage = ACCESS)
+    public boolean transitivelyDependsOnClassesThat(DescribedPredicate<? super JavaClass> predicate) {
+        if (classGraph.isPresent()) {
+            return classGraph.get().transitivelyDependsOnClassesThat(idInClassGraph, predicate);
+        }
+        for (Dependency dependency : getTransitiveDependenciesFromSelf()) {
+            if (predicate.apply(dependency.getTargetClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Like {@link #getDirectDependenciesFromSelf()}, but instead returns all dependencies where this class
      * is target.
@@ -968,43 +1102,27 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
      */
     @PublicAPI(usage = ACCESS)
     public Set<Dependency> getDirectDependenciesToSelf() {
-        return javaClassDependencies.getDirectDependenciesToClass();
+        return directDependenciesToSelf.get();
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaFieldAccess> getFieldAccessesToSelf() {
-        ImmutableSet.Builder<JavaFieldAccess> result = ImmutableSet.builder();
-        for (JavaField field : fields) {
-            result.addAll(field.getAccessesToSelf());
-        }
-        return result.build();
+        return accessesToSelf.get().fieldAccesses;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodCall> getMethodCallsToSelf() {
-        ImmutableSet.Builder<JavaMethodCall> result = ImmutableSet.builder();
-        for (JavaMethod method : methods) {
-            result.addAll(method.getCallsOfSelf());
-        }
-        return result.build();
+        return accessesToSelf.get().methodCalls;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorCall> getConstructorCallsToSelf() {
-        ImmutableSet.Builder<JavaConstructorCall> result = ImmutableSet.builder();
-        for (JavaConstructor constructor : constructors) {
-            result.addAll(constructor.getCallsOfSelf());
-        }
-        return result.build();
+        return accessesToSelf.get().constructorCalls;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaAccess<?>> getAccessesToSelf() {
-        return ImmutableSet.<JavaAccess<?>>builder()
-                .addAll(getFieldAccessesToSelf())
-                .addAll(getMethodCallsToSelf())
-                .addAll(getConstructorCallsToSelf())
-                .build();
+        return accessesToSelf.get().all;
     }
 
     /**
@@ -1079,15 +1197,16 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableFrom(String typeName) {
-        return isAssignableFrom(GET_NAME.is(equalTo(typeName)));
+        if (!classGraph.isPresent()) {
+            return isAssignableFrom(GET_NAME.is(equalTo(typeName)));
+        }
+        Optional<JavaClass> type = classGraph.get().tryGetClass(typeName);
+        return type.isPresent() && type.get().getAllClassesSelfIsAssignableTo().contains(this);
     }
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableFrom(DescribedPredicate<? super JavaClass> predicate) {
-        List<JavaClass> possibleTargets = ImmutableList.<JavaClass>builder()
-                .add(this).addAll(getAllSubClasses()).build();
-
-        return anyMatches(possibleTargets, predicate);
+        return predicate.apply(this) || anyMatches(getAllSubClasses(), predicate);
     }
 
     @PublicAPI(usage = ACCESS)
@@ -1097,18 +1216,19 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableTo(final String typeName) {
-        return isAssignableTo(GET_NAME.is(equalTo(typeName)));
+        if (!classGraph.isPresent()) {
+            return isAssignableTo(GET_NAME.is(equalTo(typeName)));
+        }
+        Optional<JavaClass> type = classGraph.get().tryGetClass(typeName);
+        return type.isPresent() && getAllClassesSelfIsAssignableTo().contains(type.get());
     }
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableTo(DescribedPredicate<? super JavaClass> predicate) {
-        List<JavaClass> possibleTargets = ImmutableList.<JavaClass>builder()
-                .addAll(getClassHierarchy()).addAll(getAllInterfaces()).build();
-
-        return anyMatches(possibleTargets, predicate);
+        return anyMatches(getAllClassesSelfIsAssignableTo(), predicate);
     }
 
-    private boolean anyMatches(List<JavaClass> possibleTargets, DescribedPredicate<? super JavaClass> predicate) {
+    private boolean anyMatches(Set<JavaClass> possibleTargets, DescribedPredicate<? super JavaClass> predicate) {
         for (JavaClass javaClass : possibleTargets) {
             if (predicate.apply(javaClass)) {
                 return true;
@@ -1366,6 +1486,15 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
                     }
                 };
 
+        @PublicAPI(usage = ACCESS)
+        public static final ChainableFunction<JavaClass, Set<Dependency>> GET_TRANSITIVE_DEPENDENCIES_FROM_SELF =
+                new ChainableFunction<JavaClass, Set<Dependency>>() {
+                    @Override
+                    public Set<Dependency> apply(JavaClass input) {
+                        return input.getTransitiveDependenciesFromSelf();
+                    }
+                };
+
         @PublicAPI(usage = ACCESS)
         public static final ChainableFunction<JavaClass, Set<JavaAccess<?>>> GET_ACCESSES_TO_SELF =
                 new ChainableFunction<JavaClass, Set<JavaAccess<?>>>() {
@@ -1490,12 +1619,12 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
 
         @PublicAPI(usage = ACCESS)
         public static DescribedPredicate<JavaClass> assignableTo(final String typeName) {
-            return assignableTo(GET_NAME.is(equalTo(typeName)).as(typeName));
+            return new AssignableToTypeNamePredicate(typeName);
         }
 
         @PublicAPI(usage = ACCESS)
         public static DescribedPredicate<JavaClass> assignableFrom(final String typeName) {
-            return assignableFrom(GET_NAME.is(equalTo(typeName)).as(typeName));
+            return new AssignableFromTypeNamePredicate(typeName);
         }
 
         @PublicAPI(usage = ACCESS)
@@ -1678,6 +1807,34 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
             }
         }
 
+        private static class AssignableToTypeNamePredicate extends DescribedPredicate<JavaClass> {
+            private final String typeName;
+
+            AssignableToTypeNamePredicate(String typeName) {
+                super("assignable to " + typeName);
+                this.typeName = typeName;
+            }
+
+            @Override
+            public boolean apply(JavaClass input) {
+                return input.isAssignableTo(typeName);
+            }
+        }
+
+        private static class AssignableFromTypeNamePredicate extends DescribedPredicate<JavaClass> {
+            private final String typeName;
+
+            AssignableFromTypeNamePredicate(String typeName) {
+                super("assignable from " + typeName);
+                this.typeName = typeName;
+            }
+
+            @Override
+            public boolean apply(JavaClass input) {
+                return input.isAssignableFrom(typeName);
+            }
+        }
+
         private static class AssignableFromPredicate extends DescribedPredicate<JavaClass> {
             private final DescribedPredicate<? super JavaClass> predicate;
 
@@ -1736,6 +1893,50 @@ public class JavaClass implements HasName.AndFullName, HasAnnotations<JavaClass>
         }
     }
 
+    /**
+     * The accesses from or to a class, which are only collected once from its members, when first requested
+     * after the import is complete, since rules tend to query them over and over again
+     */
+    private static class Accesses {
+        private final Set<JavaFieldAccess> fieldAccesses;
+        private final Set<JavaMethodCall> methodCalls;
+        private final Set<JavaConstructorCall> constructorCalls;
+        private final Set<JavaCall<?>> calls;
+        private final Set<JavaAccess<?>> all;
+
+        Accesses(Set<JavaFieldAccess> fieldAccesses, Set<JavaMethodCall> methodCalls, Set<JavaConstructorCall> constructorCalls) {
+            this.fieldAccesses = fieldAccesses;
+            this.methodCalls = methodCalls;
+            this.constructorCalls = constructorCalls;
+            this.calls = ImmutableSet.<JavaCall<?>>builder().addAll(methodCalls).addAll(constructorCalls).build();
+            this.all = ImmutableSet.<JavaAccess<?>>builder().addAll(fieldAccesses).addAll(calls).build();
+        }
+    }
+
+    /**
+     * Memoizes a closure over the type hierarchy of this class, but only once the import of this class has been completed.
+     * Until then, super types and sub types might still be added, so the closure is computed anew on each call.
+     * Classes that are not part of any import are never considered complete.
+     */
+    private abstract class TypeHierarchyClosure<T> implements Supplier<T> {
+        private volatile T memoized;
+
+        @Override
+        public T get() {
+            T result = memoized;
+            if (result != null) {
+                return result;
+            }
+            result = compute();
+            if (classGraph.isPresent() && classGraph.get().isComplete()) {
+                memoized = result;
+            }
+            return result;
+        }
+
+        abstract T compute();
+    }
+
     @ResolvesTypesViaReflection
     @MayResolveTypesViaReflection(reason = "Just part of a bigger resolution process")
     private class ReflectClassSupplier implements Supplier<Class<?>> {
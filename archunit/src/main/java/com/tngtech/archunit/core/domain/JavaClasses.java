@@ -198,11 +198,13 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
 
         CompletionProcess completionProcess = new CompletionProcess(allClasses.values(), importContext);
         JavaPackage defaultPackage = JavaPackage.from(allClasses.values());
+        ClassGraph classGraph = ClassGraph.of(allClasses);
         for (JavaClass clazz : allClasses.values()) {
             setPackage(clazz, defaultPackage);
             completionProcess.completeClass(clazz);
         }
         completionProcess.finish();
+        classGraph.markComplete();
         return new JavaClasses(defaultPackage, selectedClasses);
     }
 
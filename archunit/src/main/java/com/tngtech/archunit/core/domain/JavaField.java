@@ -34,6 +34,8 @@ import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 
 public class JavaField extends JavaMember implements HasType {
     private final JavaClass type;
+    // NOTE: Created lazily, since most full names are never requested; a race only creates an equal string twice
+    private String fullName;
     private final Supplier<Field> fieldSupplier;
     private Supplier<Set<JavaFieldAccess>> accessesToSelf = Suppliers.ofInstance(Collections.<JavaFieldAccess>emptySet());
 
@@ -49,7 +51,10 @@ public class JavaField extends JavaMember implements HasType {
     @Override
     @PublicAPI(usage = ACCESS)
     public String getFullName() {
-        return getOwner().getName() + "." + getName();
+        if (fullName == null) {
+            fullName = getOwner().getName() + "." + getName();
+        }
+        return fullName;
     }
 
     @Override
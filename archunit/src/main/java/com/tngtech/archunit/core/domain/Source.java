@@ -23,6 +23,8 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Objects;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
 import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.PublicAPI;
@@ -42,16 +44,41 @@ import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
  * </code><br><br>
  * to your <code>{@value com.tngtech.archunit.ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME}</code>.
  * </p>
+ * <p>
+ * If the checksum only needs to tell whether a class file has changed, a considerably cheaper {@link Checksum.Algorithm}
+ * can be configured instead (or in addition), e.g.
+ * <br><br><code>
+ * {@value com.tngtech.archunit.ArchConfiguration#CLASS_SOURCE_CHECKSUM_ALGORITHM}=CRC32C
+ * </code><br><br>
+ * </p>
  */
 public class Source {
     private final URI uri;
     private final Optional<String> fileName;
     private final Md5sum md5sum;
+    private final Checksum checksum;
 
     Source(URI uri, Optional<String> fileName, boolean md5InClassSourcesEnabled) {
+        this(uri, fileName, md5InClassSourcesEnabled, Optional.<Checksum.Algorithm>absent());
+    }
+
+    Source(URI uri, Optional<String> fileName, boolean md5InClassSourcesEnabled, Optional<Checksum.Algorithm> checksumAlgorithm) {
+        this(uri, fileName, md5InClassSourcesEnabled, checksumAlgorithm,
+                md5InClassSourcesEnabled || checksumAlgorithm.isPresent() ? read(uri) : Optional.<byte[]>absent());
+    }
+
+    private Source(URI uri, Optional<String> fileName, boolean md5InClassSourcesEnabled,
+            Optional<Checksum.Algorithm> checksumAlgorithm, Optional<byte[]> classFile) {
+        this(uri, fileName,
+                md5InClassSourcesEnabled ? Md5sum.of(classFile) : Md5sum.DISABLED,
+                checksumAlgorithm.isPresent() ? Checksum.of(checksumAlgorithm.get(), classFile) : Checksum.DISABLED);
+    }
+
+    Source(URI uri, Optional<String> fileName, Md5sum md5sum, Checksum checksum) {
         this.uri = checkNotNull(uri);
         this.fileName = checkNotNull(fileName);
-        md5sum = md5InClassSourcesEnabled ? Md5sum.of(uri) : Md5sum.DISABLED;
+        this.md5sum = checkNotNull(md5sum);
+        this.checksum = checkNotNull(checksum);
     }
 
     @PublicAPI(usage = ACCESS)
@@ -69,9 +96,18 @@ public class Source {
         return md5sum;
     }
 
+    /**
+     * @return The checksum of the class file calculated by the configured {@link Checksum.Algorithm},
+     *         or {@link Checksum#DISABLED} if no algorithm is configured
+     */
+    @PublicAPI(usage = ACCESS)
+    public Checksum getChecksum() {
+        return checksum;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(uri, md5sum);
+        return Objects.hash(uri, md5sum, checksum);
     }
 
     @Override
@@ -84,7 +120,8 @@ public class Source {
         }
         final Source other = (Source) obj;
         return Objects.equals(this.uri, other.uri)
-                && Objects.equals(this.md5sum, other.md5sum);
+                && Objects.equals(this.md5sum, other.md5sum)
+                && Objects.equals(this.checksum, other.checksum);
     }
 
     @Override
@@ -92,6 +129,14 @@ public class Source {
         return uri + " [md5='" + md5sum + "']";
     }
 
+    private static Optional<byte[]> read(URI uri) {
+        try (InputStream in = uri.toURL().openStream()) {
+            return Optional.of(ByteStreams.toByteArray(in));
+        } catch (IOException | RuntimeException e) {
+            return Optional.absent();
+        }
+    }
+
     public static class Md5sum {
         /**
          * We can't determine the md5 sum, because the platform is missing the digest algorithm
@@ -106,7 +151,7 @@ public class Source {
          */
         static final Md5sum DISABLED = new Md5sum("DISABLED");
 
-        private static final MessageDigest MD5_DIGEST = getMd5Digest();
+        private static final boolean MD5_SUPPORTED = newMd5Digest().isPresent();
 
         private final byte[] md5Bytes;
         private final String text;
@@ -116,8 +161,8 @@ public class Source {
             this.text = text;
         }
 
-        private Md5sum(byte[] input, MessageDigest md5Digest) {
-            this.md5Bytes = md5Digest.digest(input);
+        private Md5sum(byte[] md5Bytes) {
+            this.md5Bytes = md5Bytes;
             text = toHex(md5Bytes);
         }
 
@@ -159,28 +204,123 @@ public class Source {
             return text;
         }
 
-        private static MessageDigest getMd5Digest() {
+        // NOTE: MessageDigest is not thread safe, but classes might be imported concurrently, so each digest needs its own instance
+        private static Optional<MessageDigest> newMd5Digest() {
             try {
-                return MessageDigest.getInstance("MD5");
+                return Optional.of(MessageDigest.getInstance("MD5"));
             } catch (NoSuchAlgorithmException e) {
-                return null;
+                return Optional.absent();
             }
         }
 
-        private static Md5sum of(URI uri) {
-            if (MD5_DIGEST == null) {
+        private static Md5sum of(Optional<byte[]> classFile) {
+            return classFile.isPresent() ? of(classFile.get(), classFile.get().length) : (MD5_SUPPORTED ? UNDETERMINED : NOT_SUPPORTED);
+        }
+
+        static Md5sum of(byte[] classFile, int length) {
+            Optional<MessageDigest> md5Digest = newMd5Digest();
+            if (!md5Digest.isPresent()) {
                 return NOT_SUPPORTED;
             }
+            md5Digest.get().update(classFile, 0, length);
+            return new Md5sum(md5Digest.get().digest());
+        }
+    }
+
+    /**
+     * A checksum of the class file calculated by a configurable {@link Algorithm}. Unlike the {@link Md5sum},
+     * which is a cryptographic digest, the available algorithms are only meant to tell different versions
+     * of the same class file apart, which makes them considerably cheaper to compute.
+     */
+    public static final class Checksum {
+        /**
+         * We can't determine the checksum, due to an error while reading the source
+         */
+        static final Checksum UNDETERMINED = new Checksum(Optional.<Algorithm>absent(), new byte[0], "UNDETERMINED");
+        /**
+         * No {@link Algorithm} is configured via {@link ArchConfiguration}
+         */
+        static final Checksum DISABLED = new Checksum(Optional.<Algorithm>absent(), new byte[0], "DISABLED");
 
-            Optional<byte[]> bytesFromUri = read(uri);
-            return bytesFromUri.isPresent() ? new Md5sum(bytesFromUri.get(), MD5_DIGEST) : UNDETERMINED;
+        private final Optional<Algorithm> algorithm;
+        private final byte[] bytes;
+        private final String text;
+
+        private Checksum(Optional<Algorithm> algorithm, byte[] bytes, String text) {
+            this.algorithm = algorithm;
+            this.bytes = bytes;
+            this.text = text;
         }
 
-        private static Optional<byte[]> read(URI uri) {
-            try (InputStream in = uri.toURL().openStream()) {
-                return Optional.of(ByteStreams.toByteArray(in));
-            } catch (IOException | RuntimeException e) {
-                return Optional.absent();
+        private Checksum(Algorithm algorithm, byte[] bytes) {
+            this(Optional.of(algorithm), bytes, Md5sum.toHex(bytes));
+        }
+
+        /**
+         * @return The algorithm this checksum was calculated with, absent if the checksum
+         *         is {@link #DISABLED} or couldn't be determined
+         */
+        @PublicAPI(usage = ACCESS)
+        public Optional<Algorithm> getAlgorithm() {
+            return algorithm;
+        }
+
+        @PublicAPI(usage = ACCESS)
+        public byte[] asBytes() {
+            return Arrays.copyOf(bytes, bytes.length);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(algorithm, Arrays.hashCode(bytes), text);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Checksum other = (Checksum) obj;
+            return Objects.equals(this.algorithm, other.algorithm)
+                    && Arrays.equals(this.bytes, other.bytes)
+                    && Objects.equals(this.text, other.text);
+        }
+
+        @Override
+        public String toString() {
+            return algorithm.isPresent() ? algorithm.get() + ":" + text : text;
+        }
+
+        private static Checksum of(Algorithm algorithm, Optional<byte[]> classFile) {
+            return classFile.isPresent() ? of(algorithm, classFile.get(), classFile.get().length) : UNDETERMINED;
+        }
+
+        static Checksum of(Algorithm algorithm, byte[] classFile, int length) {
+            return new Checksum(algorithm, algorithm.hashFunction.hashBytes(classFile, 0, length).asBytes());
+        }
+
+        @PublicAPI(usage = ACCESS)
+        public enum Algorithm {
+            /**
+             * CRC-32C (Castagnoli), 32 bits
+             */
+            CRC32C(Hashing.crc32c()),
+            /**
+             * Google's FarmHash fingerprint, 64 bits
+             */
+            FARMHASH_64(Hashing.farmHashFingerprint64()),
+            /**
+             * MurmurHash3, 128 bits
+             */
+            MURMUR3_128(Hashing.murmur3_128());
+
+            private final HashFunction hashFunction;
+
+            Algorithm(HashFunction hashFunction) {
+                this.hashFunction = hashFunction;
             }
         }
     }
@@ -69,13 +69,13 @@ public final class SourceCodeLocation {
 
     private final JavaClass sourceClass;
     private final int lineNumber;
-    private final String description;
+    // every access and dependency has a location, but only few are ever shown, thus the description is created on demand
+    private String description;
 
     private SourceCodeLocation(JavaClass sourceClass, int lineNumber) {
         this.sourceClass = checkNotNull(sourceClass);
         this.lineNumber = lineNumber;
         checkArgument(lineNumber >= 0, "Line number must be non-negative but was " + lineNumber);
-        description = formatLocation(sourceClass, lineNumber);
     }
 
     @Override
@@ -103,6 +103,10 @@ public final class SourceCodeLocation {
      */
     @Override
     public String toString() {
-        return description;
+        String result = description;
+        if (result == null) {
+            result = description = formatLocation(sourceClass, lineNumber);
+        }
+        return result;
     }
 }
@@ -66,29 +66,29 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
         abstract PROCESSED_RECORD create(RAW_RECORD record, ImportedClasses classes);
 
-        static Factory<RawAccessRecord, AccessRecord<ConstructorCallTarget>> forConstructorCallRecord() {
+        static Factory<RawAccessRecord, AccessRecord<ConstructorCallTarget>> forConstructorCallRecord(final SymbolTable symbols, final MemberIndex members) {
             return new Factory<RawAccessRecord, AccessRecord<ConstructorCallTarget>>() {
                 @Override
                 AccessRecord<ConstructorCallTarget> create(RawAccessRecord record, ImportedClasses classes) {
-                    return new RawConstructorCallRecordProcessed(record, classes);
+                    return new RawConstructorCallRecordProcessed(record, classes, symbols, members);
                 }
             };
         }
 
-        static Factory<RawAccessRecord, AccessRecord<MethodCallTarget>> forMethodCallRecord() {
+        static Factory<RawAccessRecord, AccessRecord<MethodCallTarget>> forMethodCallRecord(final SymbolTable symbols, final MemberIndex members) {
             return new Factory<RawAccessRecord, AccessRecord<MethodCallTarget>>() {
                 @Override
                 AccessRecord<MethodCallTarget> create(RawAccessRecord record, ImportedClasses classes) {
-                    return new RawMethodCallRecordProcessed(record, classes);
+                    return new RawMethodCallRecordProcessed(record, classes, symbols, members);
                 }
             };
         }
 
-        static Factory<RawAccessRecord.ForField, FieldAccessRecord> forFieldAccessRecord() {
+        static Factory<RawAccessRecord.ForField, FieldAccessRecord> forFieldAccessRecord(final SymbolTable symbols, final MemberIndex members) {
             return new Factory<RawAccessRecord.ForField, FieldAccessRecord>() {
                 @Override
                 FieldAccessRecord create(RawAccessRecord.ForField record, ImportedClasses classes) {
-                    return new RawFieldAccessRecordProcessed(record, classes);
+                    return new RawFieldAccessRecordProcessed(record, classes, symbols, members);
                 }
             };
         }
@@ -96,14 +96,18 @@ interface AccessRecord<TARGET extends AccessTarget> {
         private static class RawConstructorCallRecordProcessed implements AccessRecord<ConstructorCallTarget> {
             private final RawAccessRecord record;
             private final ImportedClasses classes;
+            private final SymbolTable symbols;
+            private final MemberIndex members;
             private final JavaClass targetOwner;
             private final Supplier<JavaCodeUnit> callerSupplier;
 
-            RawConstructorCallRecordProcessed(RawAccessRecord record, ImportedClasses classes) {
+            RawConstructorCallRecordProcessed(RawAccessRecord record, ImportedClasses classes, SymbolTable symbols, MemberIndex members) {
                 this.record = record;
                 this.classes = classes;
+                this.symbols = symbols;
+                this.members = members;
                 targetOwner = this.classes.getOrResolve(record.target.owner.getName());
-                callerSupplier = createCallerSupplier(record.caller, classes);
+                callerSupplier = createCallerSupplier(record.caller, classes, members);
             }
 
             @Override
@@ -113,8 +117,8 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
             @Override
             public ConstructorCallTarget getTarget() {
-                Supplier<Optional<JavaConstructor>> constructorSupplier = new ConstructorTargetSupplier(targetOwner, record.target);
-                JavaClassList paramTypes = getArgumentTypesFrom(record.target.desc, classes);
+                Supplier<Optional<JavaConstructor>> constructorSupplier = new ConstructorTargetSupplier(members.getConstructorCandidates(targetOwner, record.target), record.target);
+                JavaClassList paramTypes = getArgumentTypesFrom(symbols.methodDescriptor(record.target.desc), classes);
                 JavaClass returnType = classes.getOrResolve(void.class.getName());
                 return new ConstructorCallTargetBuilder()
                         .withOwner(targetOwner)
@@ -130,17 +134,17 @@ interface AccessRecord<TARGET extends AccessTarget> {
             }
 
             private static class ConstructorTargetSupplier implements Supplier<Optional<JavaConstructor>> {
-                private final JavaClass targetOwner;
+                private final Set<JavaConstructor> candidates;
                 private final TargetInfo target;
 
-                ConstructorTargetSupplier(JavaClass targetOwner, TargetInfo target) {
-                    this.targetOwner = targetOwner;
+                ConstructorTargetSupplier(Set<JavaConstructor> candidates, TargetInfo target) {
+                    this.candidates = candidates;
                     this.target = target;
                 }
 
                 @Override
                 public Optional<JavaConstructor> get() {
-                    return uniqueTargetIn(tryFindMatchingTargets(targetOwner.getAllConstructors(), target));
+                    return uniqueTargetIn(tryFindMatchingTargets(candidates, target));
                 }
             }
         }
@@ -148,14 +152,18 @@ interface AccessRecord<TARGET extends AccessTarget> {
         private static class RawMethodCallRecordProcessed implements AccessRecord<MethodCallTarget> {
             private final RawAccessRecord record;
             final ImportedClasses classes;
+            private final SymbolTable symbols;
+            private final MemberIndex members;
             private final JavaClass targetOwner;
             private final Supplier<JavaCodeUnit> callerSupplier;
 
-            RawMethodCallRecordProcessed(RawAccessRecord record, ImportedClasses classes) {
+            RawMethodCallRecordProcessed(RawAccessRecord record, ImportedClasses classes, SymbolTable symbols, MemberIndex members) {
                 this.record = record;
                 this.classes = classes;
+                this.symbols = symbols;
+                this.members = members;
                 targetOwner = this.classes.getOrResolve(record.target.owner.getName());
-                callerSupplier = createCallerSupplier(record.caller, classes);
+                callerSupplier = createCallerSupplier(record.caller, classes, members);
             }
 
             @Override
@@ -165,9 +173,10 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
             @Override
             public MethodCallTarget getTarget() {
-                Supplier<Set<JavaMethod>> methodsSupplier = new MethodTargetSupplier(targetOwner.getAllMethods(), record.target);
-                JavaClassList parameters = getArgumentTypesFrom(record.target.desc, classes);
-                JavaClass returnType = classes.getOrResolve(JavaTypeImporter.importAsmMethodReturnType(record.target.desc).getName());
+                Supplier<Set<JavaMethod>> methodsSupplier = new MethodTargetSupplier(members.getMethodCandidates(targetOwner, record.target), record.target);
+                SymbolTable.MethodDescriptor descriptor = symbols.methodDescriptor(record.target.desc);
+                JavaClassList parameters = getArgumentTypesFrom(descriptor, classes);
+                JavaClass returnType = classes.getOrResolve(descriptor.getReturnType().getName());
                 return new MethodCallTargetBuilder()
                         .withOwner(targetOwner)
                         .withName(record.target.name)
@@ -183,17 +192,17 @@ interface AccessRecord<TARGET extends AccessTarget> {
             }
 
             private static class MethodTargetSupplier implements Supplier<Set<JavaMethod>> {
-                private final Set<JavaMethod> allMethods;
+                private final Set<JavaMethod> candidates;
                 private final TargetInfo target;
 
-                MethodTargetSupplier(Set<JavaMethod> allMethods, TargetInfo target) {
-                    this.allMethods = allMethods;
+                MethodTargetSupplier(Set<JavaMethod> candidates, TargetInfo target) {
+                    this.candidates = candidates;
                     this.target = target;
                 }
 
                 @Override
                 public Set<JavaMethod> get() {
-                    return tryFindMatchingTargets(allMethods, target);
+                    return tryFindMatchingTargets(candidates, target);
                 }
             }
         }
@@ -201,14 +210,18 @@ interface AccessRecord<TARGET extends AccessTarget> {
         private static class RawFieldAccessRecordProcessed implements FieldAccessRecord {
             private final RawAccessRecord.ForField record;
             final ImportedClasses classes;
+            private final SymbolTable symbols;
+            private final MemberIndex members;
             private final JavaClass targetOwner;
             private final Supplier<JavaCodeUnit> callerSupplier;
 
-            RawFieldAccessRecordProcessed(RawAccessRecord.ForField record, ImportedClasses classes) {
+            RawFieldAccessRecordProcessed(RawAccessRecord.ForField record, ImportedClasses classes, SymbolTable symbols, MemberIndex members) {
                 this.record = record;
                 this.classes = classes;
+                this.symbols = symbols;
+                this.members = members;
                 targetOwner = this.classes.getOrResolve(record.target.owner.getName());
-                callerSupplier = createCallerSupplier(record.caller, classes);
+                callerSupplier = createCallerSupplier(record.caller, classes, members);
             }
 
             @Override
@@ -223,8 +236,8 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
             @Override
             public FieldAccessTarget getTarget() {
-                Supplier<Optional<JavaField>> fieldSupplier = new FieldTargetSupplier(targetOwner.getAllFields(), record.target);
-                JavaClass fieldType = classes.getOrResolve(JavaTypeImporter.importAsmType(record.target.desc).getName());
+                Supplier<Optional<JavaField>> fieldSupplier = new FieldTargetSupplier(members.getFieldCandidates(targetOwner, record.target), record.target);
+                JavaClass fieldType = classes.getOrResolve(symbols.type(record.target.desc).getName());
                 return new FieldAccessTargetBuilder()
                         .withOwner(targetOwner)
                         .withName(record.target.name)
@@ -239,40 +252,30 @@ interface AccessRecord<TARGET extends AccessTarget> {
             }
 
             private static class FieldTargetSupplier implements Supplier<Optional<JavaField>> {
-                private final Set<JavaField> allFields;
+                private final Set<JavaField> candidates;
                 private final TargetInfo target;
 
-                FieldTargetSupplier(Set<JavaField> allFields, TargetInfo target) {
-                    this.allFields = allFields;
+                FieldTargetSupplier(Set<JavaField> candidates, TargetInfo target) {
+                    this.candidates = candidates;
                     this.target = target;
                 }
 
                 @Override
                 public Optional<JavaField> get() {
-                    return uniqueTargetIn(tryFindMatchingTargets(allFields, target));
+                    return uniqueTargetIn(tryFindMatchingTargets(candidates, target));
                 }
             }
         }
 
-        private static Supplier<JavaCodeUnit> createCallerSupplier(final CodeUnit caller, final ImportedClasses classes) {
+        private static Supplier<JavaCodeUnit> createCallerSupplier(final CodeUnit caller, final ImportedClasses classes, final MemberIndex members) {
             return Suppliers.memoize(new Supplier<JavaCodeUnit>() {
                 @Override
                 public JavaCodeUnit get() {
-                    return Factory.getCaller(caller, classes);
+                    return members.getCaller(caller, classes);
                 }
             });
         }
 
-        private static JavaCodeUnit getCaller(CodeUnit caller, ImportedClasses classes) {
-            for (JavaCodeUnit method : classes.getOrResolve(caller.getDeclaringClassName()).getCodeUnits()) {
-                if (caller.is(method)) {
-                    return method;
-                }
-            }
-            throw new IllegalStateException("Never found a " + JavaCodeUnit.class.getSimpleName() +
-                    " that matches supposed caller " + caller);
-        }
-
         private static <T extends HasName & HasDescriptor & HasOwner<JavaClass>> Set<T>
         tryFindMatchingTargets(Set<T> possibleTargets, TargetInfo targetInfo) {
             ImmutableSet.Builder<T> result = ImmutableSet.builder();
@@ -288,9 +291,9 @@ interface AccessRecord<TARGET extends AccessTarget> {
             return collection.size() == 1 ? Optional.of(getOnlyElement(collection)) : Optional.<T>absent();
         }
 
-        private static JavaClassList getArgumentTypesFrom(String descriptor, ImportedClasses classes) {
+        private static JavaClassList getArgumentTypesFrom(SymbolTable.MethodDescriptor descriptor, ImportedClasses classes) {
             List<JavaClass> paramTypes = new ArrayList<>();
-            for (JavaType type : JavaTypeImporter.importAsmMethodArgumentTypes(descriptor)) {
+            for (JavaType type : descriptor.getParameterTypes()) {
                 paramTypes.add(classes.getOrResolve(type.getName()));
             }
             return createJavaClassList(paramTypes);
@@ -15,9 +15,11 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -26,6 +28,9 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.SetMultimap;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +39,7 @@ import static com.google.common.base.Preconditions.checkState;
 class ClassFileImportRecord {
     private static final Logger LOG = LoggerFactory.getLogger(ClassFileImportRecord.class);
 
+    private final SymbolTable symbols;
     private final Map<String, JavaClass> classes = new HashMap<>();
 
     private final Map<String, String> superClassNamesByOwner = new HashMap<>();
@@ -45,9 +51,20 @@ class ClassFileImportRecord {
     private final SetMultimap<String, DomainBuilders.JavaAnnotationBuilder> annotationsByOwner = HashMultimap.create();
     private final EnclosingClassesByInnerClasses enclosingClassNamesByOwner = new EnclosingClassesByInnerClasses();
 
-    private final Set<RawAccessRecord.ForField> rawFieldAccessRecords = new HashSet<>();
-    private final Set<RawAccessRecord> rawMethodCallRecords = new HashSet<>();
-    private final Set<RawAccessRecord> rawConstructorCallRecords = new HashSet<>();
+    private final RawAccessRecords.ForFields rawFieldAccessRecords;
+    private final RawAccessRecords.ForCalls rawMethodCallRecords;
+    private final RawAccessRecords.ForCalls rawConstructorCallRecords;
+
+    ClassFileImportRecord(SymbolTable symbols) {
+        this(symbols, RawAccessRecords.HeapBudget.unlimited());
+    }
+
+    ClassFileImportRecord(SymbolTable symbols, RawAccessRecords.HeapBudget accessRecordsHeapBudget) {
+        this.symbols = symbols;
+        rawFieldAccessRecords = new RawAccessRecords.ForFields(symbols, accessRecordsHeapBudget);
+        rawMethodCallRecords = new RawAccessRecords.ForCalls(symbols, accessRecordsHeapBudget);
+        rawConstructorCallRecords = new RawAccessRecords.ForCalls(symbols, accessRecordsHeapBudget);
+    }
 
     void setSuperClass(String ownerName, String superClassName) {
         checkState(!superClassNamesByOwner.containsKey(ownerName),
@@ -119,28 +136,41 @@ class ClassFileImportRecord {
         return enclosingClassNamesByOwner.get(ownerName);
     }
 
-    void registerFieldAccess(RawAccessRecord.ForField record) {
-        rawFieldAccessRecords.add(record);
+    void registerFieldAccess(CodeUnit caller, TargetInfo target, int lineNumber, AccessType accessType) {
+        rawFieldAccessRecords.add(caller, target, lineNumber, accessType);
+    }
+
+    void registerMethodCall(CodeUnit caller, TargetInfo target, int lineNumber) {
+        rawMethodCallRecords.add(caller, target, lineNumber);
+    }
+
+    void registerConstructorCall(CodeUnit caller, TargetInfo target, int lineNumber) {
+        rawConstructorCallRecords.add(caller, target, lineNumber);
     }
 
-    void registerMethodCall(RawAccessRecord record) {
-        rawMethodCallRecords.add(record);
+    long getNumberOfAccessRecords() {
+        return rawFieldAccessRecords.size() + rawMethodCallRecords.size() + rawConstructorCallRecords.size();
     }
 
-    void registerConstructorCall(RawAccessRecord record) {
-        rawConstructorCallRecords.add(record);
+    Iterable<List<RawAccessRecord.ForField>> getRawFieldAccessRecordsByCaller() {
+        return rawFieldAccessRecords.groupedByCaller();
     }
 
-    Set<RawAccessRecord.ForField> getRawFieldAccessRecords() {
-        return ImmutableSet.copyOf(rawFieldAccessRecords);
+    Iterable<List<RawAccessRecord>> getRawMethodCallRecordsByCaller() {
+        return rawMethodCallRecords.groupedByCaller();
     }
 
-    Set<RawAccessRecord> getRawMethodCallRecords() {
-        return ImmutableSet.copyOf(rawMethodCallRecords);
+    Iterable<List<RawAccessRecord>> getRawConstructorCallRecordsByCaller() {
+        return rawConstructorCallRecords.groupedByCaller();
     }
 
-    Set<RawAccessRecord> getRawConstructorCallRecords() {
-        return ImmutableSet.copyOf(rawConstructorCallRecords);
+    /**
+     * Releases all raw access records, once they have been processed
+     */
+    void discardAccessRecords() {
+        rawFieldAccessRecords.discard();
+        rawMethodCallRecords.discard();
+        rawConstructorCallRecords.discard();
     }
 
     void addAll(Collection<JavaClass> javaClasses) {
@@ -149,16 +179,60 @@ class ClassFileImportRecord {
         }
     }
 
+    /**
+     * Merges a record that was filled independently, e.g. by a parallel import. Classes already contained in this record
+     * take precedence, i.e. the partial record is treated as if its class files had been imported after the ones of this record.
+     */
+    void addAll(ClassFileImportRecord partialRecord) {
+        Set<String> newClassNames = new HashSet<>();
+        for (JavaClass javaClass : partialRecord.classes.values()) {
+            if (!classes.containsKey(javaClass.getName())) {
+                classes.put(javaClass.getName(), javaClass);
+                newClassNames.add(javaClass.getName());
+            }
+        }
+        for (String ownerName : newClassNames) {
+            addDetailsOf(ownerName, partialRecord);
+        }
+        rawFieldAccessRecords.addAllWithCallerIn(newClassNames, partialRecord.rawFieldAccessRecords);
+        rawMethodCallRecords.addAllWithCallerIn(newClassNames, partialRecord.rawMethodCallRecords);
+        rawConstructorCallRecords.addAllWithCallerIn(newClassNames, partialRecord.rawConstructorCallRecords);
+    }
+
+    private void addDetailsOf(String ownerName, ClassFileImportRecord partialRecord) {
+        Optional<String> superClassName = partialRecord.getSuperClassFor(ownerName);
+        if (superClassName.isPresent()) {
+            setSuperClass(ownerName, superClassName.get());
+        }
+        addInterfaces(ownerName, partialRecord.getInterfaceNamesFor(ownerName));
+        fieldBuildersByOwner.putAll(ownerName, partialRecord.getFieldBuildersFor(ownerName));
+        methodBuildersByOwner.putAll(ownerName, partialRecord.getMethodBuildersFor(ownerName));
+        constructorBuildersByOwner.putAll(ownerName, partialRecord.getConstructorBuildersFor(ownerName));
+        Optional<DomainBuilders.JavaStaticInitializerBuilder> staticInitializer = partialRecord.getStaticInitializerBuilderFor(ownerName);
+        if (staticInitializer.isPresent()) {
+            setStaticInitializer(ownerName, staticInitializer.get());
+        }
+        addAnnotations(ownerName, partialRecord.getAnnotationsFor(ownerName));
+        Optional<String> enclosingClassName = partialRecord.getEnclosingClassFor(ownerName);
+        if (enclosingClassName.isPresent()) {
+            setEnclosingClass(ownerName, enclosingClassName.get());
+        }
+    }
+
     Map<String, JavaClass> getClasses() {
         return classes;
     }
 
-    Set<RawAccessRecord> getAccessRecords() {
-        return ImmutableSet.<RawAccessRecord>builder()
-                .addAll(rawFieldAccessRecords)
-                .addAll(rawMethodCallRecords)
-                .addAll(rawConstructorCallRecords)
-                .build();
+    Set<String> getAccessTargetOwnerNames() {
+        BitSet targetIds = rawFieldAccessRecords.getTargetIds();
+        targetIds.or(rawMethodCallRecords.getTargetIds());
+        targetIds.or(rawConstructorCallRecords.getTargetIds());
+
+        ImmutableSet.Builder<String> result = ImmutableSet.builder();
+        for (int id = targetIds.nextSetBit(0); id >= 0; id = targetIds.nextSetBit(id + 1)) {
+            result.add(symbols.target(id).owner.getName());
+        }
+        return result.build();
     }
 
     Map<String, String> getSuperClassNamesBySubClass() {
@@ -15,15 +15,20 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarFile;
 
@@ -32,8 +37,10 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.Source;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolverFromClasspath;
 import org.slf4j.Logger;
@@ -81,6 +88,9 @@ public final class ClassFileImporter {
     private static final Logger LOG = LoggerFactory.getLogger(ClassFileImporter.class);
 
     private final ImportOptions importOptions;
+    private final ImportDetail importDetail;
+    private final List<ImportListener> importListeners;
+    private final boolean keepParsedClassFiles;
 
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter() {
@@ -89,7 +99,15 @@ public final class ClassFileImporter {
 
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter(ImportOptions importOptions) {
+        this(importOptions, ImportDetail.FULL_ACCESSES, ImmutableList.<ImportListener>of(), false);
+    }
+
+    private ClassFileImporter(ImportOptions importOptions, ImportDetail importDetail, List<ImportListener> importListeners,
+            boolean keepParsedClassFiles) {
         this.importOptions = importOptions;
+        this.importDetail = importDetail;
+        this.importListeners = importListeners;
+        this.keepParsedClassFiles = keepParsedClassFiles;
     }
 
     /**
@@ -101,7 +119,52 @@ public final class ClassFileImporter {
      */
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter withImportOption(ImportOption option) {
-        return new ClassFileImporter(importOptions.with(option));
+        return new ClassFileImporter(importOptions.with(option), importDetail, importListeners, keepParsedClassFiles);
+    }
+
+    /**
+     * Allows to restrict the information imported from each class file, e.g. to skip all method bodies
+     * if no rule is interested in accesses. Note that this object will not be modified, but instead a copy with adjusted
+     * behavior will be returned.
+     *
+     * @param detail Defines how much information to import from each class file
+     * @return A {@link ClassFileImporter} which imports class files with the specified {@link ImportDetail}
+     */
+    @PublicAPI(usage = ACCESS)
+    public ClassFileImporter withImportDetail(ImportDetail detail) {
+        return new ClassFileImporter(importOptions, detail, importListeners, keepParsedClassFiles);
+    }
+
+    /**
+     * Adds an {@link ImportListener} to be notified about the progress of every import of the returned {@link ClassFileImporter},
+     * in addition to the {@link ImportListener ImportListeners} configured within
+     * {@value ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME}. Note that this object will not be modified,
+     * but instead a copy with adjusted behavior will be returned.
+     *
+     * @param listener Will be notified about every import
+     * @return A {@link ClassFileImporter} which notifies the specified {@link ImportListener}
+     */
+    @PublicAPI(usage = ACCESS)
+    public ClassFileImporter withImportListener(ImportListener listener) {
+        return new ClassFileImporter(importOptions, importDetail,
+                ImmutableList.<ImportListener>builder().addAll(importListeners).add(listener).build(), keepParsedClassFiles);
+    }
+
+    /**
+     * Keeps what each import of the returned {@link ClassFileImporter} parses from the class files in memory together
+     * with the imported {@link JavaClasses}, so a later {@link #reimport(JavaClasses, Collection) reimport} of these classes
+     * can replay all unchanged class files instead of reading and parsing them again. This costs additional memory
+     * in the order of the size of all imported class files, for as long as the imported {@link JavaClasses} are reachable
+     * (the garbage collector will drop these recordings under memory pressure though, in which case a reimport
+     * simply parses all class files again). Thus this should only be used if the result will actually be reimported,
+     * e.g. by a long running process like a watch mode of the IDE. Note that this object will not be modified,
+     * but instead a copy with adjusted behavior will be returned.
+     *
+     * @return A {@link ClassFileImporter} which keeps the parsed class files of each import for a later reimport
+     */
+    @PublicAPI(usage = ACCESS)
+    public ClassFileImporter withReimportSupport() {
+        return new ClassFileImporter(importOptions, importDetail, importListeners, true);
     }
 
     /**
@@ -202,11 +265,13 @@ public final class ClassFileImporter {
      */
     @PublicAPI(usage = ACCESS)
     public JavaClasses importPackages(Collection<String> packages) {
-        Set<Location> locations = new HashSet<>();
-        for (String pkg : packages) {
-            locations.addAll(Locations.ofPackage(pkg));
+        try (ImportProgress progress = startImport()) {
+            Set<Location> locations = new HashSet<>();
+            for (String pkg : packages) {
+                locations.addAll(Locations.ofPackage(pkg));
+            }
+            return importLocations(locations, progress);
         }
-        return importLocations(locations);
     }
 
     /**
@@ -261,7 +326,10 @@ public final class ClassFileImporter {
      */
     @PublicAPI(usage = ACCESS)
     public JavaClasses importClasspath(ImportOptions options) {
-        return new ClassFileImporter(options).importLocations(Locations.inClassPath());
+        ClassFileImporter importer = new ClassFileImporter(options, importDetail, importListeners, keepParsedClassFiles);
+        try (ImportProgress progress = importer.startImport()) {
+            return importer.importLocations(Locations.inClassPath(), progress);
+        }
     }
 
     /**
@@ -288,11 +356,13 @@ public final class ClassFileImporter {
      */
     @PublicAPI(usage = ACCESS)
     public JavaClasses importClasses(Collection<Class<?>> classes) {
-        Set<Location> locations = new HashSet<>();
-        for (Class<?> clazz : classes) {
-            locations.addAll(Locations.ofClass(clazz));
+        try (ImportProgress progress = startImport()) {
+            Set<Location> locations = new HashSet<>();
+            for (Class<?> clazz : classes) {
+                locations.addAll(Locations.ofClass(clazz));
+            }
+            return importLocations(locations, progress);
         }
-        return importLocations(locations);
     }
 
     /**
@@ -310,7 +380,9 @@ public final class ClassFileImporter {
      */
     @PublicAPI(usage = ACCESS)
     public JavaClasses importUrls(Collection<URL> urls) {
-        return importLocations(Locations.of(urls));
+        try (ImportProgress progress = startImport()) {
+            return importLocations(Locations.of(urls), progress);
+        }
     }
 
     /**
@@ -329,16 +401,179 @@ public final class ClassFileImporter {
      */
     @PublicAPI(usage = ACCESS)
     public JavaClasses importLocations(Collection<Location> locations) {
-        List<ClassFileSource> sources = new ArrayList<>();
+        try (ImportProgress progress = startImport()) {
+            return importLocations(locations, progress);
+        }
+    }
+
+    private JavaClasses importLocations(Collection<Location> locations, ImportProgress progress) {
+        try (MappedJarFile.Scope mappedJarFiles = new MappedJarFile.Scope()) {
+            List<ClassFileSource> sources = new ArrayList<>();
+            for (Location location : locations) {
+                tryAdd(sources, location, mappedJarFiles);
+            }
+            return importFrom(unify(sources), Optional.<ParsedClassFiles>absent(), progress);
+        }
+    }
+
+    // NOTE: The import must always be started within try-with-resources, so listeners are notified about the end of the import in any case
+    private ImportProgress startImport() {
+        return ImportProgress.start(importListeners);
+    }
+
+    /**
+     * Replays all class files parsed by the {@code previous} import. If reimport support is enabled, or the previous import
+     * has been recorded as well, the parsed class files are kept with the result, so a later reimport of the result
+     * can replay all unchanged class files
+     */
+    private JavaClasses importFrom(ClassFileSource source, Optional<ParsedClassFiles> previous, ImportProgress progress) {
+        if (!keepParsedClassFiles && !previous.isPresent()) {
+            return new ClassFileProcessor(importDetail).process(source, progress);
+        }
+        ParsedClassFiles parsed = new ParsedClassFiles(importDetail);
+        JavaClasses result = new ClassFileProcessor(importDetail, previous, parsed).process(source, progress);
+        parsed.keepFor(result);
+        return result;
+    }
+
+    /**
+     * Imports class files that are held in memory, e.g. by a build tool that has just compiled them,
+     * without writing them to or reading them from the file system. The {@link Source} of each imported class
+     * will have a synthetic URI with scheme {@code memory}, e.g. {@code memory:/com/example/SomeClass.class}.
+     * Since the class files have no {@link Location}, {@link ImportOption ImportOptions} are not evaluated,
+     * and the classes will not be part of a {@link #reimport(JavaClasses, Collection) reimport}.
+     * <br><br>
+     * For information about the impact of the imported classes on the evaluation of rules,
+     * as well as configuration and details, refer to {@link ClassFileImporter}.
+     *
+     * @param classFilesByName The bytes of each class file, i.e. the remaining bytes of each buffer,
+     *                         keyed by the fully qualified class name (e.g. {@code com.example.Outer$Inner}).
+     *                         The buffers will not be modified.
+     * @return The imported classes
+     */
+    @PublicAPI(usage = ACCESS)
+    public JavaClasses importClassBytes(Map<String, ByteBuffer> classFilesByName) {
+        try (ImportProgress progress = startImport()) {
+            return new ClassFileProcessor(importDetail).process(new ClassFileSource.FromClassBytes(classFilesByName), progress);
+        }
+    }
+
+    /**
+     * Imports the classes of a previous import again, after some {@link Location locations} have changed.
+     * All class files of the previous {@link JavaClasses} that are not part of any changed {@link Location}
+     * will be imported again from their original URIs, while the changed {@link Location locations} will be imported
+     * like by {@link #importLocations(Collection)}. Classes that have been removed from a changed {@link Location}
+     * will thus not be part of the result anymore, while new classes will be added.
+     * <br><br>
+     * This saves scanning all the original {@link Location locations} again. Furthermore, if {@code previous} has been imported
+     * {@link #withReimportSupport() with reimport support}, the unchanged class files are replayed from what the previous import
+     * has parsed (as long as there is no memory pressure), instead of being read and parsed again. The result of such a reimport
+     * supports reimports again. Otherwise, if an import cache is configured
+     * (compare {@link ArchConfiguration#getImportCachePath()}), the unchanged class files will be replayed from the cache.
+     * Only class files within the changed {@link Location locations} are thus parsed again.
+     * <br><br>
+     * Note however that the graph of classes is always completed anew, e.g. all accesses and dependencies are linked again,
+     * since {@link JavaClass JavaClasses} are immutable and reference each other. Thus the resulting {@link JavaClasses} will always be
+     * a completely new graph of classes, i.e. no {@link JavaClass} of the previous import will be part of the result.
+     *
+     * @param previous The result of a previous import
+     * @param changed The {@link Location locations} that have changed since the previous import,
+     *                e.g. modified, added or deleted class files or whole directories / JAR files
+     * @return The updated imported classes
+     */
+    @PublicAPI(usage = ACCESS)
+    public JavaClasses reimport(JavaClasses previous, Collection<Location> changed) {
+        try (ImportProgress progress = startImport(); MappedJarFile.Scope mappedJarFiles = new MappedJarFile.Scope()) {
+            List<ClassFileSource> sources = new ArrayList<>();
+            sources.add(new ClassFileSource.FromClassFileUris(classFileUrisOf(previous, changed), importOptions));
+            for (Location location : changed) {
+                tryAdd(sources, location, mappedJarFiles);
+            }
+            return importFrom(unify(sources), ParsedClassFiles.of(previous, importDetail), progress);
+        }
+    }
+
+    /**
+     * Writes the given classes to a compact binary snapshot file, that can later be imported via {@link #importSnapshot(Path)}
+     * considerably faster than importing the original class files. This allows for example to import the same
+     * artifacts only once within a build pipeline, and let all later jobs import the snapshot.
+     * <br><br>
+     * The snapshot contains all information about the classes ArchUnit imports with the {@link ImportDetail} of this importer,
+     * i.e. the classes with their members, annotations, class hierarchy and accesses. Only the given classes themselves are exported,
+     * classes resolved from the classpath will be resolved again when importing the snapshot.
+     * The class files are read again from the {@link Source} of each class (or replayed from the import cache,
+     * compare {@link ArchConfiguration#getImportCachePath()}), thus classes imported via {@link #importClassBytes(Map)}
+     * cannot be exported.
+     *
+     * @param classes The classes to export, usually the result of a previous import
+     * @param snapshotFile The file to write the snapshot to; an existing file will be overwritten
+     */
+    @PublicAPI(usage = ACCESS)
+    public void exportSnapshot(JavaClasses classes, Path snapshotFile) {
+        ClassFileSnapshot.write(snapshotFile, importDetail,
+                new ClassFileSource.FromClassFileUris(classFileUrisOf(classes, Collections.<Location>emptySet()), importOptions));
+    }
+
+    /**
+     * Imports classes from a snapshot written by {@link #exportSnapshot(JavaClasses, Path)}, without reading or parsing any class file.
+     * The classes are imported with the {@link ImportDetail} the snapshot has been exported with.
+     * Snapshots exported by an incompatible version of ArchUnit are rejected.
+     * <br><br>
+     * Only those classes of the snapshot are imported, whose original location is included by the {@link ImportOption ImportOptions}
+     * of this importer. Any other class of the snapshot is only imported, if it is a missing dependency of the imported classes
+     * (compare {@link ArchConfiguration#getImportResolutionMaxDepth()}), before missing dependencies are resolved like for any other import.
+     * Since the snapshot is mapped into memory, classes that are not imported don't occupy any heap. The snapshot file is only mapped
+     * while the import is running and released again as soon as this method returns. Thus for huge code bases
+     * it is advisable to import just the parts of the snapshot needed by the respective rules, e.g. by an {@link ImportOption}
+     * only including the packages the rules are about.
+     * <br><br>
+     * For information about the impact of the imported classes on the evaluation of rules,
+     * as well as configuration and details, refer to {@link ClassFileImporter}.
+     *
+     * @param snapshotFile A snapshot file written by {@link #exportSnapshot(JavaClasses, Path)}
+     * @return The imported classes
+     */
+    @PublicAPI(usage = ACCESS)
+    public JavaClasses importSnapshot(Path snapshotFile) {
+        try (ImportProgress progress = startImport(); ClassFileSnapshot snapshot = ClassFileSnapshot.read(snapshotFile)) {
+            return new ClassFileProcessor(snapshot).replay(snapshot.select(importOptions), progress);
+        }
+    }
+
+    private Set<URI> classFileUrisOf(JavaClasses classes, Collection<Location> excludedLocations) {
+        Set<URI> result = new LinkedHashSet<>();
+        for (JavaClass javaClass : classes) {
+            if (javaClass.getSource().isPresent()) {
+                URI uri = javaClass.getSource().get().getUri();
+                if (!ClassFileSource.FromClassBytes.isSourceOf(uri) && !isPartOfAny(excludedLocations, Location.of(uri))) {
+                    result.add(uri);
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean isPartOfAny(Collection<Location> locations, Location classFileLocation) {
+        String classFileUri = classFileLocation.asURI().toString();
         for (Location location : locations) {
-            tryAdd(sources, location);
+            if (isPartOf(location, classFileUri)) {
+                return true;
+            }
         }
-        return new ClassFileProcessor().process(unify(sources));
+        return false;
+    }
+
+    // NOTE: We must only compare whole path segments, e.g. file:/a/b must not contain file:/a/bc/Some.class.
+    //       Location.of(uri) additionally turns file paths of JAR files (e.g. file:/some.jar) into JAR URIs
+    private boolean isPartOf(Location location, String classFileUri) {
+        String locationUri = Location.of(location.asURI()).asURI().toString();
+        return classFileUri.equals(locationUri)
+                || classFileUri.startsWith(locationUri.endsWith("/") ? locationUri : locationUri + "/");
     }
 
-    private void tryAdd(List<ClassFileSource> sources, Location location) {
+    private void tryAdd(List<ClassFileSource> sources, Location location, MappedJarFile.Scope mappedJarFiles) {
         try {
-            sources.add(location.asClassFileSource(importOptions));
+            sources.add(location.asClassFileSource(importOptions, mappedJarFiles));
         } catch (Exception e) {
             LOG.warn(String.format("Couldn't derive %s from %s",
                     ClassFileSource.class.getSimpleName(), location), e);
@@ -15,15 +15,34 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.ArchUnitException.ChecksumAlgorithmConfigurationException;
+import com.tngtech.archunit.base.ArchUnitException.ClassImportException;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.domain.Source.Checksum;
+import com.tngtech.archunit.core.importer.ClassFileSource.InputStreamSupplier;
+import com.tngtech.archunit.core.importer.ClassFileSource.InputStreamSupplierClassFileLocation;
+import com.tngtech.archunit.core.importer.ImportListener.Phase;
 import com.tngtech.archunit.core.importer.JavaClassProcessor.AccessHandler;
 import com.tngtech.archunit.core.importer.JavaClassProcessor.DeclarationHandler;
 import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
@@ -32,11 +51,12 @@ import com.tngtech.archunit.core.importer.RawAccessRecord.MethodTargetInfo;
 import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver.ClassUriImporter;
-import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static com.tngtech.archunit.core.domain.JavaConstructor.CONSTRUCTOR_NAME;
+import static java.util.Arrays.asList;
 import static org.objectweb.asm.Opcodes.ASM7;
 
 class ClassFileProcessor {
@@ -45,23 +65,212 @@ class ClassFileProcessor {
     static final int ASM_API_VERSION = ASM7;
 
     private final boolean md5InClassSourcesEnabled = ArchConfiguration.get().md5InClassSourcesEnabled();
+    private final Optional<Checksum.Algorithm> checksumAlgorithm = checksumAlgorithmFromConfiguration();
+    private final int importParallelism = ArchConfiguration.get().getImportParallelism();
+    private final ImportCache importCache;
+    private final ImportCache sourceImportCache;
+    private final Optional<ClassFileSnapshot> snapshot;
+    private final SymbolTable symbols = new SymbolTable();
     private final ClassResolver.Factory classResolverFactory = new ClassResolver.Factory();
 
-    JavaClasses process(ClassFileSource source) {
-        ClassFileImportRecord importRecord = new ClassFileImportRecord();
-        RecordAccessHandler accessHandler = new RecordAccessHandler(importRecord);
+    ClassFileProcessor(ImportDetail importDetail) {
+        importCache = ImportCache.fromConfiguration(importDetail);
+        sourceImportCache = importCache;
+        snapshot = Optional.absent();
+    }
+
+    /**
+     * Replays all class files of the source that have been parsed by the {@code previous} import, and records
+     * all class files of the source into {@code parsed}. Classes resolved from the classpath are neither replayed nor recorded.
+     */
+    ClassFileProcessor(ImportDetail importDetail, Optional<ParsedClassFiles> previous, ParsedClassFiles parsed) {
+        importCache = ImportCache.fromConfiguration(importDetail);
+        sourceImportCache = importCache.recording(previous, parsed);
+        snapshot = Optional.absent();
+    }
+
+    /**
+     * Replays all class files contained in the snapshot, and resolves missing classes from the snapshot, before asking
+     * the configured {@link ClassResolver}
+     */
+    ClassFileProcessor(ClassFileSnapshot snapshot) {
+        importCache = ImportCache.fromConfiguration(snapshot.getImportDetail()).replaying(snapshot);
+        sourceImportCache = importCache;
+        this.snapshot = Optional.of(snapshot);
+    }
+
+    private static Optional<Checksum.Algorithm> checksumAlgorithmFromConfiguration() {
+        Optional<String> algorithmName = ArchConfiguration.get().getClassSourceChecksumAlgorithm();
+        if (!algorithmName.isPresent()) {
+            return Optional.absent();
+        }
+        for (Checksum.Algorithm algorithm : Checksum.Algorithm.values()) {
+            if (algorithm.name().equals(algorithmName.get().toUpperCase(Locale.ROOT))) {
+                return Optional.of(algorithm);
+            }
+        }
+        throw ChecksumAlgorithmConfigurationException.onUnknownAlgorithm(
+                ArchConfiguration.CLASS_SOURCE_CHECKSUM_ALGORITHM, algorithmName.get(), asList(Checksum.Algorithm.values()));
+    }
+
+    JavaClasses process(ClassFileSource source, ImportProgress progress) {
+        progress.enterPhase(Phase.READ_CLASS_FILES);
+        return process(progress.observe(source), new LocationReader(), progress);
+    }
+
+    /**
+     * Like {@link #process(ClassFileSource, ImportProgress)}, but replays the given recordings of the snapshot
+     * this processor has been created with, instead of reading class files
+     */
+    JavaClasses replay(Iterable<ClassFileSnapshot.Recording> recordings, ImportProgress progress) {
+        progress.enterPhase(Phase.READ_CLASS_FILES);
+        return process(recordings, RECORDING_READER, progress);
+    }
+
+    private <T> JavaClasses process(Iterable<T> classFiles, ClassFileReader<T> reader, ImportProgress progress) {
+        RawAccessRecords.HeapBudget accessRecordsHeapBudget = RawAccessRecords.HeapBudget.fromConfiguration();
+        ClassFileImportRecord importRecord = importParallelism > 1
+                ? new ParallelImport(importParallelism).importFrom(classFiles, reader, new ClassFileImportRecord(symbols, accessRecordsHeapBudget))
+                : importSequentially(classFiles, reader, new ClassFileImportRecord(symbols, accessRecordsHeapBudget));
+        progress.recordImportedClasses(importRecord.getClasses().size(), importRecord.getNumberOfAccessRecords());
+
+        ClassResolver classResolver = progress.observe(getClassResolver(new ClassDetailsRecorder(importRecord)));
+        return new ClassGraphCreator(importRecord, classResolver, symbols, progress).complete();
+    }
+
+    private <T> ClassFileImportRecord importSequentially(Iterable<T> classFiles, ClassFileReader<T> reader, ClassFileImportRecord importRecord) {
+        RecordAccessHandler accessHandler = new RecordAccessHandler(importRecord, symbols);
         ClassDetailsRecorder classDetailsRecorder = new ClassDetailsRecorder(importRecord);
-        for (ClassFileLocation location : source) {
-            try (InputStream s = location.openStream()) {
-                JavaClassProcessor javaClassProcessor =
-                        new JavaClassProcessor(new SourceDescriptor(location.getUri(), md5InClassSourcesEnabled), classDetailsRecorder, accessHandler);
-                new ClassReader(s).accept(javaClassProcessor, 0);
+        for (T classFile : classFiles) {
+            try {
+                SourceDescriptor sourceDescriptor = newSourceDescriptor(reader.getUri(classFile));
+                JavaClassProcessor javaClassProcessor = new JavaClassProcessor(sourceDescriptor, classDetailsRecorder, accessHandler, symbols);
+                reader.accept(classFile, javaClassProcessor, sourceDescriptor);
                 importRecord.addAll(javaClassProcessor.createJavaClass().asSet());
             } catch (Exception e) {
-                LOG.warn(String.format("Couldn't import class from %s", location.getUri()), e);
+                LOG.warn(String.format("Couldn't import class from %s", reader.getUri(classFile)), e);
+            }
+        }
+        return importRecord;
+    }
+
+    /**
+     * Passes a class file to a {@link ClassVisitor}, e.g. by reading a {@link ClassFileLocation} or by replaying
+     * a {@link ClassFileSnapshot.Recording}
+     */
+    private interface ClassFileReader<T> {
+        URI getUri(T classFile);
+
+        void accept(T classFile, ClassVisitor visitor, SourceDescriptor sourceDescriptor) throws IOException;
+    }
+
+    private class LocationReader implements ClassFileReader<ClassFileLocation> {
+        @Override
+        public URI getUri(ClassFileLocation location) {
+            return location.getUri();
+        }
+
+        @Override
+        public void accept(ClassFileLocation location, ClassVisitor visitor, SourceDescriptor sourceDescriptor) throws IOException {
+            sourceImportCache.accept(location, visitor, sourceDescriptor);
+        }
+    }
+
+    private static final ClassFileReader<ClassFileSnapshot.Recording> RECORDING_READER = new ClassFileReader<ClassFileSnapshot.Recording>() {
+        @Override
+        public URI getUri(ClassFileSnapshot.Recording recording) {
+            return recording.getUri();
+        }
+
+        @Override
+        public void accept(ClassFileSnapshot.Recording recording, ClassVisitor visitor, SourceDescriptor sourceDescriptor) {
+            recording.replay(visitor);
+        }
+    };
+
+    /**
+     * Parses batches of class files concurrently, each batch into its own {@link ClassFileImportRecord}.
+     * The partial records are merged in the order of the source, thus if the same class is contained
+     * several times, the first occurrence wins, just like for a sequential import.<br>
+     * Only the merged record is subject to the heap budget of the access records, the partial records of the batches
+     * are small anyway.
+     */
+    private class ParallelImport {
+        private static final int BATCH_SIZE = 64;
+        private static final int MAX_PENDING_BATCHES_PER_THREAD = 4;
+
+        private final int parallelism;
+
+        ParallelImport(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        <T> ClassFileImportRecord importFrom(Iterable<T> source, ClassFileReader<T> reader, ClassFileImportRecord importRecord) {
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                    new ThreadFactoryBuilder().setNameFormat("archunit-import-%d").setDaemon(true).build());
+            try {
+                Deque<Future<ClassFileImportRecord>> pendingBatches = new ArrayDeque<>();
+                List<T> batch = new ArrayList<>(BATCH_SIZE);
+                for (T classFile : source) {
+                    batch.add(classFile);
+                    if (batch.size() == BATCH_SIZE) {
+                        pendingBatches.add(submit(executor, batch, reader));
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                    if (pendingBatches.size() >= parallelism * MAX_PENDING_BATCHES_PER_THREAD) {
+                        importRecord.addAll(await(pendingBatches.poll()));
+                    }
+                }
+                pendingBatches.add(submit(executor, batch, reader));
+                while (!pendingBatches.isEmpty()) {
+                    importRecord.addAll(await(pendingBatches.poll()));
+                }
+                return importRecord;
+            } finally {
+                shutdownAndAwaitTermination(executor);
+            }
+        }
+
+        // NOTE: Workers might still read class files of a failed import, so we must wait for them before the sources can be released
+        private void shutdownAndAwaitTermination(ExecutorService executor) {
+            executor.shutdownNow();
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                            return;
+                        }
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private <T> Future<ClassFileImportRecord> submit(ExecutorService executor, final List<T> batch, final ClassFileReader<T> reader) {
+            return executor.submit(new Callable<ClassFileImportRecord>() {
+                @Override
+                public ClassFileImportRecord call() {
+                    return importSequentially(batch, reader, new ClassFileImportRecord(symbols));
+                }
+            });
+        }
+
+        private ClassFileImportRecord await(Future<ClassFileImportRecord> partialRecord) {
+            try {
+                return partialRecord.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ClassImportException("Interrupted while importing classes", e);
+            } catch (ExecutionException e) {
+                throw new ClassImportException("Error while importing classes", e.getCause());
             }
         }
-        return new ClassGraphCreator(importRecord, getClassResolver(classDetailsRecorder)).complete();
     }
 
     private static class ClassDetailsRecorder implements DeclarationHandler {
@@ -121,11 +330,13 @@ class ClassFileProcessor {
         private static final Logger LOG = LoggerFactory.getLogger(RecordAccessHandler.class);
 
         private final ClassFileImportRecord importRecord;
+        private final SymbolTable symbols;
         private CodeUnit codeUnit;
         private int lineNumber;
 
-        private RecordAccessHandler(ClassFileImportRecord importRecord) {
+        private RecordAccessHandler(ClassFileImportRecord importRecord, SymbolTable symbols) {
             this.importRecord = importRecord;
+            this.symbols = symbols;
         }
 
         @Override
@@ -142,52 +353,55 @@ class ClassFileProcessor {
         public void handleFieldInstruction(int opcode, String owner, String name, String desc) {
             AccessType accessType = AccessType.forOpCode(opcode);
             LOG.trace("Found {} access to field {}.{}:{} in line {}", accessType, owner, name, desc, lineNumber);
-            TargetInfo target = new RawAccessRecord.FieldTargetInfo(owner, name, desc);
-            importRecord.registerFieldAccess(filled(new RawAccessRecord.ForField.Builder(), target)
-                    .withAccessType(accessType)
-                    .build());
+            TargetInfo target = new RawAccessRecord.FieldTargetInfo(symbols.objectType(owner), symbols.intern(name), symbols.intern(desc));
+            importRecord.registerFieldAccess(codeUnit, target, lineNumber, accessType);
         }
 
         @Override
         public void handleMethodInstruction(String owner, String name, String desc) {
             LOG.trace("Found call of method {}.{}:{} in line {}", owner, name, desc, lineNumber);
             if (CONSTRUCTOR_NAME.equals(name)) {
-                TargetInfo target = new ConstructorTargetInfo(owner, name, desc);
-                importRecord.registerConstructorCall(filled(new RawAccessRecord.Builder(), target).build());
+                TargetInfo target = new ConstructorTargetInfo(symbols.objectType(owner), CONSTRUCTOR_NAME, symbols.intern(desc));
+                importRecord.registerConstructorCall(codeUnit, target, lineNumber);
             } else {
-                TargetInfo target = new MethodTargetInfo(owner, name, desc);
-                importRecord.registerMethodCall(filled(new RawAccessRecord.Builder(), target).build());
+                TargetInfo target = new MethodTargetInfo(symbols.objectType(owner), symbols.intern(name), symbols.intern(desc));
+                importRecord.registerMethodCall(codeUnit, target, lineNumber);
             }
         }
-
-        private <BUILDER extends RawAccessRecord.BaseBuilder<BUILDER>> BUILDER filled(BUILDER builder, TargetInfo target) {
-            return builder
-                    .withCaller(codeUnit)
-                    .withTarget(target)
-                    .withLineNumber(lineNumber);
-        }
     }
 
     private ClassResolver getClassResolver(ClassDetailsRecorder classDetailsRecorder) {
-        ClassResolver classResolver = classResolverFactory.create();
-        classResolver.setClassUriImporter(new UriImporterOfProcessor(classDetailsRecorder, md5InClassSourcesEnabled));
+        ClassResolver classResolver = snapshot.isPresent()
+                ? snapshot.get().resolverFallingBackTo(classResolverFactory.create())
+                : classResolverFactory.create();
+        classResolver.setClassUriImporter(new UriImporterOfProcessor(this, classDetailsRecorder));
         return classResolver;
     }
 
+    private SourceDescriptor newSourceDescriptor(URI uri) {
+        return new SourceDescriptor(uri, md5InClassSourcesEnabled, checksumAlgorithm);
+    }
+
     private static class UriImporterOfProcessor implements ClassUriImporter {
+        private final ClassFileProcessor processor;
         private final DeclarationHandler declarationHandler;
-        private final boolean md5InClassSourcesEnabled;
 
-        UriImporterOfProcessor(DeclarationHandler declarationHandler, boolean md5InClassSourcesEnabled) {
+        UriImporterOfProcessor(ClassFileProcessor processor, DeclarationHandler declarationHandler) {
+            this.processor = processor;
             this.declarationHandler = declarationHandler;
-            this.md5InClassSourcesEnabled = md5InClassSourcesEnabled;
         }
 
         @Override
-        public Optional<JavaClass> tryImport(URI uri) {
-            try (InputStream inputStream = uri.toURL().openStream()) {
-                JavaClassProcessor classProcessor = new JavaClassProcessor(new SourceDescriptor(uri, md5InClassSourcesEnabled), declarationHandler);
-                new ClassReader(inputStream).accept(classProcessor, 0);
+        public Optional<JavaClass> tryImport(final URI uri) {
+            try {
+                SourceDescriptor sourceDescriptor = processor.newSourceDescriptor(uri);
+                JavaClassProcessor classProcessor = new JavaClassProcessor(sourceDescriptor, declarationHandler, processor.symbols);
+                processor.importCache.accept(new InputStreamSupplierClassFileLocation(uri, new InputStreamSupplier() {
+                    @Override
+                    InputStream getInputStream() throws IOException {
+                        return uri.toURL().openStream();
+                    }
+                }), classProcessor, sourceDescriptor);
                 return classProcessor.createJavaClass();
             } catch (Exception e) {
                 LOG.warn(String.format("Error during import from %s, falling back to simple import", uri), e);
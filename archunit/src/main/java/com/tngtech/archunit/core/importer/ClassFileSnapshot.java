@@ -0,0 +1,379 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.io.CountingInputStream;
+import com.tngtech.archunit.base.ArchUnitException.ClassImportException;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.Source.Checksum;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
+import org.objectweb.asm.ClassVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.tngtech.archunit.core.importer.ClassFileProcessor.ASM_API_VERSION;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * A single binary file holding the {@link RecordedClassFile recordings} of many class files, so the classes can be imported again
+ * (e.g. by a later job of a build pipeline) without reading and parsing the original class files. Each snapshot is imported with the
+ * {@link ImportDetail} it was written with. The header contains the version of the snapshot format as well as the version of the
+ * recordings, which changes whenever the information recorded for the domain model changes, so outdated snapshots are rejected
+ * instead of being imported incompletely.<br>
+ * Reading a snapshot only indexes the class names and positions of the recordings, while the recordings themselves stay within
+ * memory mapped regions of the file. A region is only mapped once a recording within it is replayed, and each class is replayed
+ * directly from a read-only view on the respective region, thus recordings are never copied to the heap. Classes of the snapshot
+ * that are not imported directly (compare {@link #select(ImportOptions)}) can thus be resolved from the snapshot on demand.
+ * Since mapped regions are backed by the file, the operating system can drop pages of recordings under memory pressure
+ * and simply read them again from the file if they are replayed once more.<br>
+ * All regions are unmapped as soon as the snapshot is {@link #close() closed}, which must happen once the import is finished,
+ * so the file is not kept locked (e.g. on Windows) until the snapshot happens to be garbage collected.
+ */
+class ClassFileSnapshot implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(ClassFileSnapshot.class);
+
+    static final int MAGIC = 0xA4C45A4F;
+    static final int FORMAT_VERSION = 2;
+    // NOTE: Each region must stay below the maximum size of a MappedByteBuffer
+    private static final long MAX_REGION_SIZE = 1L << 30;
+
+    private final ImportDetail importDetail;
+    private final Map<URI, Entry> entriesByUri;
+    private final Map<String, Entry> entriesByClassName;
+    private final List<Region> regions;
+
+    private ClassFileSnapshot(ImportDetail importDetail, Map<URI, Entry> entriesByUri, Map<String, Entry> entriesByClassName,
+            List<Region> regions) {
+        this.importDetail = importDetail;
+        this.entriesByUri = entriesByUri;
+        this.entriesByClassName = entriesByClassName;
+        this.regions = regions;
+    }
+
+    ImportDetail getImportDetail() {
+        return importDetail;
+    }
+
+    boolean contains(URI uri) {
+        return entriesByUri.containsKey(uri);
+    }
+
+    void replay(URI uri, ClassVisitor visitor) {
+        entriesByUri.get(uri).replay(visitor);
+    }
+
+    /**
+     * @return The recordings of all class files of this snapshot, whose original {@link Location} is included by the given {@link ImportOptions}
+     */
+    List<Recording> select(ImportOptions importOptions) {
+        List<Recording> result = new ArrayList<>();
+        for (Entry entry : entriesByUri.values()) {
+            if (importOptions.include(Location.of(entry.uri))) {
+                result.add(new Recording(entry));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return A {@link ClassResolver} that resolves all classes contained in this snapshot from the snapshot
+     *         and delegates all other classes to {@code delegate}
+     */
+    ClassResolver resolverFallingBackTo(ClassResolver delegate) {
+        return new Resolver(delegate);
+    }
+
+    /**
+     * Unmaps all regions of this snapshot. No recording of this snapshot must be replayed afterwards.
+     */
+    @Override
+    public void close() {
+        for (Region region : regions) {
+            region.close();
+        }
+    }
+
+    /**
+     * Records all class files of the source with the given {@link ImportDetail} and writes them to {@code snapshotFile}.
+     * Class files that cannot be read are skipped, just like for a regular import.
+     */
+    static void write(Path snapshotFile, ImportDetail importDetail, Iterable<ClassFileLocation> source) {
+        ImportCache importCache = ImportCache.fromConfiguration(importDetail);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(snapshotFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(RecordedClassFile.FORMAT_VERSION);
+            out.writeUTF(importDetail.name());
+            for (ClassFileLocation location : source) {
+                NameRecordingVisitor nameRecorder = new NameRecordingVisitor();
+                RecordedClassFile.Recorder recorder = RecordedClassFile.recordWhileVisiting(nameRecorder);
+                if (tryRecord(importCache, location, recorder)) {
+                    byte[] recording = recorder.toByteArray();
+                    out.writeBoolean(true);
+                    out.writeUTF(nameRecorder.className);
+                    out.writeUTF(location.getUri().toString());
+                    out.writeInt(recording.length);
+                    out.write(recording);
+                }
+            }
+            out.writeBoolean(false);
+        } catch (IOException e) {
+            throw new ClassImportException("Couldn't write snapshot " + snapshotFile, e);
+        }
+    }
+
+    private static boolean tryRecord(ImportCache importCache, ClassFileLocation location, RecordedClassFile.Recorder recorder) {
+        try {
+            importCache.accept(location, recorder, new SourceDescriptor(location.getUri(), false, Optional.<Checksum.Algorithm>absent()));
+            return true;
+        } catch (Exception e) {
+            LOG.warn(String.format("Couldn't add class from %s to snapshot", location.getUri()), e);
+            return false;
+        }
+    }
+
+    static ClassFileSnapshot read(Path snapshotFile) {
+        try (CountingDataInput in = new CountingDataInput(Files.newInputStream(snapshotFile))) {
+            if (in.readInt() != MAGIC) {
+                throw new ClassImportException(String.format("%s is no snapshot of class files", snapshotFile), null);
+            }
+            int formatVersion = in.readInt();
+            int recordingVersion = in.readInt();
+            if (formatVersion != FORMAT_VERSION || recordingVersion != RecordedClassFile.FORMAT_VERSION) {
+                throw new ClassImportException(String.format(
+                        "Snapshot %s has version %d.%d, but this version of ArchUnit can only import snapshots of version %d.%d, "
+                                + "please export the snapshot again",
+                        snapshotFile, formatVersion, recordingVersion, FORMAT_VERSION, RecordedClassFile.FORMAT_VERSION), null);
+            }
+            ImportDetail importDetail = ImportDetail.valueOf(in.readUTF());
+            return readEntries(snapshotFile, importDetail, in);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ClassImportException("Couldn't read snapshot " + snapshotFile, e);
+        }
+    }
+
+    private static ClassFileSnapshot readEntries(Path snapshotFile, ImportDetail importDetail, CountingDataInput in) throws IOException {
+        Map<URI, Entry> entriesByUri = new LinkedHashMap<>();
+        Map<String, Entry> entriesByClassName = new HashMap<>();
+        List<Region> regions = new ArrayList<>();
+        Region region = null;
+        while (in.readBoolean()) {
+            String className = in.readUTF();
+            URI uri = URI.create(in.readUTF());
+            int length = in.readInt();
+            long position = in.getPosition();
+            if (region == null || position + length > region.start + MAX_REGION_SIZE) {
+                region = new Region(snapshotFile, position);
+                regions.add(region);
+            }
+            region.extendTo(position + length);
+            Entry entry = new Entry(uri, region, position - region.start, length);
+            entriesByUri.put(uri, entry);
+            if (!entriesByClassName.containsKey(className)) {
+                entriesByClassName.put(className, entry);
+            }
+            in.skipFully(length);
+        }
+        return new ClassFileSnapshot(importDetail, entriesByUri, entriesByClassName, regions);
+    }
+
+    /**
+     * A region of the snapshot file that is mapped into memory as a whole on first access and unmapped again on {@link #close()}
+     */
+    private static class Region {
+        private final Path file;
+        private final long start;
+        private long end;
+        private volatile MappedByteBuffer buffer;
+        private boolean closed;
+
+        Region(Path file, long start) {
+            this.file = file;
+            this.start = start;
+            this.end = start;
+        }
+
+        void extendTo(long end) {
+            this.end = end;
+        }
+
+        ByteBuffer get() {
+            MappedByteBuffer result = buffer;
+            if (result == null) {
+                result = map();
+            }
+            return result.asReadOnlyBuffer();
+        }
+
+        private synchronized MappedByteBuffer map() {
+            if (closed) {
+                throw new IllegalStateException("Snapshot " + file + " has already been closed");
+            }
+            if (buffer == null) {
+                try (FileChannel channel = FileChannel.open(file, READ)) {
+                    buffer = channel.map(READ_ONLY, start, end - start);
+                } catch (IOException e) {
+                    throw new ClassImportException("Couldn't map snapshot " + file, e);
+                }
+            }
+            return buffer;
+        }
+
+        synchronized void close() {
+            closed = true;
+            if (buffer != null) {
+                MappedByteBuffer toUnmap = buffer;
+                buffer = null;
+                MappedBuffers.unmap(toUnmap);
+            }
+        }
+    }
+
+    private static class Entry {
+        private final URI uri;
+        private final Region region;
+        private final long offset;
+        private final int length;
+
+        Entry(URI uri, Region region, long offset, int length) {
+            this.uri = uri;
+            this.region = region;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        void replay(ClassVisitor visitor) {
+            ByteBuffer buffer = region.get();
+            buffer.position((int) offset);
+            buffer.limit((int) offset + length);
+            RecordedClassFile.replay(buffer, visitor);
+        }
+    }
+
+    private class Resolver implements ClassResolver.Prefetching {
+        private final ClassResolver delegate;
+        private ClassUriImporter classUriImporter;
+
+        Resolver(ClassResolver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void setClassUriImporter(ClassUriImporter classUriImporter) {
+            this.classUriImporter = classUriImporter;
+            delegate.setClassUriImporter(classUriImporter);
+        }
+
+        @Override
+        public void prefetch(Set<String> typeNames) {
+            if (delegate instanceof ClassResolver.Prefetching) {
+                ((ClassResolver.Prefetching) delegate).prefetch(typeNames);
+            }
+        }
+
+        @Override
+        public Optional<JavaClass> tryResolve(String typeName) {
+            Entry entry = entriesByClassName.get(typeName);
+            return entry != null ? classUriImporter.tryImport(entry.uri) : delegate.tryResolve(typeName);
+        }
+    }
+
+    /**
+     * A class file that was recorded within the snapshot. Unlike a {@link ClassFileLocation} it can't be read,
+     * but only be replayed from the snapshot.
+     */
+    static class Recording {
+        private final Entry entry;
+
+        private Recording(Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * @return The URI of the original class file
+         */
+        URI getUri() {
+            return entry.uri;
+        }
+
+        void replay(ClassVisitor visitor) {
+            entry.replay(visitor);
+        }
+    }
+
+    private static class NameRecordingVisitor extends ClassVisitor {
+        private String className;
+
+        NameRecordingVisitor() {
+            super(ASM_API_VERSION);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            className = name.replace('/', '.');
+        }
+    }
+
+    private static class CountingDataInput extends DataInputStream {
+        private final CountingInputStream counter;
+
+        CountingDataInput(InputStream in) {
+            this(new CountingInputStream(new BufferedInputStream(in)));
+        }
+
+        private CountingDataInput(CountingInputStream counter) {
+            super(counter);
+            this.counter = counter;
+        }
+
+        long getPosition() {
+            return counter.getCount();
+        }
+
+        void skipFully(int length) throws IOException {
+            long remaining = length;
+            while (remaining > 0) {
+                long skipped = skip(remaining);
+                if (skipped <= 0) {
+                    throw new IOException("Unexpected end of snapshot");
+                }
+                remaining -= skipped;
+            }
+        }
+    }
+}
@@ -15,19 +15,27 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarEntry;
 
@@ -35,18 +43,33 @@ import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.base.Supplier;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.Iterators;
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.base.Optional;
 
 @Internal
 interface ClassFileSource extends Iterable<ClassFileLocation> {
+    /**
+     * The class files within a directory tree. If class files are imported in parallel
+     * (compare {@link ArchConfiguration#getImportParallelism()}), the tree is also walked in parallel, and the class files
+     * are passed on while the walk is still running (compare {@link ParallelFileTreeWalk}).
+     * Otherwise, the tree is walked sequentially on creation.
+     */
     @Internal
-    class FromFilePath extends SimpleFileVisitor<Path> implements ClassFileSource {
+    class FromFilePath extends SimpleFileVisitor<Path> implements ClassFileSource, ParallelFileTreeWalk.Visitor {
         private final Set<ClassFileLocation> classFileLocations = new HashSet<>();
         private final ImportOptions importOptions;
+        private final Optional<ParallelFileTreeWalk> parallelWalk;
 
         FromFilePath(Path path, ImportOptions importOptions) {
             this.importOptions = importOptions;
-            if (path.toFile().exists()) {
+            int parallelism = ArchConfiguration.get().getImportParallelism();
+            boolean exists = path.toFile().exists();
+            parallelWalk = exists && parallelism > 1
+                    ? Optional.of(new ParallelFileTreeWalk(path, this, parallelism))
+                    : Optional.<ParallelFileTreeWalk>absent();
+            if (exists && !parallelWalk.isPresent()) {
                 try {
                     Files.walkFileTree(path, this);
                 } catch (IOException e) {
@@ -57,24 +80,47 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
 
         @Override
         public Iterator<ClassFileLocation> iterator() {
-            return classFileLocations.iterator();
+            if (!parallelWalk.isPresent()) {
+                return classFileLocations.iterator();
+            }
+            return Iterators.transform(parallelWalk.get().iterator(), new Function<Path, ClassFileLocation>() {
+                @Override
+                public ClassFileLocation apply(Path file) {
+                    return newClassFileLocation(file);
+                }
+            });
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            return shouldEnter(dir) ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
         }
 
         @Override
         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-            if (shouldBeConsidered(file)) {
-                classFileLocations.add(new InputStreamSupplierClassFileLocation(file.toUri(), newInputStreamSupplierFor(file)));
+            if (shouldInclude(file)) {
+                classFileLocations.add(newClassFileLocation(file));
             }
             return FileVisitResult.CONTINUE;
         }
 
-        private boolean shouldBeConsidered(Path file) {
+        @Override
+        public boolean shouldEnter(Path directory) {
+            return importOptions.mayIncludeClassesIn(directory);
+        }
+
+        @Override
+        public boolean shouldInclude(Path file) {
             Path fileName = file.getFileName();
             return fileName != null
                     && FileToImport.isRelevant(fileName.toString())
                     && importOptions.include(Location.of(file));
         }
 
+        private ClassFileLocation newClassFileLocation(Path file) {
+            return new InputStreamSupplierClassFileLocation(file.toUri(), newInputStreamSupplierFor(file));
+        }
+
         private Supplier<InputStream> newInputStreamSupplierFor(final Path file) {
             return new InputStreamSupplier() {
                 @Override
@@ -89,23 +135,81 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
     class FromJar implements ClassFileSource {
         private final FluentIterable<ClassFileLocation> classFileLocations;
 
+        // NOTE: Without the scope of an import the archive will only be unmapped by the garbage collector
         FromJar(URL jarUrl, String path, ImportOptions importOptions) {
-            this(jarUrl, NormalizedResourceName.from(path), importOptions);
+            this(jarUrl, path, importOptions, new MappedJarFile.Scope());
         }
 
-        FromJar(URL jarUrl, NormalizedResourceName path, ImportOptions importOptions) {
+        /**
+         * @param mappedJarFiles The {@link MappedJarFile.Scope} to map the archive in, e.g. the scope of the running import
+         */
+        FromJar(URL jarUrl, String path, ImportOptions importOptions, MappedJarFile.Scope mappedJarFiles) {
+            this(jarUrl, NormalizedResourceName.from(path), importOptions, mappedJarFiles);
+        }
+
+        FromJar(URL jarUrl, NormalizedResourceName path, ImportOptions importOptions, MappedJarFile.Scope mappedJarFiles) {
             try {
                 JarURLConnection connection = (JarURLConnection) jarUrl.openConnection();
-                classFileLocations = FluentIterable.from(Collections.list(connection.getJarFile().entries()))
-                        .filter(classFilesBeneath(path))
-                        .transform(toClassFilesInJarOf(connection))
-                        .filter(by(importOptions))
-                        .transform(toInputStreamSupplier());
+                Optional<MappedJarFile> mappedJarFile = tryMap(connection.getJarFileURL(), mappedJarFiles);
+                classFileLocations = mappedJarFile.isPresent()
+                        ? classFileLocationsIn(mappedJarFile.get(), Location.of(connection.getJarFileURL()), path, importOptions)
+                        : classFileLocationsIn(connection, path, importOptions);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
 
+        private static Optional<MappedJarFile> tryMap(URL jarFileUrl, MappedJarFile.Scope mappedJarFiles) {
+            if (!"file".equals(jarFileUrl.getProtocol())) {
+                return Optional.absent();
+            }
+            try {
+                return mappedJarFiles.tryOpen(new File(jarFileUrl.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return Optional.absent();
+            }
+        }
+
+        private FluentIterable<ClassFileLocation> classFileLocationsIn(
+                final MappedJarFile jarFile, final Location jarLocation, NormalizedResourceName path, final ImportOptions importOptions) {
+
+            final String prefix = path.toEntryName();
+            return FluentIterable.from(jarFile.getEntries())
+                    .filter(new Predicate<MappedJarFile.Entry>() {
+                        @Override
+                        public boolean apply(MappedJarFile.Entry input) {
+                            return input.getName().startsWith(prefix) && FileToImport.isRelevant(input.getName());
+                        }
+                    })
+                    .transform(new Function<MappedJarFile.Entry, ClassFileLocation>() {
+                        @Override
+                        public ClassFileLocation apply(final MappedJarFile.Entry input) {
+                            return new InputStreamSupplierClassFileLocation(jarLocation.append(input.getName()).asURI(), new InputStreamSupplier() {
+                                @Override
+                                InputStream getInputStream() throws IOException {
+                                    return jarFile.openStream(input);
+                                }
+                            });
+                        }
+                    })
+                    .filter(new Predicate<ClassFileLocation>() {
+                        @Override
+                        public boolean apply(ClassFileLocation input) {
+                            return importOptions.include(Location.of(input.getUri()));
+                        }
+                    });
+        }
+
+        private FluentIterable<ClassFileLocation> classFileLocationsIn(
+                JarURLConnection connection, NormalizedResourceName path, ImportOptions importOptions) throws IOException {
+
+            return FluentIterable.from(Collections.list(connection.getJarFile().entries()))
+                    .filter(classFilesBeneath(path))
+                    .transform(toClassFilesInJarOf(connection))
+                    .filter(by(importOptions))
+                    .transform(toInputStreamSupplier());
+        }
+
         private Predicate<JarEntry> classFilesBeneath(final NormalizedResourceName prefix) {
             return new Predicate<JarEntry>() {
                 @Override
@@ -182,6 +286,76 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
         }
     }
 
+    @Internal
+    class FromClassFileUris implements ClassFileSource {
+        private final Set<ClassFileLocation> classFileLocations = new LinkedHashSet<>();
+
+        FromClassFileUris(Iterable<URI> classFileUris, ImportOptions importOptions) {
+            for (URI uri : classFileUris) {
+                if (importOptions.include(Location.of(uri))) {
+                    classFileLocations.add(new InputStreamSupplierClassFileLocation(uri, newInputStreamSupplierFor(uri)));
+                }
+            }
+        }
+
+        private Supplier<InputStream> newInputStreamSupplierFor(final URI uri) {
+            return new InputStreamSupplier() {
+                @Override
+                InputStream getInputStream() throws IOException {
+                    return uri.toURL().openStream();
+                }
+            };
+        }
+
+        @Override
+        public Iterator<ClassFileLocation> iterator() {
+            return classFileLocations.iterator();
+        }
+    }
+
+    /**
+     * Class files that are already held in memory. Since there is no file to refer to, each class file gets a synthetic
+     * URI with scheme {@value SCHEME}, e.g. {@code memory:/com/example/SomeClass.class}
+     */
+    @Internal
+    class FromClassBytes implements ClassFileSource {
+        static final String SCHEME = "memory";
+
+        private final List<ClassFileLocation> classFileLocations = new ArrayList<>();
+
+        FromClassBytes(Map<String, ByteBuffer> classFilesByName) {
+            for (Map.Entry<String, ByteBuffer> classFile : classFilesByName.entrySet()) {
+                URI uri = URI.create(SCHEME + ":/" + classFile.getKey().replace('.', '/') + ".class");
+                classFileLocations.add(new InputStreamSupplierClassFileLocation(uri, newInputStreamSupplierFor(classFile.getValue())));
+            }
+        }
+
+        // NOTE: We read from a duplicate, so the position of the buffer passed by the user is never modified
+        private Supplier<InputStream> newInputStreamSupplierFor(final ByteBuffer classFile) {
+            return new InputStreamSupplier() {
+                @Override
+                InputStream getInputStream() {
+                    ByteBuffer buffer = classFile.duplicate();
+                    if (buffer.hasArray()) {
+                        return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                    }
+                    byte[] bytes = new byte[buffer.remaining()];
+                    buffer.get(bytes);
+                    return new ByteArrayInputStream(bytes);
+                }
+            };
+        }
+
+        static boolean isSourceOf(URI uri) {
+            return SCHEME.equals(uri.getScheme());
+        }
+
+        @Override
+        public Iterator<ClassFileLocation> iterator() {
+            return classFileLocations.iterator();
+        }
+    }
+
     @Internal
     class InputStreamSupplierClassFileLocation implements ClassFileLocation {
         private final URI uri;
@@ -16,12 +16,14 @@
 package com.tngtech.archunit.core.importer;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.SetMultimap;
 import com.tngtech.archunit.base.Function;
 import com.tngtech.archunit.base.Optional;
@@ -49,6 +51,8 @@ import com.tngtech.archunit.core.importer.AccessRecord.FieldAccessRecord;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaConstructorCallBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaFieldAccessBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaMethodCallBuilder;
+import com.tngtech.archunit.core.importer.ImportListener.Phase;
+import com.tngtech.archunit.core.importer.ImportedClasses.ResolutionLimits;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
 
 import static com.google.common.collect.Iterables.concat;
@@ -61,17 +65,22 @@ class ClassGraphCreator implements ImportContext {
     private final ImportedClasses classes;
 
     private final ClassFileImportRecord importRecord;
+    private final SymbolTable symbols;
+    private final ImportProgress progress;
+    private final MemberIndex memberIndex = new MemberIndex();
 
-    private final SetMultimap<JavaCodeUnit, FieldAccessRecord> processedFieldAccessRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, AccessRecord<MethodCallTarget>> processedMethodCallRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, AccessRecord<ConstructorCallTarget>> processedConstructorCallRecords = HashMultimap.create();
+    private final Map<JavaCodeUnit, Set<JavaFieldAccess>> fieldAccessesByCaller = new HashMap<>();
+    private final Map<JavaCodeUnit, Set<JavaMethodCall>> methodCallsByCaller = new HashMap<>();
+    private final Map<JavaCodeUnit, Set<JavaConstructorCall>> constructorCallsByCaller = new HashMap<>();
     private final Function<JavaClass, Set<String>> superClassStrategy;
     private final Function<JavaClass, Set<String>> interfaceStrategy;
     private final MemberDependenciesByTarget memberDependenciesByTarget = new MemberDependenciesByTarget();
 
-    ClassGraphCreator(ClassFileImportRecord importRecord, ClassResolver classResolver) {
+    ClassGraphCreator(ClassFileImportRecord importRecord, ClassResolver classResolver, SymbolTable symbols, ImportProgress progress) {
         this.importRecord = importRecord;
-        classes = new ImportedClasses(importRecord.getClasses(), classResolver);
+        this.symbols = symbols;
+        this.progress = progress;
+        classes = new ImportedClasses(importRecord.getClasses(), classResolver, ResolutionLimits.fromConfiguration());
         superClassStrategy = createSuperClassStrategy();
         interfaceStrategy = createInterfaceStrategy();
     }
@@ -95,26 +104,26 @@ class ClassGraphCreator implements ImportContext {
     }
 
     JavaClasses complete() {
+        progress.enterPhase(Phase.RESOLVE_CLASSES);
         ensureCallTargetsArePresent();
         ensureClassHierarchies();
+        progress.enterPhase(Phase.CREATE_CLASS_GRAPH);
         completeMembers();
         completeAnnotations();
-        for (RawAccessRecord.ForField fieldAccessRecord : importRecord.getRawFieldAccessRecords()) {
-            tryProcess(fieldAccessRecord, AccessRecord.Factory.forFieldAccessRecord(), processedFieldAccessRecords);
-        }
-        for (RawAccessRecord methodCallRecord : importRecord.getRawMethodCallRecords()) {
-            tryProcess(methodCallRecord, AccessRecord.Factory.forMethodCallRecord(), processedMethodCallRecords);
-        }
-        for (RawAccessRecord constructorCallRecord : importRecord.getRawConstructorCallRecords()) {
-            tryProcess(constructorCallRecord, AccessRecord.Factory.forConstructorCallRecord(), processedConstructorCallRecords);
-        }
-        return createJavaClasses(classes.getDirectlyImported(), classes.getAll(), this);
+        createAccesses(importRecord.getRawFieldAccessRecordsByCaller(),
+                AccessRecord.Factory.forFieldAccessRecord(symbols, memberIndex), createFieldAccess(), fieldAccessesByCaller);
+        createAccesses(importRecord.getRawMethodCallRecordsByCaller(),
+                AccessRecord.Factory.forMethodCallRecord(symbols, memberIndex), createMethodCall(), methodCallsByCaller);
+        createAccesses(importRecord.getRawConstructorCallRecordsByCaller(),
+                AccessRecord.Factory.forConstructorCallRecord(symbols, memberIndex), createConstructorCall(), constructorCallsByCaller);
+        importRecord.discardAccessRecords();
+        JavaClasses result = createJavaClasses(classes.getDirectlyImported(), classes.getAll(), this);
+        progress.recordStubbedClasses(classes.getNumberOfStubbedClasses());
+        return result;
     }
 
     private void ensureCallTargetsArePresent() {
-        for (RawAccessRecord record : importRecord.getAccessRecords()) {
-            classes.ensurePresent(record.target.owner.getName());
-        }
+        classes.ensurePresent(importRecord.getAccessTargetOwnerNames(), 1);
     }
 
     private void ensureClassHierarchies() {
@@ -125,72 +134,130 @@ class ClassGraphCreator implements ImportContext {
     }
 
     private void ensureClassesOfHierarchyInContext() {
-        for (String superClassName : ImmutableSet.copyOf(importRecord.getSuperClassNamesBySubClass().values())) {
-            resolveInheritance(superClassName, superClassStrategy);
-        }
-
-        for (String superInterfaceName : ImmutableSet.copyOf(importRecord.getInterfaceNamesBySubInterface().values())) {
-            resolveInheritance(superInterfaceName, interfaceStrategy);
-        }
-    }
-
-    private void resolveInheritance(String currentTypeName, Function<JavaClass, Set<String>> inheritanceStrategy) {
-        for (String parent : inheritanceStrategy.apply(classes.getOrResolve(currentTypeName))) {
-            resolveInheritance(parent, inheritanceStrategy);
+        resolveInheritance(ImmutableSet.copyOf(importRecord.getSuperClassNamesBySubClass().keySet()), superClassStrategy);
+        resolveInheritance(ImmutableSet.copyOf(importRecord.getInterfaceNamesBySubInterface().keySet()), interfaceStrategy);
+    }
+
+    // Resolves the hierarchy level by level, so all missing types of one level can be resolved together.
+    // Super types count as the same resolution depth as their sub types (compare ImportedClasses#depthOf(String))
+    private void resolveInheritance(Set<String> subTypeNames, Function<JavaClass, Set<String>> inheritanceStrategy) {
+        Set<String> visited = new HashSet<>(subTypeNames);
+        Set<String> currentLevel = subTypeNames;
+        while (!currentLevel.isEmpty()) {
+            Map<String, Integer> nextLevel = new HashMap<>();
+            for (String typeName : currentLevel) {
+                int depth = Math.max(1, classes.depthOf(typeName));
+                for (String superTypeName : inheritanceStrategy.apply(classes.getOrResolve(typeName))) {
+                    Integer previousDepth = nextLevel.get(superTypeName);
+                    if (!visited.contains(superTypeName) && (previousDepth == null || depth < previousDepth)) {
+                        nextLevel.put(superTypeName, depth);
+                    }
+                }
+            }
+            SetMultimap<Integer, String> nextLevelByDepth = HashMultimap.create();
+            for (Map.Entry<String, Integer> typeNameWithDepth : nextLevel.entrySet()) {
+                nextLevelByDepth.put(typeNameWithDepth.getValue(), typeNameWithDepth.getKey());
+            }
+            for (Integer depth : nextLevelByDepth.keySet()) {
+                classes.ensurePresent(nextLevelByDepth.get(depth), depth);
+            }
+            visited.addAll(nextLevel.keySet());
+            currentLevel = nextLevel.keySet();
         }
     }
 
     private void completeMembers() {
         for (JavaClass javaClass : classes.getAll().values()) {
+            classes.resolveDependenciesOf(javaClass);
             DomainObjectCreationContext.completeMembers(javaClass, this);
+            memberIndex.index(javaClass);
         }
+        classes.resolveDependenciesOfImportedClasses();
     }
 
     private void completeAnnotations() {
         for (JavaClass javaClass : classes.getAll().values()) {
+            classes.resolveDependenciesOf(javaClass);
             DomainObjectCreationContext.completeAnnotations(javaClass, this);
             for (JavaMember member : concat(javaClass.getFields(), javaClass.getMethods(), javaClass.getConstructors())) {
                 memberDependenciesByTarget.registerAnnotations(member.getAnnotations());
             }
         }
+        classes.resolveDependenciesOfImportedClasses();
+    }
+
+    // NOTE: The raw records are streamed one caller at a time (sorted or merged from spilled runs), and each group is turned
+    //       into the final accesses right away. Thus only the processed records of the current caller are ever held, besides
+    //       the accesses themselves, which are part of the imported classes anyway
+    private <B extends RawAccessRecord, R extends AccessRecord<?>, A> void createAccesses(
+            Iterable<List<B>> rawRecordsByCaller,
+            AccessRecord.Factory<B, R> factory,
+            Function<R, A> createAccess,
+            Map<JavaCodeUnit, Set<A>> accessesByCaller) {
+
+        for (List<B> rawRecordsOfCaller : rawRecordsByCaller) {
+            JavaCodeUnit caller = null;
+            ImmutableSet.Builder<A> accesses = ImmutableSet.builder();
+            for (B rawRecord : rawRecordsOfCaller) {
+                R record = factory.create(rawRecord, classes);
+                caller = record.getCaller();
+                accesses.add(createAccess.apply(record));
+            }
+            Set<A> previousAccesses = accessesByCaller.get(caller);
+            accessesByCaller.put(caller, previousAccesses == null
+                    ? accesses.build()
+                    : accesses.addAll(previousAccesses).build());
+        }
+    }
+
+    private Function<FieldAccessRecord, JavaFieldAccess> createFieldAccess() {
+        return new Function<FieldAccessRecord, JavaFieldAccess>() {
+            @Override
+            public JavaFieldAccess apply(FieldAccessRecord record) {
+                return accessBuilderFrom(new JavaFieldAccessBuilder(), record)
+                        .withAccessType(record.getAccessType())
+                        .build();
+            }
+        };
     }
 
-    private <T extends AccessRecord<?>, B extends RawAccessRecord> void tryProcess(
-            B rawRecord,
-            AccessRecord.Factory<B, T> factory,
-            Multimap<JavaCodeUnit, T> processedAccessRecords) {
+    private Function<AccessRecord<MethodCallTarget>, JavaMethodCall> createMethodCall() {
+        return new Function<AccessRecord<MethodCallTarget>, JavaMethodCall>() {
+            @Override
+            public JavaMethodCall apply(AccessRecord<MethodCallTarget> record) {
+                return accessBuilderFrom(new JavaMethodCallBuilder(), record).build();
+            }
+        };
+    }
 
-        T processed = factory.create(rawRecord, classes);
-        processedAccessRecords.put(processed.getCaller(), processed);
+    private Function<AccessRecord<ConstructorCallTarget>, JavaConstructorCall> createConstructorCall() {
+        return new Function<AccessRecord<ConstructorCallTarget>, JavaConstructorCall>() {
+            @Override
+            public JavaConstructorCall apply(AccessRecord<ConstructorCallTarget> record) {
+                return accessBuilderFrom(new JavaConstructorCallBuilder(), record).build();
+            }
+        };
     }
 
+    // NOTE: The accesses of each code unit are only requested once, thus we release them as soon as they are handed over
     @Override
     public Set<JavaFieldAccess> getFieldAccessesFor(JavaCodeUnit codeUnit) {
-        ImmutableSet.Builder<JavaFieldAccess> result = ImmutableSet.builder();
-        for (FieldAccessRecord record : processedFieldAccessRecords.get(codeUnit)) {
-            result.add(accessBuilderFrom(new JavaFieldAccessBuilder(), record)
-                    .withAccessType(record.getAccessType())
-                    .build());
-        }
-        return result.build();
+        return removeAccessesOf(codeUnit, fieldAccessesByCaller);
     }
 
     @Override
     public Set<JavaMethodCall> getMethodCallsFor(JavaCodeUnit codeUnit) {
-        ImmutableSet.Builder<JavaMethodCall> result = ImmutableSet.builder();
-        for (AccessRecord<MethodCallTarget> record : processedMethodCallRecords.get(codeUnit)) {
-            result.add(accessBuilderFrom(new JavaMethodCallBuilder(), record).build());
-        }
-        return result.build();
+        return removeAccessesOf(codeUnit, methodCallsByCaller);
     }
 
     @Override
     public Set<JavaConstructorCall> getConstructorCallsFor(JavaCodeUnit codeUnit) {
-        ImmutableSet.Builder<JavaConstructorCall> result = ImmutableSet.builder();
-        for (AccessRecord<ConstructorCallTarget> record : processedConstructorCallRecords.get(codeUnit)) {
-            result.add(accessBuilderFrom(new JavaConstructorCallBuilder(), record).build());
-        }
-        return result.build();
+        return removeAccessesOf(codeUnit, constructorCallsByCaller);
+    }
+
+    private static <A> Set<A> removeAccessesOf(JavaCodeUnit codeUnit, Map<JavaCodeUnit, Set<A>> accessesByCaller) {
+        Set<A> accesses = accessesByCaller.remove(codeUnit);
+        return accesses != null ? accesses : ImmutableSet.<A>of();
     }
 
     @Override
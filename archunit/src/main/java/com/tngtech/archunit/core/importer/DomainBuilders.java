@@ -58,7 +58,6 @@ import com.tngtech.archunit.core.importer.DomainBuilders.JavaAnnotationBuilder.V
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createJavaClassList;
-import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createSource;
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createThrowsClause;
 import static com.tngtech.archunit.core.domain.JavaConstructor.CONSTRUCTOR_NAME;
 
@@ -380,7 +379,7 @@ public final class DomainBuilders {
 
         public Optional<Source> getSource() {
             return sourceDescriptor.isPresent()
-                    ? Optional.of(createSource(sourceDescriptor.get().getUri(), sourceFileName, sourceDescriptor.get().isMd5InClassSourcesEnabled()))
+                    ? Optional.of(sourceDescriptor.get().createSourceWithFileName(sourceFileName))
                     : Optional.<Source>absent();
         }
 
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+
+import com.google.common.hash.Hashing;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.Optional;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Visits class files either by parsing them, by replaying them from a {@link ClassFileSnapshot} or the {@link ParsedClassFiles}
+ * of a previous import, or, if a cache directory is configured
+ * (compare {@link ArchConfiguration#getImportCachePath()}), by replaying a {@link RecordedClassFile} stored
+ * by a previous import. Cache entries are keyed by the URI of the class file and the {@link ImportDetail} and only reused,
+ * if size and last modification time of the underlying file (i.e. the class file or the JAR archive) did not change.<br>
+ * Class files that are parsed are read exactly once into a buffer reused by the current thread, and the same bytes
+ * are passed to ASM and to the digests of the {@link SourceDescriptor}.<br>
+ * Classes of the running JDK can additionally be replayed from a snapshot shared by all imports on the same Java runtime
+ * (compare {@link ArchConfiguration#getImportJdkSnapshotPath()}).
+ */
+abstract class ImportCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ImportCache.class);
+
+    final ImportDetail importDetail;
+
+    private ImportCache(ImportDetail importDetail) {
+        this.importDetail = importDetail;
+    }
+
+    static ImportCache fromConfiguration(ImportDetail importDetail) {
+        ArchConfiguration configuration = ArchConfiguration.get();
+        Optional<Path> cachePath = configuration.getImportCachePath();
+        ImportCache cache = cachePath.isPresent() ? new OnDisk(cachePath.get(), importDetail) : new Disabled(importDetail);
+        Optional<Path> jdkSnapshotPath = configuration.getImportJdkSnapshotPath();
+        return jdkSnapshotPath.isPresent() ? new WithJdkSnapshot(jdkSnapshotPath.get(), cache) : cache;
+    }
+
+    /**
+     * @return An {@link ImportCache} replaying all class files contained in the given snapshot, and visiting all other class files like this one
+     */
+    ImportCache replaying(ClassFileSnapshot snapshot) {
+        return new FromSnapshot(snapshot, this);
+    }
+
+    /**
+     * @return An {@link ImportCache} replaying all class files contained in {@code previous}, and visiting all other class files
+     *         like this one, while adding the recording of each visited class file to {@code parsed}
+     */
+    ImportCache recording(Optional<ParsedClassFiles> previous, ParsedClassFiles parsed) {
+        return new InMemory(previous, parsed, this);
+    }
+
+    final void accept(ClassFileLocation location, ClassVisitor visitor, SourceDescriptor sourceDescriptor) throws IOException {
+        acceptFiltered(location, importDetail.filter(visitor), sourceDescriptor);
+    }
+
+    abstract void acceptFiltered(ClassFileLocation location, ClassVisitor visitor, SourceDescriptor sourceDescriptor) throws IOException;
+
+    void parse(ClassFileLocation location, ClassVisitor visitor, SourceDescriptor sourceDescriptor) throws IOException {
+        ClassFileBuffer buffer = ClassFileBuffer.acquire();
+        try {
+            try (InputStream in = location.openStream()) {
+                buffer.readFully(in);
+            }
+            // NOTE: ClassReader doesn't copy the buffer, so it must not be released before ASM is done with it
+            buffer.newClassReader().accept(visitor, importDetail.getParsingOptions());
+            if (sourceDescriptor.needsDigest()) {
+                sourceDescriptor.digest(buffer.bytes, buffer.length);
+            }
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static class Disabled extends ImportCache {
+        Disabled(ImportDetail importDetail) {
+            super(importDetail);
+        }
+
+        @Override
+        void acceptFiltered(ClassFileLocation location, ClassVisitor visitor, SourceDescriptor sourceDescriptor) throws IOException {
+            parse(location, visitor, sourceDescriptor);
+        }
+    }
+
+    private static class OnDisk extends ImportCache {
+        private static final int MAGIC = 0xA4C4C0DE;
+        private static final int FORMAT_VERSION = RecordedClassFile.FORMAT_VERSION;
+
+        private final Path directory;
+
+        OnDisk(Path directory, ImportDetail importDetail) {
+            super(importDetail);
+            this.directory = directory;
+        }
+
+        @Override
+        void acceptFiltered(ClassFileLocation location, ClassVisitor visitor, SourceDescriptor sourceDescriptor) throws IOException {
+            Optional<Fingerprint> fingerprint = Fingerprint.of(location.getUri());
+            if (!fingerprint.isPresent()) {
+                parse(location, visitor, sourceDescriptor);
+                return;
+            }
+
+            Path entry = entryFor(location.getUri());
+            Optional<byte[]> recording = tryRead(entry, location.getUri(), fingerprint.get());
+            if (recording.isPresent()) {
+                RecordedClassFile.replay(recording.get(), visitor);
+                return;
+            }
+
+            RecordedClassFile.Recorder recorder = RecordedClassFile.recordWhileVisiting(visitor);
+            parse(location, recorder, sourceDescriptor);
+            tryWrite(entry, location.getUri(), fingerprint.get(), recorder.toByteArray());
+        }
+
+        // NOTE: Recordings only contain what was parsed for the respective import detail, thus each detail needs its own entry
+        private Path entryFor(URI uri) {
+            String hash = Hashing.sha1().hashString(importDetail.name() + ":" + uri, UTF_8).toString();
+            return directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2));
+        }
+
+        private Optional<byte[]> tryRead(Path entry, URI uri, Fingerprint fingerprint) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(entry))) {
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION
+                        || !in.readUTF().equals(uri.toString()) || !Fingerprint.readFrom(in).equals(fingerprint)) {
+                    return Optional.absent();
+                }
+                byte[] recording = new byte[in.readInt()];
+                in.readFully(recording);
+                return Optional.of(recording);
+            } catch (NoSuchFileException e) {
+                return Optional.absent();
+            } catch (IOException e) {
+                LOG.debug("Couldn't read import cache entry {} for {}", entry, uri, e);
+                return Optional.absent();
+            }
+        }
+
+        private void tryWrite(Path entry, URI uri, Fingerprint fingerprint, byte[] recording) {
+            try {
+                Files.createDirectories(entry.getParent());
+                Path tempFile = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+                try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempFile))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeUTF(uri.toString());
+                    fingerprint.writeTo(out);
+                    out.writeInt(recording.length);
+                    out.write(recording);
+                }
+                moveAtomicallyIfPossible(tempFile, entry);
+            } catch (IOException e) {
+                LOG.warn(String.format("Couldn't write import cache entry %s for %s", entry, uri), e);
+            }
+        }
+
+        private void moveAtomicallyIfPossible(Path source, Path target) throws IOException {
+            try {
+                Files.move(source, target, REPLACE_EXISTING, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, target, REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static class FromSnapshot extends ImportCache {
+        private final ClassFileSnapshot snapshot;
+        private final ImportCache delegate;
+
+        FromSnapshot(ClassFileSnapshot snapshot, ImportCache delegate) {
+            super(delegate.importDetail);
+            this.snapshot = snapshot;
+            this.delegate = delegate;
+        }
+
+        @Override
+        void acceptFiltered(ClassFileLocation location, ClassVisitor visitor, SourceDescriptor sourceDescriptor) throws IOException {
+            if (snapshot.contains(location.getUri())) {
+                snapshot.replay(location.getUri(), visitor);
+            } else {
+                delegate.acceptFiltered(location, visitor, sourceDescriptor);
+            }
+        }
+    }
+
+    private static class InMemory extends ImportCache {
+        private final Optional<ParsedClassFiles> previous;
+        private final ParsedClassFiles parsed;
+        private final ImportCache delegate;
+
+        InMemory(Optional<ParsedClassFiles> previous, ParsedClassFiles parsed, ImportCache delegate) {
+            super(delegate.importDetail);
+            this.previous = previous;
+            this.parsed = parsed;
+            this.delegate = delegate;
+        }
+
+        @Override
+        void acceptFiltered(ClassFileLocation location, ClassVisitor visitor, SourceDescriptor sourceDescriptor) throws IOException {
+            Optional<byte[]> recording = previous.isPresent() ? previous.get().get(location.getUri()) : Optional.<byte[]>absent();
+            if (recording.isPresent()) {
+                RecordedClassFile.replay(recording.get(), visitor);
+                parsed.add(location.getUri(), recording.get());
+                return;
+            }
+
+            RecordedClassFile.Recorder recorder = RecordedClassFile.recordWhileVisiting(visitor);
+            delegate.acceptFiltered(location, recorder, sourceDescriptor);
+            parsed.add(location.getUri(), recorder.toByteArray());
+        }
+    }
+
+    /**
+     * Replays the classes of the running JDK from a snapshot of the current Java runtime version, and delegates all other
+     * class files. The snapshot is completed lazily, i.e. each JDK class is added when it is parsed for the first time.
+     */
+    private static class WithJdkSnapshot extends ImportCache {
+        private static final Path JAVA_HOME = Paths.get(System.getProperty("java.home")).toAbsolutePath();
+
+        private final OnDisk jdkSnapshot;
+        private final ImportCache delegate;
+
+        WithJdkSnapshot(Path snapshotRoot, ImportCache delegate) {
+            super(delegate.importDetail);
+            this.jdkSnapshot = new OnDisk(snapshotRoot.resolve(currentRuntimeVersion()), delegate.importDetail);
+            this.delegate = delegate;
+        }
+
+        // NOTE: Different JDK builds of the same version might contain slightly different classes, thus we also consider the vendor
+        private static String currentRuntimeVersion() {
+            String version = System.getProperty("java.vendor") + "-" + System.getProperty("java.runtime.version");
+            return version.replaceAll("[^a-zA-Z0-9._+-]", "_");
+        }
+
+        @Override
+        void acceptFiltered(ClassFileLocation location, ClassVisitor visitor, SourceDescriptor sourceDescriptor) throws IOException {
+            if (belongsToJdk(location.getUri())) {
+                jdkSnapshot.acceptFiltered(location, visitor, sourceDescriptor);
+            } else {
+                delegate.acceptFiltered(location, visitor, sourceDescriptor);
+            }
+        }
+
+        // NOTE: From Java 9 on JDK classes are located within the runtime image (jrt:/), before that within JAR files of java.home
+        private static boolean belongsToJdk(URI uri) {
+            if ("jrt".equals(uri.getScheme())) {
+                return true;
+            }
+            Optional<Path> file = Fingerprint.underlyingFileOf(uri);
+            return file.isPresent() && file.get().toAbsolutePath().startsWith(JAVA_HOME);
+        }
+    }
+
+    /**
+     * A growable buffer to read a whole class file into. Each thread keeps one buffer, unless it grew beyond
+     * {@link #MAX_POOLED_SIZE}, so a few huge class files don't pin a lot of memory.
+     */
+    private static class ClassFileBuffer {
+        private static final int INITIAL_SIZE = 16 * 1024;
+        private static final int MAX_POOLED_SIZE = 1024 * 1024;
+        private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+        private static final ThreadLocal<ClassFileBuffer> pool = new ThreadLocal<>();
+
+        private byte[] bytes = new byte[INITIAL_SIZE];
+        private int length;
+
+        // NOTE: If the buffer of this thread is in use (e.g. parsing triggers another parse), a fresh buffer is created
+        static ClassFileBuffer acquire() {
+            ClassFileBuffer buffer = pool.get();
+            pool.remove();
+            return buffer != null ? buffer : new ClassFileBuffer();
+        }
+
+        void readFully(InputStream in) throws IOException {
+            length = 0;
+            int read;
+            while ((read = in.read(bytes, length, bytes.length - length)) != -1) {
+                length += read;
+                if (length == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+                }
+            }
+        }
+
+        // NOTE: ASM only checks the bounds of the array, so we have to make sure broken class files don't make it read
+        //       the remains of a previous class file beyond the end of this one
+        ClassReader newClassReader() {
+            if (length < 10 || readInt(0) != CLASS_FILE_MAGIC) {
+                throw new IllegalArgumentException("Not a valid class file");
+            }
+            ClassReader result = new ClassReader(bytes, 0, length);
+            if (result.header + 8 > length) {
+                throw new IllegalArgumentException("Class file is truncated");
+            }
+            return result;
+        }
+
+        private int readInt(int offset) {
+            return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+        }
+
+        void release() {
+            if (bytes.length <= MAX_POOLED_SIZE) {
+                pool.set(this);
+            }
+        }
+    }
+
+    private static class Fingerprint {
+        private final long size;
+        private final long lastModified;
+
+        private Fingerprint(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeLong(size);
+            out.writeLong(lastModified);
+        }
+
+        static Fingerprint readFrom(DataInputStream in) throws IOException {
+            return new Fingerprint(in.readLong(), in.readLong());
+        }
+
+        // NOTE: For classes within JAR files we use the fingerprint of the whole archive, since any change of the archive
+        //       will also change its size or modification time, and we avoid to inflate the entry for a checksum.
+        //       The same holds for classes within the runtime image of the JDK (jrt:/)
+        static Optional<Fingerprint> of(URI uri) {
+            try {
+                Optional<Path> file = underlyingFileOf(uri);
+                if (!file.isPresent()) {
+                    return Optional.absent();
+                }
+                BasicFileAttributes attributes = Files.readAttributes(file.get(), BasicFileAttributes.class);
+                return Optional.of(new Fingerprint(attributes.size(), attributes.lastModifiedTime().toMillis()));
+            } catch (IOException | RuntimeException e) {
+                return Optional.absent();
+            }
+        }
+
+        static Optional<Path> underlyingFileOf(URI uri) {
+            if ("file".equals(uri.getScheme())) {
+                return Optional.of(Paths.get(uri));
+            }
+            if ("jrt".equals(uri.getScheme())) {
+                return Optional.of(Paths.get(System.getProperty("java.home"), "lib", "modules"));
+            }
+            if ("jar".equals(uri.getScheme())) {
+                String archiveUri = uri.toString().substring("jar:".length()).replaceAll("!/.*", "");
+                return archiveUri.startsWith("file:") ? Optional.of(Paths.get(URI.create(archiveUri))) : Optional.<Path>absent();
+            }
+            return Optional.absent();
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.valueOf(size).hashCode() + Long.valueOf(lastModified).hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Fingerprint other = (Fingerprint) obj;
+            return this.size == other.size && this.lastModified == other.lastModified;
+        }
+    }
+}
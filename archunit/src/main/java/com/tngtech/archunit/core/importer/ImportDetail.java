@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaMember;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+import static com.tngtech.archunit.core.importer.ClassFileProcessor.ASM_API_VERSION;
+
+/**
+ * Determines how much information is imported from each class file (compare
+ * {@link ClassFileImporter#withImportDetail(ImportDetail)}). Rules that only look at the class hierarchy, annotations
+ * or packages don't need the bodies of methods, so skipping those will make the import considerably faster
+ * and the imported classes consume less memory.<br>
+ * Note that any information that is not imported will simply be missing, e.g. {@link JavaClass#getAccessesFromSelf()}
+ * will be empty for all classes imported with any detail other than {@link #FULL_ACCESSES}.
+ */
+@PublicAPI(usage = ACCESS)
+public enum ImportDetail {
+    /**
+     * Imports classes with their super classes, interfaces, modifiers and annotations, but without any {@link JavaMember}
+     */
+    @PublicAPI(usage = ACCESS)
+    HIERARCHY_ONLY(ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES) {
+        @Override
+        ClassVisitor filter(ClassVisitor visitor) {
+            return new ClassVisitor(ASM_API_VERSION, visitor) {
+                @Override
+                public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+                    return null;
+                }
+
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                    return null;
+                }
+            };
+        }
+    },
+    /**
+     * Additionally imports all {@link JavaMember members} with their annotations, but no {@link JavaAccess accesses}
+     * from within the bodies of methods, constructors or static initializers
+     */
+    @PublicAPI(usage = ACCESS)
+    MEMBERS(ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES),
+    /**
+     * Imports all information ArchUnit supports, including all {@link JavaAccess accesses}; this is the default
+     */
+    @PublicAPI(usage = ACCESS)
+    FULL_ACCESSES(ClassReader.SKIP_FRAMES);
+
+    private final int parsingOptions;
+
+    ImportDetail(int parsingOptions) {
+        this.parsingOptions = parsingOptions;
+    }
+
+    int getParsingOptions() {
+        return parsingOptions;
+    }
+
+    ClassVisitor filter(ClassVisitor visitor) {
+        return visitor;
+    }
+}
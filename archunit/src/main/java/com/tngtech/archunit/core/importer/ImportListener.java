@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+import static com.tngtech.archunit.PublicAPI.Usage.INHERITANCE;
+
+/**
+ * Will be notified about the progress of every import of a {@link ClassFileImporter}, e.g. to find out where the time of
+ * an import is spent, or to track the performance of imports over time. Listeners can be added to a specific
+ * {@link ClassFileImporter} via {@link ClassFileImporter#withImportListener(ImportListener)}, or configured for all imports
+ * within {@value ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME}, as a comma separated list of fully qualified
+ * class names of implementations offering a default constructor, e.g.
+ * <pre><code>{@value ArchConfiguration#IMPORT_LISTENERS}=com.tngtech.archunit.core.importer.ImportSummaryLogger</code></pre>
+ * All events of one import are delivered from the thread that started the import, and each {@link Phase} of an import
+ * is started and finished at most once, in the declared order. Every phase that has been started will also be finished,
+ * and {@link #onImportFinished(ImportStatistics)} will be called at the end of every import, even if the import fails
+ * with an exception (in which case the statistics only cover the import up to the failure).
+ *
+ * @see ImportSummaryLogger
+ */
+@PublicAPI(usage = INHERITANCE)
+public interface ImportListener {
+    void onPhaseStarted(Phase phase);
+
+    void onPhaseFinished(Phase phase, long durationMillis);
+
+    void onImportFinished(ImportStatistics statistics);
+
+    @PublicAPI(usage = ACCESS)
+    enum Phase {
+        /**
+         * Determining the {@link Location locations} to import, e.g. scanning the classpath for the requested packages
+         */
+        LOCATE_CLASS_FILES,
+        /**
+         * Listing the class files of all {@link Location locations} (e.g. walking directories or JAR entries)
+         * and parsing them
+         */
+        READ_CLASS_FILES,
+        /**
+         * Resolving super types and access targets missing from the imported classes via the configured {@link ClassResolver}
+         */
+        RESOLVE_CLASSES,
+        /**
+         * Creating the graph of {@link JavaClass JavaClasses}, i.e. completing members, annotations, accesses and dependencies.
+         * Types referenced only by members (e.g. parameter types) can still be resolved during this phase.
+         */
+        CREATE_CLASS_GRAPH
+    }
+}
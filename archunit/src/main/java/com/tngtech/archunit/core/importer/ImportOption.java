@@ -32,13 +32,30 @@ import static com.tngtech.archunit.PublicAPI.Usage.INHERITANCE;
  * In other words, if you for example create a custom implementation of {@link ImportOption},
  * where you look at some test specific file, if a certain class should be imported, this will
  * cause wrong caching (i.e. the second run will assume, the classes are already cached, because it can't
- * be determined that the {@link ImportOption} would choose different classes to be selected for this run)
+ * be determined that the {@link ImportOption} would choose different classes to be selected for this run)<br><br>
+ * Implementations that can already rule out whole directories should also implement {@link PrunesDirectories},
+ * so class files within these directories aren't even visited.
  */
 @PublicAPI(usage = INHERITANCE)
 public interface ImportOption {
     boolean includes(Location location);
 
-    enum Predefined implements ImportOption {
+    /**
+     * An {@link ImportOption} that can decide for a whole directory, that no class file within this directory
+     * (or any sub directory) will be included. When importing from the file system, such directories are skipped
+     * completely, i.e. the option is evaluated once for the directory, instead of once for every class file within it.
+     */
+    @PublicAPI(usage = INHERITANCE)
+    interface PrunesDirectories extends ImportOption {
+        /**
+         * @param directory The {@link Location} of a directory, i.e. a URI ending with '/'
+         * @return false, if {@link #includes(Location)} would return false for every class file within {@code directory}
+         *         or any of its sub directories, true if any of these class files might be included
+         */
+        boolean mayIncludeClassesIn(Location directory);
+    }
+
+    enum Predefined implements PrunesDirectories {
         DO_NOT_INCLUDE_TESTS {
             private final DoNotIncludeTests doNotIncludeTests = new DoNotIncludeTests();
 
@@ -46,6 +63,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return doNotIncludeTests.includes(location);
             }
+
+            @Override
+            public boolean mayIncludeClassesIn(Location directory) {
+                return doNotIncludeTests.mayIncludeClassesIn(directory);
+            }
         },
         DO_NOT_INCLUDE_JARS {
             private final DoNotIncludeJars doNotIncludeJars = new DoNotIncludeJars();
@@ -54,6 +76,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return doNotIncludeJars.includes(location);
             }
+
+            @Override
+            public boolean mayIncludeClassesIn(Location directory) {
+                return doNotIncludeJars.mayIncludeClassesIn(directory);
+            }
         },
         /**
          * Since Java 9 there are JARs and JRTs, this will exclude both
@@ -65,6 +92,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return doNotIncludeArchives.includes(location);
             }
+
+            @Override
+            public boolean mayIncludeClassesIn(Location directory) {
+                return doNotIncludeArchives.mayIncludeClassesIn(directory);
+            }
         }
     }
 
@@ -74,7 +106,7 @@ public interface ImportOption {
      * Thus it is just a best guess, how tests can be identified,
      * in other environments, it might be necessary, to implement the correct {@link ImportOption} yourself.
      */
-    final class DoNotIncludeTests implements ImportOption {
+    final class DoNotIncludeTests implements PrunesDirectories {
         private static final Pattern MAVEN_PATTERN = Pattern.compile(".*/target/test-classes/.*");
         private static final Pattern GRADLE_PATTERN = Pattern.compile(".*/build/classes/([^/]+/)?test/.*");
         private static final Pattern INTELLIJ_PATTERN = Pattern.compile(".*/out/test/classes/.*");
@@ -83,6 +115,10 @@ public interface ImportOption {
 
         @Override
         public boolean includes(Location location) {
+            // all patterns contain 'test', so for most locations we can skip the (comparatively expensive) regex matching
+            if (!location.contains("test")) {
+                return true;
+            }
             for (Pattern pattern : EXCLUDED_PATTERN) {
                 if (location.matches(pattern)) {
                     return false;
@@ -90,19 +126,38 @@ public interface ImportOption {
             }
             return true;
         }
+
+        /**
+         * Each pattern ends with {@code /.*}, so if the directory (ending with '/') matches,
+         * so does every class file within it.
+         */
+        @Override
+        public boolean mayIncludeClassesIn(Location directory) {
+            return includes(directory);
+        }
     }
 
-    final class DoNotIncludeJars implements ImportOption {
+    final class DoNotIncludeJars implements PrunesDirectories {
         @Override
         public boolean includes(Location location) {
             return !location.isJar();
         }
+
+        @Override
+        public boolean mayIncludeClassesIn(Location directory) {
+            return !directory.isJar();
+        }
     }
 
-    final class DoNotIncludeArchives implements ImportOption {
+    final class DoNotIncludeArchives implements PrunesDirectories {
         @Override
         public boolean includes(Location location) {
             return !location.isArchive();
         }
+
+        @Override
+        public boolean mayIncludeClassesIn(Location directory) {
+            return !directory.isArchive();
+        }
     }
 }
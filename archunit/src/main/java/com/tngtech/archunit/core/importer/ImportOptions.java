@@ -15,6 +15,7 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Set;
 
@@ -58,4 +59,21 @@ public final class ImportOptions {
         }
         return true;
     }
+
+    /**
+     * @return false, if any of the options rules out all class files within the directory
+     *         (compare {@link ImportOption.PrunesDirectories})
+     */
+    boolean mayIncludeClassesIn(Path directory) {
+        Location location = null;
+        for (ImportOption option : options) {
+            if (option instanceof ImportOption.PrunesDirectories) {
+                location = location != null ? location : Location.of(directory);
+                if (!((ImportOption.PrunesDirectories) option).mayIncludeClassesIn(location)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.ImmutableList;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.ArchUnitException.ImportListenerConfigurationException;
+import com.tngtech.archunit.core.MayResolveTypesViaReflection;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ImportListener.Phase;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
+
+/**
+ * Records the {@link Phase phases} and statistics of one import and notifies the {@link ImportListener ImportListeners}.
+ * Class files might be read concurrently, thus all counters concerning reading class files are thread safe.
+ */
+class ImportProgress implements AutoCloseable {
+    private final List<ImportListener> listeners;
+    private final Map<Phase, Long> durationsMillis = new EnumMap<>(Phase.class);
+    private final AtomicLong nanosListingClassFiles = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private int numberOfImportedClasses;
+    private int numberOfResolvedClasses;
+    private int numberOfStubbedClasses;
+    private long numberOfAccesses;
+    private Phase currentPhase;
+    private long currentPhaseStartNanos;
+
+    private ImportProgress(List<ImportListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Finishes the current {@link Phase}, if any, and starts the given one
+     */
+    void enterPhase(Phase phase) {
+        finishCurrentPhase();
+        currentPhase = phase;
+        currentPhaseStartNanos = System.nanoTime();
+        for (ImportListener listener : listeners) {
+            listener.onPhaseStarted(phase);
+        }
+    }
+
+    private void finishCurrentPhase() {
+        if (currentPhase == null) {
+            return;
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - currentPhaseStartNanos);
+        durationsMillis.put(currentPhase, durationMillis);
+        for (ImportListener listener : listeners) {
+            listener.onPhaseFinished(currentPhase, durationMillis);
+        }
+        currentPhase = null;
+    }
+
+    /**
+     * Finishes the current {@link Phase}, if any, and the import itself
+     */
+    @Override
+    public void close() {
+        finishCurrentPhase();
+        ImportStatistics statistics = new ImportStatistics(durationsMillis, TimeUnit.NANOSECONDS.toMillis(nanosListingClassFiles.get()),
+                numberOfImportedClasses, numberOfResolvedClasses, numberOfStubbedClasses, numberOfAccesses, bytesRead.get());
+        for (ImportListener listener : listeners) {
+            listener.onImportFinished(statistics);
+        }
+    }
+
+    void recordImportedClasses(int numberOfImportedClasses, long numberOfAccesses) {
+        this.numberOfImportedClasses = numberOfImportedClasses;
+        this.numberOfAccesses = numberOfAccesses;
+    }
+
+    void recordStubbedClasses(int numberOfStubbedClasses) {
+        this.numberOfStubbedClasses = numberOfStubbedClasses;
+    }
+
+    /**
+     * @return The given class file locations, recording the time spent on listing them and the bytes read from each class file
+     */
+    Iterable<ClassFileLocation> observe(final Iterable<ClassFileLocation> locations) {
+        return new Iterable<ClassFileLocation>() {
+            @Override
+            public Iterator<ClassFileLocation> iterator() {
+                return new ObservingIterator(locations.iterator());
+            }
+        };
+    }
+
+    /**
+     * @return The given {@link ClassResolver}, counting the classes it successfully resolves
+     */
+    ClassResolver observe(final ClassResolver classResolver) {
+        return new ClassResolver.Prefetching() {
+            @Override
+            public void setClassUriImporter(ClassUriImporter classUriImporter) {
+                classResolver.setClassUriImporter(classUriImporter);
+            }
+
+            @Override
+            public void prefetch(Set<String> typeNames) {
+                if (classResolver instanceof ClassResolver.Prefetching) {
+                    ((ClassResolver.Prefetching) classResolver).prefetch(typeNames);
+                }
+            }
+
+            @Override
+            public Optional<JavaClass> tryResolve(String typeName) {
+                Optional<JavaClass> result = classResolver.tryResolve(typeName);
+                if (result.isPresent()) {
+                    numberOfResolvedClasses++;
+                }
+                return result;
+            }
+        };
+    }
+
+    static ImportProgress start(List<ImportListener> explicitListeners) {
+        List<ImportListener> listeners = new ArrayList<>(explicitListeners);
+        for (String listenerClassName : ArchConfiguration.get().getImportListeners()) {
+            listeners.add(instantiate(listenerClassName));
+        }
+        ImportProgress progress = new ImportProgress(ImmutableList.copyOf(listeners));
+        progress.enterPhase(Phase.LOCATE_CLASS_FILES);
+        return progress;
+    }
+
+    @MayResolveTypesViaReflection(reason = "Loading an ImportListener implementation is independent of the actual import")
+    private static ImportListener instantiate(String listenerClassName) {
+        try {
+            return (ImportListener) Class.forName(listenerClassName).getConstructor().newInstance();
+        } catch (Exception e) {
+            throw ImportListenerConfigurationException.onInstantiation(listenerClassName, e);
+        }
+    }
+
+    private class ObservingIterator implements Iterator<ClassFileLocation> {
+        private final Iterator<ClassFileLocation> delegate;
+
+        ObservingIterator(Iterator<ClassFileLocation> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            long start = System.nanoTime();
+            try {
+                return delegate.hasNext();
+            } finally {
+                nanosListingClassFiles.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public ClassFileLocation next() {
+            long start = System.nanoTime();
+            try {
+                return new CountingClassFileLocation(delegate.next());
+            } finally {
+                nanosListingClassFiles.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class CountingClassFileLocation implements ClassFileLocation {
+        private final ClassFileLocation delegate;
+
+        CountingClassFileLocation(ClassFileLocation delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return new FilterInputStream(delegate.openStream()) {
+                @Override
+                public int read() throws IOException {
+                    int result = super.read();
+                    if (result >= 0) {
+                        bytesRead.incrementAndGet();
+                    }
+                    return result;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int result = super.read(b, off, len);
+                    if (result > 0) {
+                        bytesRead.addAndGet(result);
+                    }
+                    return result;
+                }
+            };
+        }
+
+        @Override
+        public URI getUri() {
+            return delegate.getUri();
+        }
+    }
+}
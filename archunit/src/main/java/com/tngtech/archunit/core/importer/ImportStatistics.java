@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.core.importer.ImportListener.Phase;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+
+/**
+ * Summarizes a finished import, compare {@link ImportListener#onImportFinished(ImportStatistics)}.
+ */
+@PublicAPI(usage = ACCESS)
+public final class ImportStatistics {
+    private final Map<Phase, Long> durationsMillis;
+    private final long millisListingClassFiles;
+    private final int numberOfImportedClasses;
+    private final int numberOfResolvedClasses;
+    private final int numberOfStubbedClasses;
+    private final long numberOfAccesses;
+    private final long bytesRead;
+
+    ImportStatistics(Map<Phase, Long> durationsMillis, long millisListingClassFiles,
+            int numberOfImportedClasses, int numberOfResolvedClasses, int numberOfStubbedClasses, long numberOfAccesses, long bytesRead) {
+        this.durationsMillis = new EnumMap<>(durationsMillis);
+        this.millisListingClassFiles = millisListingClassFiles;
+        this.numberOfImportedClasses = numberOfImportedClasses;
+        this.numberOfResolvedClasses = numberOfResolvedClasses;
+        this.numberOfStubbedClasses = numberOfStubbedClasses;
+        this.numberOfAccesses = numberOfAccesses;
+        this.bytesRead = bytesRead;
+    }
+
+    /**
+     * @return The time spent within the given {@link Phase}, or 0 if the import did not pass this {@link Phase}
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getDurationMillis(Phase phase) {
+        Long result = durationsMillis.get(phase);
+        return result != null ? result : 0;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public long getTotalDurationMillis() {
+        long result = 0;
+        for (long duration : durationsMillis.values()) {
+            result += duration;
+        }
+        return result;
+    }
+
+    /**
+     * @return The part of {@link Phase#READ_CLASS_FILES} spent on listing class files (e.g. walking directories),
+     *         as opposed to parsing them
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getMillisListingClassFiles() {
+        return millisListingClassFiles;
+    }
+
+    /**
+     * @return The number of classes imported from the requested {@link Location locations}
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getNumberOfImportedClasses() {
+        return numberOfImportedClasses;
+    }
+
+    /**
+     * @return The number of additional classes successfully resolved by the configured {@link ClassResolver},
+     *         e.g. from the classpath
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getNumberOfResolvedClasses() {
+        return numberOfResolvedClasses;
+    }
+
+    /**
+     * @return The number of further classes referenced by the imported classes, that were neither imported nor resolved, but only
+     *         represented by stubs without any members. Either the configured {@link ClassResolver} could not resolve these classes,
+     *         or the resolution limits were exceeded (compare {@link com.tngtech.archunit.ArchConfiguration#getImportResolutionMaxDepth()}
+     *         and {@link com.tngtech.archunit.ArchConfiguration#getImportResolutionMaxClasses()}).
+     *         Primitive and array types are not counted.
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getNumberOfStubbedClasses() {
+        return numberOfStubbedClasses;
+    }
+
+    /**
+     * @return The number of distinct field accesses, method calls and constructor calls found within the imported classes
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getNumberOfAccesses() {
+        return numberOfAccesses;
+    }
+
+    /**
+     * @return The number of bytes read from class files of the requested {@link Location locations}. Class files
+     *         replayed from the import cache (compare {@link com.tngtech.archunit.ArchConfiguration#getImportCachePath()})
+     *         are not read and thus not counted.
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Imported %d classes (%d bytes) with %d accesses, resolved %d further classes and stubbed %d classes in %d ms "
+                        + "[locate class files: %d ms, read class files: %d ms (listing: %d ms), resolve classes: %d ms, create class graph: %d ms]",
+                numberOfImportedClasses, bytesRead, numberOfAccesses, numberOfResolvedClasses, numberOfStubbedClasses, getTotalDurationMillis(),
+                getDurationMillis(Phase.LOCATE_CLASS_FILES), getDurationMillis(Phase.READ_CLASS_FILES), millisListingClassFiles,
+                getDurationMillis(Phase.RESOLVE_CLASSES), getDurationMillis(Phase.CREATE_CLASS_GRAPH));
+    }
+}
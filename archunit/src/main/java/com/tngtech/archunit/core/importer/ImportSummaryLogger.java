@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.PublicAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+
+/**
+ * An {@link ImportListener} that logs the {@link ImportStatistics} of each import on level INFO,
+ * and the duration of each {@link ImportListener.Phase Phase} on level DEBUG.
+ */
+@PublicAPI(usage = ACCESS)
+public final class ImportSummaryLogger implements ImportListener {
+    private static final Logger LOG = LoggerFactory.getLogger(ImportSummaryLogger.class);
+
+    @Override
+    public void onPhaseStarted(Phase phase) {
+    }
+
+    @Override
+    public void onPhaseFinished(Phase phase, long durationMillis) {
+        LOG.debug("Finished import phase {} in {} ms", phase, durationMillis);
+    }
+
+    @Override
+    public void onImportFinished(ImportStatistics statistics) {
+        LOG.info(statistics.toString());
+    }
+}
@@ -16,11 +16,14 @@
 package com.tngtech.archunit.core.importer;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaModifier;
@@ -37,29 +40,108 @@ class ImportedClasses {
 
     private final ImmutableMap<String, JavaClass> directlyImported;
     private final Map<String, JavaClass> additionalClasses = new HashMap<>();
+    private final Map<String, Integer> depthsOfResolvedClasses = new HashMap<>();
     private final ClassResolver resolver;
+    private final ResolutionLimits limits;
+    private int depthOfDependencies = 1;
+    private int numberOfResolvedClasses;
+    private int numberOfStubbedClasses;
 
     ImportedClasses(Map<String, JavaClass> directlyImported, ClassResolver resolver) {
+        this(directlyImported, resolver, ResolutionLimits.unlimited());
+    }
+
+    ImportedClasses(Map<String, JavaClass> directlyImported, ClassResolver resolver, ResolutionLimits limits) {
         this.directlyImported = ImmutableMap.copyOf(directlyImported);
         this.resolver = resolver;
+        this.limits = limits;
     }
 
     Map<String, JavaClass> getDirectlyImported() {
         return directlyImported;
     }
 
+    /**
+     * Missing types requested from now on are considered dependencies of the given class, i.e. they are one step further
+     * away from the directly imported classes than {@code javaClass} (compare {@link ResolutionLimits})
+     */
+    void resolveDependenciesOf(JavaClass javaClass) {
+        int depth = depthOf(javaClass.getName());
+        depthOfDependencies = depth < Integer.MAX_VALUE ? depth + 1 : depth;
+    }
+
+    /**
+     * Missing types requested from now on are considered direct dependencies of the imported classes
+     */
+    void resolveDependenciesOfImportedClasses() {
+        depthOfDependencies = 1;
+    }
+
+    /**
+     * @return The number of steps {@code typeName} is away from the directly imported classes, where the super types of a class
+     *         count as the same step as the class itself (but at least as 1 step, if the class is directly imported)
+     */
+    int depthOf(String typeName) {
+        if (directlyImported.containsKey(typeName)) {
+            return 0;
+        }
+        Integer depth = depthsOfResolvedClasses.get(typeName);
+        return depth != null ? depth : Integer.MAX_VALUE;
+    }
+
     JavaClass getOrResolve(String typeName) {
-        ensurePresent(typeName);
+        ensurePresent(typeName, depthOfDependencies);
         return directlyImported.containsKey(typeName) ?
                 directlyImported.get(typeName) :
                 additionalClasses.get(typeName);
     }
 
-    void ensurePresent(String typeName) {
-        if (!contain(typeName)) {
-            Optional<JavaClass> resolved = resolver.tryResolve(typeName);
-            JavaClass newClass = resolved.isPresent() ? resolved.get() : simpleClassOf(typeName);
-            additionalClasses.put(typeName, newClass);
+    /**
+     * Like {@link #ensurePresent(String, int)} for each type name, but announces all missing types to the
+     * resolver at once first, if it supports this (compare {@link ClassResolver.Prefetching})
+     */
+    void ensurePresent(Set<String> typeNames, int depth) {
+        Set<String> missing = new HashSet<>();
+        for (String typeName : typeNames) {
+            if (!contain(typeName)) {
+                missing.add(typeName);
+            }
+        }
+        if (missing.size() > 1 && mayResolve(depth) && resolver instanceof ClassResolver.Prefetching) {
+            ((ClassResolver.Prefetching) resolver).prefetch(missing);
+        }
+        for (String typeName : missing) {
+            ensurePresent(typeName, depth);
+        }
+    }
+
+    /**
+     * Resolves {@code typeName}, if it is missing and the {@link ResolutionLimits} allow to resolve
+     * another class {@code depth} steps away from the directly imported classes. Otherwise the type is represented by a stub.
+     */
+    void ensurePresent(String typeName, int depth) {
+        if (contain(typeName)) {
+            return;
+        }
+        Optional<JavaClass> resolved = mayResolve(depth) ? resolver.tryResolve(typeName) : Optional.<JavaClass>absent();
+        if (resolved.isPresent()) {
+            additionalClasses.put(typeName, resolved.get());
+            depthsOfResolvedClasses.put(typeName, depth);
+            numberOfResolvedClasses++;
+        } else {
+            additionalClasses.put(typeName, simpleClassOf(typeName));
+            recordStub(typeName);
+        }
+    }
+
+    private boolean mayResolve(int depth) {
+        return depth <= limits.maxDepth && numberOfResolvedClasses < limits.maxClasses;
+    }
+
+    private void recordStub(String typeName) {
+        JavaType type = JavaType.From.name(typeName);
+        if (!type.isPrimitive() && !type.isArray()) {
+            numberOfStubbedClasses++;
         }
     }
 
@@ -67,6 +149,14 @@ class ImportedClasses {
         return directlyImported.containsKey(name) || additionalClasses.containsKey(name);
     }
 
+    /**
+     * @return The number of missing types (besides primitives and arrays) that were only represented by stubs, either because
+     *         the {@link ClassResolver} could not resolve them, or because the {@link ResolutionLimits} were exceeded
+     */
+    int getNumberOfStubbedClasses() {
+        return numberOfStubbedClasses;
+    }
+
     Map<String, JavaClass> getAll() {
         return ImmutableMap.<String, JavaClass>builder()
                 .putAll(directlyImported)
@@ -96,4 +186,28 @@ class ImportedClasses {
         }
     }
 
+    /**
+     * Limits how many missing types are resolved via the {@link ClassResolver}, compare
+     * {@link ArchConfiguration#getImportResolutionMaxDepth()} and {@link ArchConfiguration#getImportResolutionMaxClasses()}.
+     */
+    static class ResolutionLimits {
+        private final int maxDepth;
+        private final int maxClasses;
+
+        private ResolutionLimits(int maxDepth, int maxClasses) {
+            this.maxDepth = maxDepth;
+            this.maxClasses = maxClasses;
+        }
+
+        static ResolutionLimits unlimited() {
+            return new ResolutionLimits(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        }
+
+        static ResolutionLimits fromConfiguration() {
+            ArchConfiguration configuration = ArchConfiguration.get();
+            return new ResolutionLimits(
+                    configuration.getImportResolutionMaxDepth().or(Integer.MAX_VALUE),
+                    configuration.getImportResolutionMaxClasses().or(Integer.MAX_VALUE));
+        }
+    }
 }
@@ -22,7 +22,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.primitives.Booleans;
 import com.google.common.primitives.Bytes;
@@ -71,17 +70,19 @@ class JavaClassProcessor extends ClassVisitor {
     private final SourceDescriptor sourceDescriptor;
     private final DeclarationHandler declarationHandler;
     private final AccessHandler accessHandler;
+    private final SymbolTable symbols;
     private String className;
 
-    JavaClassProcessor(SourceDescriptor sourceDescriptor, DeclarationHandler declarationHandler) {
-        this(sourceDescriptor, declarationHandler, NO_OP);
+    JavaClassProcessor(SourceDescriptor sourceDescriptor, DeclarationHandler declarationHandler, SymbolTable symbols) {
+        this(sourceDescriptor, declarationHandler, NO_OP, symbols);
     }
 
-    JavaClassProcessor(SourceDescriptor sourceDescriptor, DeclarationHandler declarationHandler, AccessHandler accessHandler) {
+    JavaClassProcessor(SourceDescriptor sourceDescriptor, DeclarationHandler declarationHandler, AccessHandler accessHandler, SymbolTable symbols) {
         super(ASM_API_VERSION);
         this.sourceDescriptor = sourceDescriptor;
         this.declarationHandler = declarationHandler;
         this.accessHandler = accessHandler;
+        this.symbols = symbols;
     }
 
     Optional<JavaClass> createJavaClass() {
@@ -98,7 +99,7 @@ class JavaClassProcessor extends ClassVisitor {
     @Override
     public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
         LOG.debug("Analyzing class '{}'", name);
-        JavaType javaType = JavaTypeImporter.createFromAsmObjectTypeName(name);
+        JavaType javaType = symbols.objectType(name);
         if (alreadyImported(javaType)) {
             return;
         }
@@ -192,7 +193,7 @@ class JavaClassProcessor extends ClassVisitor {
     }
 
     private String createTypeName(String name) {
-        return name.replace("/", ".");
+        return symbols.objectType(name).getName();
     }
 
     @Override
@@ -202,10 +203,10 @@ class JavaClassProcessor extends ClassVisitor {
         }
 
         DomainBuilders.JavaFieldBuilder fieldBuilder = new DomainBuilders.JavaFieldBuilder()
-                .withName(name)
-                .withType(JavaTypeImporter.importAsmType(desc))
+                .withName(symbols.intern(name))
+                .withType(symbols.type(desc))
                 .withModifiers(JavaModifier.getModifiersForField(access))
-                .withDescriptor(desc);
+                .withDescriptor(symbols.intern(desc));
         declarationHandler.onDeclaredField(fieldBuilder);
         return new FieldProcessor(fieldBuilder);
     }
@@ -217,16 +218,17 @@ class JavaClassProcessor extends ClassVisitor {
         }
 
         LOG.trace("Analyzing method {}.{}:{}", className, name, desc);
-        List<JavaType> parameters = JavaTypeImporter.importAsmMethodArgumentTypes(desc);
-        accessHandler.setContext(new CodeUnit(name, namesOf(parameters), className));
+        SymbolTable.MethodDescriptor descriptor = symbols.methodDescriptor(desc);
+        String methodName = symbols.intern(name);
+        accessHandler.setContext(new CodeUnit(methodName, descriptor.getDescriptor(), descriptor.getParameterTypeNames(), className));
 
         DomainBuilders.JavaCodeUnitBuilder<?, ?> codeUnitBuilder = addCodeUnitBuilder(name);
         codeUnitBuilder
-                .withName(name)
+                .withName(methodName)
                 .withModifiers(JavaModifier.getModifiersForMethod(access))
-                .withParameters(parameters)
-                .withReturnType(JavaTypeImporter.importAsmMethodReturnType(desc))
-                .withDescriptor(desc)
+                .withParameters(descriptor.getParameterTypes())
+                .withReturnType(descriptor.getReturnType())
+                .withDescriptor(descriptor.getDescriptor())
                 .withThrowsClause(typesFrom(exceptions));
 
         return new MethodProcessor(className, accessHandler, codeUnitBuilder);
@@ -236,7 +238,7 @@ class JavaClassProcessor extends ClassVisitor {
         List<JavaType> result = new ArrayList<>();
         if (throwsDeclarations != null) {
             for (String throwsDeclaration : throwsDeclarations) {
-                result.add(JavaTypeImporter.createFromAsmObjectTypeName(throwsDeclaration));
+                result.add(symbols.objectType(throwsDeclaration));
             }
         }
         return result;
@@ -277,14 +279,6 @@ class JavaClassProcessor extends ClassVisitor {
         LOG.trace("Done analyzing {}", className);
     }
 
-    private static List<String> namesOf(Iterable<JavaType> types) {
-        ImmutableList.Builder<String> result = ImmutableList.builder();
-        for (JavaType type : types) {
-            result.add(type.getName());
-        }
-        return result.build();
-    }
-
     private static class MethodProcessor extends MethodVisitor {
         private final String declaringClassName;
         private final AccessHandler accessHandler;
@@ -43,6 +43,7 @@ import com.google.common.collect.ImmutableList;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.ArchUnitException.LocationException;
 import com.tngtech.archunit.base.ArchUnitException.UnsupportedUriSchemeException;
+import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.InitialConfiguration;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -88,6 +89,14 @@ public abstract class Location {
 
     abstract ClassFileSource asClassFileSource(ImportOptions importOptions);
 
+    /**
+     * Like {@link #asClassFileSource(ImportOptions)}, but any archive is mapped within the given {@link MappedJarFile.Scope},
+     * i.e. it will be unmapped once the scope is closed
+     */
+    ClassFileSource asClassFileSource(ImportOptions importOptions, MappedJarFile.Scope mappedJarFiles) {
+        return asClassFileSource(importOptions);
+    }
+
     /**
      * @param part A part to check the respective location {@link URI} for
      * @return true, if the respective {@link URI} contains the given part
@@ -269,11 +278,17 @@ public abstract class Location {
             return URI.create(String.format("%s:%s!/", SCHEME, uri));
         }
 
+        // NOTE: Without the scope of an import the archive will only be unmapped by the garbage collector
         @Override
         ClassFileSource asClassFileSource(ImportOptions importOptions) {
+            return asClassFileSource(importOptions, new MappedJarFile.Scope());
+        }
+
+        @Override
+        ClassFileSource asClassFileSource(ImportOptions importOptions, MappedJarFile.Scope mappedJarFiles) {
             try {
                 String[] parts = uri.toString().split("!/", 2);
-                return new ClassFileSource.FromJar(new URL(parts[0] + "!/"), parts[1], importOptions);
+                return new ClassFileSource.FromJar(new URL(parts[0] + "!/"), parts[1], importOptions, mappedJarFiles);
             } catch (IOException e) {
                 throw new LocationException(e);
             }
@@ -306,8 +321,15 @@ public abstract class Location {
         }
 
         private Iterable<NormalizedResourceName> iterateJarFile(File fileOfJar) {
-            ImmutableList.Builder<NormalizedResourceName> result = ImmutableList.builder();
             String prefix = uri.toString().replaceAll(".*!/", "");
+            Optional<MappedJarFile> mappedJarFile = MappedJarFile.tryOpen(fileOfJar);
+            if (mappedJarFile.isPresent()) {
+                try (MappedJarFile jarFile = mappedJarFile.get()) {
+                    return readEntries(prefix, jarFile);
+                }
+            }
+
+            ImmutableList.Builder<NormalizedResourceName> result = ImmutableList.builder();
             try (JarFile jarFile = new JarFile(fileOfJar)) {
                 result.addAll(readEntries(prefix, jarFile));
             } catch (IOException e) {
@@ -316,6 +338,16 @@ public abstract class Location {
             return result.build();
         }
 
+        private List<NormalizedResourceName> readEntries(String prefix, MappedJarFile jarFile) {
+            List<NormalizedResourceName> result = new ArrayList<>();
+            for (MappedJarFile.Entry entry : jarFile.getEntries()) {
+                if (entry.getName().startsWith(prefix) && entry.getName().endsWith(".class")) {
+                    result.add(NormalizedResourceName.from(entry.getName()));
+                }
+            }
+            return result;
+        }
+
         private List<NormalizedResourceName> readEntries(String prefix, JarFile jarFile) {
             List<NormalizedResourceName> result = new ArrayList<>();
             Enumeration<JarEntry> entries = jarFile.entries();
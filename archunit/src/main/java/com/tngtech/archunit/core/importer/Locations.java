@@ -97,11 +97,7 @@ public final class Locations {
      */
     @PublicAPI(usage = ACCESS)
     public static Set<Location> inClassPath() {
-        ImmutableSet.Builder<Location> result = ImmutableSet.builder();
-        for (URL url : locationResolver.get().resolveClassPath()) {
-            result.add(Location.of(url));
-        }
-        return result.build();
+        return PackageLocationIndex.of(locationResolver.get().resolveClassPath()).getLocations();
     }
 
     private static String asResourceName(String qualifiedName) {
@@ -122,12 +118,10 @@ public final class Locations {
      * does not behave correctly for older Java versions,
      * because the folder entry {@code /java/io} is missing from {@code rt.jar}.
      */
-    private static Collection<Location> getResourceLocations(ClassLoader loader, NormalizedResourceName resourceName, Iterable<URL> classpath) {
+    private static Collection<Location> getResourceLocations(ClassLoader loader, NormalizedResourceName resourceName, UrlSource classpath) {
         Set<Location> result = newHashSet(Locations.of(getResources(loader, resourceName)));
-        for (Location location : Locations.of(classpath)) {
-            if (containsEntryWithPrefix(location, resourceName)) {
-                result.add(location.append(resourceName.toString()));
-            }
+        for (Location location : PackageLocationIndex.of(classpath).getLocationsContaining(resourceName)) {
+            result.add(location.append(resourceName.toString()));
         }
         return result;
     }
@@ -139,13 +133,4 @@ public final class Locations {
             throw new LocationException(e);
         }
     }
-
-    private static boolean containsEntryWithPrefix(Location location, NormalizedResourceName searchedJarEntryPrefix) {
-        for (NormalizedResourceName name : location.iterateEntries()) {
-            if (name.startsWith(searchedJarEntryPrefix)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.MappedByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The JDK only unmaps a {@link MappedByteBuffer} once it is garbage collected, which might take arbitrarily long
+ * (and on Windows keeps the mapped file locked until then). Thus mapped buffers are unmapped explicitly, as soon as
+ * the import they belong to is finished, using the (internal) cleaner of the JDK, if it is accessible.
+ * Otherwise unmapping is left to the garbage collector.<br>
+ * NOTE: Accessing a buffer (or any view on it) after it has been unmapped crashes the JVM, thus a buffer must only be unmapped,
+ * once it is guaranteed to never be accessed again.
+ */
+class MappedBuffers {
+    private static final Logger LOG = LoggerFactory.getLogger(MappedBuffers.class);
+
+    private static final Unmapper unmapper = Unmapper.create();
+
+    private MappedBuffers() {
+    }
+
+    static void unmap(MappedByteBuffer buffer) {
+        unmapper.unmap(buffer);
+    }
+
+    private abstract static class Unmapper {
+        abstract void unmap(MappedByteBuffer buffer);
+
+        static Unmapper create() {
+            try {
+                return new ViaUnsafe();
+            } catch (Exception unsafeNotAvailable) {
+                LOG.debug("Can't unmap buffers explicitly, mapped buffers will be unmapped by the garbage collector", unsafeNotAvailable);
+                return new ViaGarbageCollection();
+            }
+        }
+    }
+
+    // NOTE: Unsafe.invokeCleaner(ByteBuffer) exists since Java 9, before that we have to invoke the cleaner of the buffer directly
+    private static class ViaUnsafe extends Unmapper {
+        private final Object unsafe;
+        private final Method invokeCleaner;
+
+        ViaUnsafe() throws Exception {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = getInvokeCleanerMethod(unsafeClass);
+        }
+
+        private static Method getInvokeCleanerMethod(Class<?> unsafeClass) {
+            try {
+                return unsafeClass.getMethod("invokeCleaner", java.nio.ByteBuffer.class);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        @Override
+        void unmap(MappedByteBuffer buffer) {
+            try {
+                if (invokeCleaner != null) {
+                    invokeCleaner.invoke(unsafe, buffer);
+                } else {
+                    Method getCleaner = buffer.getClass().getMethod("cleaner");
+                    getCleaner.setAccessible(true);
+                    Object cleaner = getCleaner.invoke(buffer);
+                    if (cleaner != null) {
+                        cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    }
+                }
+            } catch (Exception e) {
+                LOG.debug("Couldn't unmap buffer explicitly, leaving it to the garbage collector", e);
+            }
+        }
+    }
+
+    private static class ViaGarbageCollection extends Unmapper {
+        @Override
+        void unmap(MappedByteBuffer buffer) {
+        }
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import com.google.common.collect.ImmutableList;
+import com.tngtech.archunit.base.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads JAR archives by memory mapping the whole file once and reading the central directory directly,
+ * instead of opening a {@link JarFile} (and thus a file handle and native inflater) for every
+ * consumer. Once mapped, no file handle is kept open. Entries are streamed directly from the mapped file, i.e. stored entries
+ * are not copied at all, and deflated entries are inflated straight into the buffer of the reader, using an {@link Inflater}
+ * and input buffer that are reused by the current thread.<br>
+ * An archive stays mapped until it is {@link #close() closed}. Archives read by an import are mapped within the {@link Scope}
+ * of the import, i.e. each import maps the current state of the file, and unmaps it again once the import is finished,
+ * so the file is not kept locked (e.g. on Windows) until the mapping happens to be garbage collected.<br>
+ * Archives this reader does not support (e.g. ZIP64 archives) are reported as absent, so callers can fall back
+ * to the JDK implementation.
+ */
+class MappedJarFile implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(MappedJarFile.class);
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int ZIP64_MARKER = 0xFFFFFFFF;
+    private static final int ZIP64_ENTRY_COUNT_MARKER = 0xFFFF;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private final File file;
+    private final MappedByteBuffer content;
+    private final List<Entry> entries;
+    private volatile boolean closed;
+
+    private MappedJarFile(File file, MappedByteBuffer content) throws ZipException {
+        this.file = file;
+        this.content = content;
+        this.entries = readCentralDirectory();
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    private List<Entry> readCentralDirectory() throws ZipException {
+        int endOfCentralDirectory = findEndOfCentralDirectory();
+        int entryCount = content.getShort(endOfCentralDirectory + 10) & 0xFFFF;
+        int centralDirectoryOffset = content.getInt(endOfCentralDirectory + 16);
+        if (entryCount == ZIP64_ENTRY_COUNT_MARKER || centralDirectoryOffset == ZIP64_MARKER) {
+            throw new ZipException("ZIP64 archives are not supported");
+        }
+
+        ImmutableList.Builder<Entry> result = ImmutableList.builder();
+        int position = centralDirectoryOffset;
+        for (int i = 0; i < entryCount; i++) {
+            checkSignature(position, CENTRAL_DIRECTORY_HEADER_SIGNATURE);
+            int method = content.getShort(position + 10) & 0xFFFF;
+            int compressedSize = content.getInt(position + 20);
+            int uncompressedSize = content.getInt(position + 24);
+            int nameLength = content.getShort(position + 28) & 0xFFFF;
+            int extraLength = content.getShort(position + 30) & 0xFFFF;
+            int commentLength = content.getShort(position + 32) & 0xFFFF;
+            int localHeaderOffset = content.getInt(position + 42);
+            if (compressedSize == ZIP64_MARKER || uncompressedSize == ZIP64_MARKER || localHeaderOffset == ZIP64_MARKER) {
+                throw new ZipException("ZIP64 archives are not supported");
+            }
+            String name = readString(position + CENTRAL_DIRECTORY_HEADER_SIZE, nameLength);
+            result.add(new Entry(name, method, compressedSize, uncompressedSize, localHeaderOffset));
+            position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return result.build();
+    }
+
+    private int findEndOfCentralDirectory() throws ZipException {
+        int lowestPossiblePosition = Math.max(0, content.limit() - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_SIZE);
+        for (int position = content.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; position >= lowestPossiblePosition; position--) {
+            if (content.getInt(position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                return position;
+            }
+        }
+        throw new ZipException("End of central directory not found in " + file);
+    }
+
+    private void checkSignature(int position, int expectedSignature) throws ZipException {
+        if (content.getInt(position) != expectedSignature) {
+            throw new ZipException(String.format("Unexpected signature at offset %d of %s", position, file));
+        }
+    }
+
+    private String readString(int position, int length) {
+        byte[] bytes = new byte[length];
+        read(position, bytes, length);
+        return new String(bytes, UTF_8);
+    }
+
+    private void read(int position, byte[] target, int length) {
+        ByteBuffer view = content.duplicate();
+        view.position(position);
+        view.get(target, 0, length);
+    }
+
+    /**
+     * @return A stream reading the entry directly from the mapped file. The stream must be closed, before this archive is closed.
+     */
+    InputStream openStream(Entry entry) throws IOException {
+        if (closed) {
+            throw new IOException(String.format("Archive %s has already been closed", file));
+        }
+        checkSignature(entry.localHeaderOffset, LOCAL_FILE_HEADER_SIGNATURE);
+        int nameLength = content.getShort(entry.localHeaderOffset + 26) & 0xFFFF;
+        int extraLength = content.getShort(entry.localHeaderOffset + 28) & 0xFFFF;
+        int dataOffset = entry.localHeaderOffset + LOCAL_FILE_HEADER_SIZE + nameLength + extraLength;
+
+        if (entry.method == STORED) {
+            return new StoredEntryInputStream(viewOf(dataOffset, entry.uncompressedSize));
+        } else if (entry.method == DEFLATED) {
+            return new DeflatedEntryInputStream(viewOf(dataOffset, entry.compressedSize), entry);
+        } else {
+            throw new ZipException(String.format("Unsupported compression method %d of entry %s in %s", entry.method, entry.name, file));
+        }
+    }
+
+    private ByteBuffer viewOf(int position, int length) {
+        ByteBuffer view = content.duplicate();
+        view.position(position);
+        view.limit(position + length);
+        return view;
+    }
+
+    /**
+     * Unmaps this archive. No entry must be read afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        MappedBuffers.unmap(content);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{file=" + file + '}';
+    }
+
+    /**
+     * Maps the current state of the file. The caller is responsible to {@link #close()} the archive (or to leave unmapping it
+     * to the garbage collector), compare {@link Scope#tryOpen(File)} for archives read by an import.
+     */
+    static Optional<MappedJarFile> tryOpen(File file) {
+        if (!file.isFile()) {
+            return Optional.absent();
+        }
+        try {
+            return Optional.of(map(file));
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Couldn't map JAR file {}, falling back to {}", file, JarFile.class.getName(), e);
+            return Optional.absent();
+        }
+    }
+
+    private static MappedJarFile map(File file) throws IOException {
+        MappedByteBuffer content;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new ZipException("Archive is too large to be mapped: " + file);
+            }
+            content = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            content.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        try {
+            return new MappedJarFile(file, content);
+        } catch (ZipException | RuntimeException e) {
+            MappedBuffers.unmap(content);
+            throw e;
+        }
+    }
+
+    /**
+     * The archives mapped by one import. Each archive is mapped once per scope, and all archives are unmapped,
+     * once the scope is closed, i.e. once the import is finished. Scopes are meant to be used by the thread running the import,
+     * while the entries of the archives can be read by any thread.
+     */
+    static class Scope implements Closeable {
+        private final Map<File, Optional<MappedJarFile>> archives = new HashMap<>();
+
+        Optional<MappedJarFile> tryOpen(File file) {
+            Optional<MappedJarFile> result = archives.get(file);
+            if (result == null) {
+                result = MappedJarFile.tryOpen(file);
+                archives.put(file, result);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            for (Optional<MappedJarFile> archive : archives.values()) {
+                if (archive.isPresent()) {
+                    archive.get().close();
+                }
+            }
+            archives.clear();
+        }
+    }
+
+    private static class StoredEntryInputStream extends InputStream {
+        private final ByteBuffer data;
+
+        StoredEntryInputStream(ByteBuffer data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read() {
+            return data.hasRemaining() ? data.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!data.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, data.remaining());
+            data.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return data.remaining();
+        }
+    }
+
+    /**
+     * Inflates an entry directly into the buffer passed to {@link #read(byte[], int, int)}. The compressed data is passed
+     * to the {@link Inflater} in chunks via an input buffer, both of which are borrowed from the current thread
+     * and returned on {@link #close()}.
+     */
+    private class DeflatedEntryInputStream extends InputStream {
+        private final ByteBuffer data;
+        private final Entry entry;
+        private final Inflation inflation = Inflation.acquire();
+        private int inflated = 0;
+        private boolean released = false;
+
+        DeflatedEntryInputStream(ByteBuffer data, Entry entry) {
+            this.data = data;
+            this.entry = entry;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] singleByte = new byte[1];
+            return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            Inflater inflater = inflation.inflater;
+            try {
+                while (!inflater.finished()) {
+                    if (inflater.needsInput()) {
+                        if (!data.hasRemaining()) {
+                            break;
+                        }
+                        int count = Math.min(data.remaining(), inflation.input.length);
+                        data.get(inflation.input, 0, count);
+                        inflater.setInput(inflation.input, 0, count);
+                    }
+                    int count = inflater.inflate(target, offset, length);
+                    if (count > 0) {
+                        inflated += count;
+                        return count;
+                    }
+                    if (inflater.needsDictionary()) {
+                        break;
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new ZipException(String.format("Entry %s in %s is corrupt: %s", entry.name, file, e.getMessage()));
+            }
+            if (inflated != entry.uncompressedSize) {
+                throw new ZipException(String.format("Entry %s in %s is truncated", entry.name, file));
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                inflation.release();
+            }
+        }
+    }
+
+    private static class Inflation {
+        private static final ThreadLocal<Inflation> pool = new ThreadLocal<>();
+
+        private final Inflater inflater = new Inflater(true);
+        private final byte[] input = new byte[8192];
+
+        // NOTE: If the inflation of this thread is in use (i.e. several entries are read at the same time), a fresh one is created
+        static Inflation acquire() {
+            Inflation result = pool.get();
+            pool.remove();
+            if (result == null) {
+                result = new Inflation();
+            }
+            result.inflater.reset();
+            return result;
+        }
+
+        void release() {
+            if (pool.get() == null) {
+                pool.set(this);
+            } else {
+                inflater.end();
+            }
+        }
+    }
+
+    static class Entry {
+        private final String name;
+        private final int method;
+        private final int compressedSize;
+        private final int uncompressedSize;
+        private final int localHeaderOffset;
+
+        private Entry(String name, int method, int compressedSize, int uncompressedSize, int localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.uncompressedSize = uncompressedSize;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{name='" + name + "'}";
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Table;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaConstructor;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaMember;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+
+import static com.google.common.collect.Iterables.concat;
+
+/**
+ * Indexes the members of each class by name and descriptor, so the callers and targets of access records
+ * can be looked up directly, instead of comparing them to every member of the respective class (hierarchy)
+ * over and over again. Lookups are cached per {@link CodeUnit} and {@link TargetInfo}, since these are shared
+ * by all records of the import (compare {@link SymbolTable}).<br>
+ * Classes that are only resolved after the index was built are indexed on first access.
+ */
+class MemberIndex {
+    private final Map<JavaClass, Table<String, String, JavaMember>> membersByOwner = new HashMap<>();
+    private final Map<CodeUnit, JavaCodeUnit> callers = new HashMap<>();
+    private final Map<TargetInfo, Set<? extends JavaMember>> targetCandidates = new HashMap<>();
+
+    void index(JavaClass javaClass) {
+        Table<String, String, JavaMember> members = HashBasedTable.create();
+        for (JavaMember member : concat(javaClass.getFields(), javaClass.getCodeUnits())) {
+            members.put(member.getName(), member.getDescriptor(), member);
+        }
+        membersByOwner.put(javaClass, members);
+    }
+
+    private Table<String, String, JavaMember> membersOf(JavaClass javaClass) {
+        if (!membersByOwner.containsKey(javaClass)) {
+            index(javaClass);
+        }
+        return membersByOwner.get(javaClass);
+    }
+
+    JavaCodeUnit getCaller(CodeUnit caller, ImportedClasses classes) {
+        JavaCodeUnit result = callers.get(caller);
+        if (result == null) {
+            JavaMember member = membersOf(classes.getOrResolve(caller.getDeclaringClassName())).get(caller.getName(), caller.getDescriptor());
+            if (!(member instanceof JavaCodeUnit)) {
+                throw new IllegalStateException("Never found a " + JavaCodeUnit.class.getSimpleName() +
+                        " that matches supposed caller " + caller);
+            }
+            result = (JavaCodeUnit) member;
+            callers.put(caller, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return All fields of the class hierarchy of {@code targetOwner} with the name and descriptor of {@code target},
+     *         i.e. the subset of {@link JavaClass#getAllFields()} that could possibly match {@code target}
+     */
+    Set<JavaField> getFieldCandidates(JavaClass targetOwner, TargetInfo target) {
+        return getCandidates(concat(targetOwner.getClassHierarchy(), targetOwner.getAllInterfaces()), target, JavaField.class);
+    }
+
+    /**
+     * @return All methods of the class hierarchy of {@code targetOwner} with the name and descriptor of {@code target},
+     *         i.e. the subset of {@link JavaClass#getAllMethods()} that could possibly match {@code target}
+     */
+    Set<JavaMethod> getMethodCandidates(JavaClass targetOwner, TargetInfo target) {
+        return getCandidates(concat(targetOwner.getClassHierarchy(), targetOwner.getAllInterfaces()), target, JavaMethod.class);
+    }
+
+    /**
+     * @return All constructors of the class hierarchy of {@code targetOwner} with the descriptor of {@code target},
+     *         i.e. the subset of {@link JavaClass#getAllConstructors()} that could possibly match {@code target}
+     */
+    Set<JavaConstructor> getConstructorCandidates(JavaClass targetOwner, TargetInfo target) {
+        return getCandidates(targetOwner.getClassHierarchy(), target, JavaConstructor.class);
+    }
+
+    @SuppressWarnings("unchecked") // we only put candidates of the type matching the respective type of TargetInfo
+    private <T extends JavaMember> Set<T> getCandidates(Iterable<JavaClass> owners, TargetInfo target, Class<T> memberType) {
+        Set<T> result = (Set<T>) targetCandidates.get(target);
+        if (result == null) {
+            ImmutableSet.Builder<T> candidates = ImmutableSet.builder();
+            for (JavaClass owner : owners) {
+                JavaMember member = membersOf(owner).get(target.name, target.desc);
+                if (memberType.isInstance(member)) {
+                    candidates.add(memberType.cast(member));
+                }
+            }
+            result = candidates.build();
+            targetCandidates.put(target, result);
+        }
+        return result;
+    }
+}
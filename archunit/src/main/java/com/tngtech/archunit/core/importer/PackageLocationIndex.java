@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+
+import static com.google.common.collect.Iterables.isEmpty;
+import static com.tngtech.archunit.core.importer.Location.toURI;
+
+/**
+ * Knows for every package, which {@link Location locations} of the classpath contain class files of this package
+ * (or any sub package). The index is created lazily on the first lookup, by iterating the entries of each archive
+ * only once, and is shared JVM-wide, until the URLs of the classpath change.<br>
+ * Directories of the classpath are never indexed, but searched again on every lookup, since their contents
+ * might change at any time (e.g. by recompiling classes while the JVM keeps running).
+ */
+class PackageLocationIndex {
+    private static volatile PackageLocationIndex current;
+
+    private final List<URI> classpath;
+    private final Set<Location> locations;
+    private final Set<Location> archives;
+    private final Set<Location> directories;
+    private final Supplier<SetMultimap<NormalizedResourceName, Location>> locationsByPackage;
+
+    private PackageLocationIndex(List<URI> classpath, final Set<Location> locations) {
+        this.classpath = classpath;
+        this.locations = locations;
+        this.archives = filterArchives(locations, true);
+        this.directories = filterArchives(locations, false);
+        this.locationsByPackage = Suppliers.memoize(new Supplier<SetMultimap<NormalizedResourceName, Location>>() {
+            @Override
+            public SetMultimap<NormalizedResourceName, Location> get() {
+                return indexByPackage(archives);
+            }
+        });
+    }
+
+    private static Set<Location> filterArchives(Set<Location> locations, boolean archive) {
+        ImmutableSet.Builder<Location> result = ImmutableSet.builder();
+        for (Location location : locations) {
+            if (location.isArchive() == archive) {
+                result.add(location);
+            }
+        }
+        return result.build();
+    }
+
+    private static SetMultimap<NormalizedResourceName, Location> indexByPackage(Set<Location> locations) {
+        ImmutableSetMultimap.Builder<NormalizedResourceName, Location> result = ImmutableSetMultimap.builder();
+        for (Location location : locations) {
+            for (String packageName : packagesOf(location)) {
+                result.put(NormalizedResourceName.from(packageName), location);
+            }
+        }
+        return result.build();
+    }
+
+    private static Set<String> packagesOf(Location location) {
+        Set<String> result = new HashSet<>();
+        for (NormalizedResourceName entry : location.iterateEntries()) {
+            String path = entry.toString();
+            int end = path.lastIndexOf('/');
+            // if a package has been added before, so have all its parent packages
+            while (end > 0 && result.add(path.substring(0, end))) {
+                end = path.lastIndexOf('/', end - 1);
+            }
+        }
+        return result;
+    }
+
+    Set<Location> getLocations() {
+        return locations;
+    }
+
+    /**
+     * @return All {@link Location locations} containing the given resource, i.e. the class file itself
+     *         or any class file within the package or a sub package
+     */
+    Set<Location> getLocationsContaining(NormalizedResourceName resourceName) {
+        ImmutableSet.Builder<Location> result = ImmutableSet.builder();
+        result.addAll(getArchivesContaining(resourceName));
+        for (Location directory : directories) {
+            if (containsClassFilesWithin(directory, resourceName)) {
+                result.add(directory);
+            }
+        }
+        return result.build();
+    }
+
+    private Set<Location> getArchivesContaining(NormalizedResourceName resourceName) {
+        if (!resourceName.belongsToClassFile()) {
+            return locationsByPackage.get().get(resourceName);
+        }
+
+        String path = resourceName.toString();
+        Iterable<Location> candidates = path.contains("/")
+                ? locationsByPackage.get().get(NormalizedResourceName.from(path.substring(0, path.lastIndexOf('/'))))
+                : archives;
+        ImmutableSet.Builder<Location> result = ImmutableSet.builder();
+        for (Location candidate : candidates) {
+            if (containsEntry(candidate, resourceName)) {
+                result.add(candidate);
+            }
+        }
+        return result.build();
+    }
+
+    // NOTE: We must not use the (cached) entries of the directory here, but only walk the file tree beneath the resource itself
+    private boolean containsClassFilesWithin(Location directory, NormalizedResourceName resourceName) {
+        return !isEmpty(directory.append(resourceName.toString()).iterateEntriesInternal());
+    }
+
+    private boolean containsEntry(Location location, NormalizedResourceName resourceName) {
+        for (NormalizedResourceName name : location.iterateEntries()) {
+            if (name.equals(resourceName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static PackageLocationIndex of(UrlSource classpath) {
+        List<URI> classpathUris = urisOf(classpath);
+        PackageLocationIndex index = current;
+        if (index == null || !index.classpath.equals(classpathUris)) {
+            index = new PackageLocationIndex(classpathUris, Locations.of(classpath));
+            current = index;
+        }
+        return index;
+    }
+
+    private static List<URI> urisOf(UrlSource classpath) {
+        ImmutableList.Builder<URI> result = ImmutableList.builder();
+        for (URL url : classpath) {
+            result.add(toURI(url));
+        }
+        return result.build();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.AbstractIterator;
+import com.tngtech.archunit.base.ArchUnitException.ClassImportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+/**
+ * Walks a file tree concurrently, with one {@link RecursiveAction} per directory, and streams the files found
+ * while the walk is still running. Thus, class files can already be parsed while further directories are still
+ * being listed, which pays off for large trees on slow (e.g. network backed) file systems.<br>
+ * Like {@link Files#walkFileTree(Path, java.nio.file.FileVisitor)}, symbolic links are not followed.<br>
+ * Each walk uses its own pool of daemon threads, which is shut down as soon as the file tree has been listed completely,
+ * no matter if the files found are ever consumed.
+ */
+class ParallelFileTreeWalk implements Iterable<Path> {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelFileTreeWalk.class);
+
+    private final Path root;
+    private final Visitor visitor;
+    private final int parallelism;
+
+    ParallelFileTreeWalk(Path root, Visitor visitor, int parallelism) {
+        this.root = root;
+        this.visitor = visitor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Starts a new walk of the file tree, i.e. each iterator lists the file tree anew.
+     */
+    @Override
+    public Iterator<Path> iterator() {
+        return new Walk(root, visitor, parallelism);
+    }
+
+    interface Visitor {
+        /**
+         * @return true, if the files within {@code directory} (and its sub directories) should be visited
+         */
+        boolean shouldEnter(Path directory);
+
+        /**
+         * @return true, if {@code file} should be part of the result
+         */
+        boolean shouldInclude(Path file);
+    }
+
+    private static class Walk extends AbstractIterator<Path> {
+        // marks the end of the walk within the queue, compared by identity
+        private static final Path END = Paths.get("");
+        private static final ForkJoinWorkerThreadFactory DAEMON_THREAD_FACTORY = new ForkJoinWorkerThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("archunit-file-tree-walk-" + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+
+        private final Visitor visitor;
+        private final BlockingQueue<Path> found = new LinkedBlockingQueue<>();
+        private final ForkJoinPool pool;
+
+        Walk(Path root, Visitor visitor, int parallelism) {
+            this.visitor = visitor;
+            pool = new ForkJoinPool(parallelism, DAEMON_THREAD_FACTORY, null, false);
+            pool.execute(new WalkRoot(root));
+        }
+
+        @Override
+        protected Path computeNext() {
+            Path next = take();
+            if (next == END) {
+                return endOfData();
+            }
+            return next;
+        }
+
+        private Path take() {
+            try {
+                return found.take();
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new ClassImportException("Interrupted while listing class files", e);
+            }
+        }
+
+        private class WalkRoot extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final Path root;
+
+            WalkRoot(Path root) {
+                this.root = root;
+            }
+
+            @Override
+            protected void compute() {
+                try {
+                    if (!Files.isDirectory(root)) {
+                        addIfIncluded(root);
+                    } else if (visitor.shouldEnter(root)) {
+                        new WalkDirectory(root).invoke();
+                    }
+                } catch (RuntimeException e) {
+                    LOG.warn(String.format("Couldn't list all files within %s", root), e);
+                } finally {
+                    // all other actions have been joined by now, thus the pool is not needed anymore
+                    pool.shutdown();
+                    found.add(END);
+                }
+            }
+        }
+
+        private class WalkDirectory extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final Path directory;
+
+            WalkDirectory(Path directory) {
+                this.directory = directory;
+            }
+
+            @Override
+            protected void compute() {
+                List<WalkDirectory> subDirectories = new ArrayList<>();
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                    for (Path entry : entries) {
+                        if (!Files.isDirectory(entry, NOFOLLOW_LINKS)) {
+                            addIfIncluded(entry);
+                        } else if (visitor.shouldEnter(entry)) {
+                            subDirectories.add(new WalkDirectory(entry));
+                        }
+                    }
+                } catch (IOException e) {
+                    LOG.warn(String.format("Couldn't list files within %s", directory), e);
+                }
+                invokeAll(subDirectories);
+            }
+        }
+
+        private void addIfIncluded(Path file) {
+            if (visitor.shouldInclude(file)) {
+                found.add(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaClasses;
+
+/**
+ * The {@link RecordedClassFile recordings} of the class files parsed by one import, kept in memory together with the imported
+ * {@link JavaClasses}, so a {@link ClassFileImporter#reimport(JavaClasses, java.util.Collection) reimport} of these classes
+ * only needs to parse the class files that have changed, and can replay all other class files. Class files are only recorded,
+ * if requested via {@link ClassFileImporter#withReimportSupport()}.<br>
+ * The recordings are only softly reachable, i.e. the garbage collector will drop them under memory pressure,
+ * in which case a reimport will simply parse all class files again.
+ */
+class ParsedClassFiles {
+    private static final Cache<JavaClasses, ParsedClassFiles> parsedClassFilesByImport =
+            CacheBuilder.newBuilder().weakKeys().softValues().build();
+
+    private final ImportDetail importDetail;
+    private final ConcurrentMap<URI, byte[]> recordings = new ConcurrentHashMap<>();
+
+    ParsedClassFiles(ImportDetail importDetail) {
+        this.importDetail = importDetail;
+    }
+
+    Optional<byte[]> get(URI uri) {
+        return Optional.fromNullable(recordings.get(uri));
+    }
+
+    void add(URI uri, byte[] recording) {
+        recordings.put(uri, recording);
+    }
+
+    /**
+     * Keeps these recordings as long as the given result of the import is reachable (and there is no memory pressure)
+     */
+    void keepFor(JavaClasses imported) {
+        parsedClassFilesByImport.put(imported, this);
+    }
+
+    /**
+     * @return The class files parsed by the import of {@code imported} with the given {@link ImportDetail}, if they are still available
+     */
+    static Optional<ParsedClassFiles> of(JavaClasses imported, ImportDetail importDetail) {
+        ParsedClassFiles result = parsedClassFilesByImport.getIfPresent(imported);
+        return result != null && result.importDetail == importDetail
+                ? Optional.of(result)
+                : Optional.<ParsedClassFiles>absent();
+    }
+}
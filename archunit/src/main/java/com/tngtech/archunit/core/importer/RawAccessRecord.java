@@ -27,7 +27,6 @@ import com.google.common.collect.Sets;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
-import com.tngtech.archunit.core.domain.JavaCodeUnit;
 import com.tngtech.archunit.core.domain.JavaConstructor;
 import com.tngtech.archunit.core.domain.JavaField;
 import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
@@ -85,21 +84,27 @@ class RawAccessRecord {
 
     static class CodeUnit {
         private final String name;
+        private final String descriptor;
         private final List<String> parameters;
         private final String declaringClassName;
         private final int hashCode;
 
-        CodeUnit(String name, List<String> parameters, String declaringClassName) {
+        CodeUnit(String name, String descriptor, List<String> parameters, String declaringClassName) {
             this.name = name;
+            this.descriptor = descriptor;
             this.parameters = parameters;
             this.declaringClassName = declaringClassName;
-            this.hashCode = Objects.hash(name, parameters, declaringClassName);
+            this.hashCode = Objects.hash(name, descriptor, declaringClassName);
         }
 
         public String getName() {
             return name;
         }
 
+        String getDescriptor() {
+            return descriptor;
+        }
+
         public List<String> getParameters() {
             return parameters;
         }
@@ -124,7 +129,7 @@ class RawAccessRecord {
 
             CodeUnit codeUnit = (CodeUnit) o;
             return Objects.equals(name, codeUnit.name) &&
-                    Objects.equals(parameters, codeUnit.parameters) &&
+                    Objects.equals(descriptor, codeUnit.descriptor) &&
                     Objects.equals(declaringClassName, codeUnit.declaringClassName);
         }
 
@@ -132,16 +137,11 @@ class RawAccessRecord {
         public String toString() {
             return "CodeUnit{" +
                     "name='" + name + '\'' +
+                    ", descriptor='" + descriptor + '\'' +
                     ", parameters=" + parameters +
                     ", declaringClassName='" + declaringClassName + '\'' +
                     '}';
         }
-
-        public boolean is(JavaCodeUnit method) {
-            return getName().equals(method.getName())
-                    && getParameters().equals(method.getRawParameterTypes().getNames())
-                    && getDeclaringClassName().equals(method.getOwner().getName());
-        }
     }
 
     abstract static class TargetInfo {
@@ -149,8 +149,8 @@ class RawAccessRecord {
         final String name;
         final String desc;
 
-        TargetInfo(String owner, String name, String desc) {
-            this.owner = JavaTypeImporter.createFromAsmObjectTypeName(owner);
+        TargetInfo(JavaType owner, String name, String desc) {
+            this.owner = owner;
             this.name = name;
             this.desc = desc;
         }
@@ -357,7 +357,7 @@ class RawAccessRecord {
     }
 
     static class FieldTargetInfo extends TargetInfo {
-        FieldTargetInfo(String owner, String name, String desc) {
+        FieldTargetInfo(JavaType owner, String name, String desc) {
             super(owner, name, desc);
         }
 
@@ -369,7 +369,7 @@ class RawAccessRecord {
     }
 
     static class ConstructorTargetInfo extends TargetInfo {
-        ConstructorTargetInfo(String owner, String name, String desc) {
+        ConstructorTargetInfo(JavaType owner, String name, String desc) {
             super(owner, name, desc);
         }
 
@@ -385,7 +385,7 @@ class RawAccessRecord {
     }
 
     static class MethodTargetInfo extends TargetInfo {
-        MethodTargetInfo(String owner, String name, String desc) {
+        MethodTargetInfo(JavaType owner, String name, String desc) {
             super(owner, name, desc);
         }
 
@@ -0,0 +1,727 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.ArchUnitException.ClassImportException;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Stores {@link RawAccessRecord RawAccessRecords} column wise, i.e. each record is just a row of ints within some arrays,
+ * where callers and targets are referenced by their id within the {@link SymbolTable} of the import. Duplicate records
+ * are ignored, like for a {@link Set}.<br>
+ * Iterating creates the {@link RawAccessRecord} objects one at a time, so only the records
+ * currently processed are ever held as objects.<br>
+ * If the records exceed their {@link HeapBudget}, they are sorted and spilled to temporary files. Iterating then merges
+ * these sorted runs, i.e. the records are streamed back from disk grouped by caller.<br>
+ * {@link #groupedByCaller()} streams the records one caller at a time, so at most the records of a single caller are held as objects.
+ */
+abstract class RawAccessRecords<RECORD extends RawAccessRecord> implements Iterable<RECORD> {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int NO_ROW = -1;
+    private static final int MAX_RUNS = 64;
+    // 3 ints plus extra value per row, plus two slots of the hash table
+    static final int ESTIMATED_BYTES_PER_ROW = 24;
+
+    final SymbolTable symbols;
+    private final HeapBudget heapBudget;
+    private final List<Run> runs = new ArrayList<>();
+    private final BitSet spilledTargetIds = new BitSet();
+    private long spilledRows = 0;
+    private int[] callers = new int[INITIAL_CAPACITY];
+    private int[] targets = new int[INITIAL_CAPACITY];
+    private int[] lineNumbers = new int[INITIAL_CAPACITY];
+    private int size = 0;
+    // open addressing hash table of row indexes, to detect duplicates without any objects per row
+    private int[] rowsByHash = emptyTable(2 * INITIAL_CAPACITY);
+
+    private RawAccessRecords(SymbolTable symbols, HeapBudget heapBudget) {
+        this.symbols = symbols;
+        this.heapBudget = heapBudget;
+        heapBudget.register(this);
+    }
+
+    /**
+     * @return The number of records, where records spilled to different runs are not checked for duplicates
+     */
+    long size() {
+        return spilledRows + size;
+    }
+
+    /**
+     * @return The ids of all targets accessed by any of these records
+     */
+    BitSet getTargetIds() {
+        BitSet result = (BitSet) spilledTargetIds.clone();
+        for (int row = 0; row < size; row++) {
+            result.set(targets[row]);
+        }
+        return result;
+    }
+
+    /**
+     * Adds all records of {@code other}, that have a caller declared in one of the given classes
+     */
+    void addAllWithCallerIn(Set<String> callerClassNames, RawAccessRecords<RECORD> other) {
+        checkArgument(other.runs.isEmpty(), "Can only add records that have not been spilled to disk");
+        int lastCaller = NO_ROW;
+        boolean lastCallerMatches = false;
+        for (int row = 0; row < other.size; row++) {
+            int caller = other.callers[row];
+            if (caller != lastCaller) {
+                lastCaller = caller;
+                lastCallerMatches = callerClassNames.contains(symbols.codeUnit(caller).getDeclaringClassName());
+            }
+            if (lastCallerMatches) {
+                add(caller, other.targets[row], other.lineNumbers[row], other.extraValueOf(row));
+            }
+        }
+    }
+
+    void add(int caller, int target, int lineNumber, int extraValue) {
+        int slot = findSlot(caller, target, lineNumber, extraValue);
+        if (rowsByHash[slot] != NO_ROW) {
+            return;
+        }
+        ensureCapacity(size + 1);
+        callers[size] = caller;
+        targets[size] = target;
+        lineNumbers[size] = lineNumber;
+        setExtraValue(size, extraValue);
+        rowsByHash[slot] = size;
+        size++;
+        if (2 * size > rowsByHash.length) {
+            rehash(2 * rowsByHash.length);
+        }
+        heapBudget.allocate(ESTIMATED_BYTES_PER_ROW);
+    }
+
+    private int findSlot(int caller, int target, int lineNumber, int extraValue) {
+        int mask = rowsByHash.length - 1;
+        int slot = hash(caller, target, lineNumber, extraValue) & mask;
+        while (rowsByHash[slot] != NO_ROW && !rowEquals(rowsByHash[slot], caller, target, lineNumber, extraValue)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean rowEquals(int row, int caller, int target, int lineNumber, int extraValue) {
+        return callers[row] == caller && targets[row] == target && lineNumbers[row] == lineNumber && extraValueOf(row) == extraValue;
+    }
+
+    private static int hash(int caller, int target, int lineNumber, int extraValue) {
+        int result = caller;
+        result = 31 * result + target;
+        result = 31 * result + lineNumber;
+        result = 31 * result + extraValue;
+        return result ^ (result >>> 16);
+    }
+
+    private void rehash(int newTableSize) {
+        rowsByHash = emptyTable(newTableSize);
+        int mask = newTableSize - 1;
+        for (int row = 0; row < size; row++) {
+            int slot = hash(callers[row], targets[row], lineNumbers[row], extraValueOf(row)) & mask;
+            while (rowsByHash[slot] != NO_ROW) {
+                slot = (slot + 1) & mask;
+            }
+            rowsByHash[slot] = row;
+        }
+    }
+
+    private static int[] emptyTable(int size) {
+        int[] result = new int[size];
+        Arrays.fill(result, NO_ROW);
+        return result;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > callers.length) {
+            int newLength = Math.max(capacity, callers.length + (callers.length >> 1));
+            callers = Arrays.copyOf(callers, newLength);
+            targets = Arrays.copyOf(targets, newLength);
+            lineNumbers = Arrays.copyOf(lineNumbers, newLength);
+            growExtraValues(newLength);
+        }
+    }
+
+    private void spill() {
+        if (size == 0) {
+            return;
+        }
+        sortRows();
+        runs.add(Run.write(rowsInOrder()));
+        for (int row = 0; row < size; row++) {
+            spilledTargetIds.set(targets[row]);
+        }
+        spilledRows += size;
+        clearRows();
+        if (runs.size() > MAX_RUNS) {
+            Run merged = Run.write(new MergedRuns(runs));
+            deleteRuns();
+            runs.add(merged);
+            spilledRows = merged.numberOfRows;
+        }
+    }
+
+    // NOTE: Records are spilled exactly when the heap is scarce, thus we sort the columns in place (heap sort),
+    //       instead of allocating anything per row. The hash table is invalid afterwards, but will be cleared anyway.
+    private void sortRows() {
+        for (int root = size / 2 - 1; root >= 0; root--) {
+            siftDown(root, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swapRows(0, end);
+            siftDown(0, end);
+        }
+    }
+
+    private void siftDown(int root, int end) {
+        int child;
+        while ((child = 2 * root + 1) < end) {
+            if (child + 1 < end && compareRows(child, child + 1) < 0) {
+                child++;
+            }
+            if (compareRows(root, child) >= 0) {
+                return;
+            }
+            swapRows(root, child);
+            root = child;
+        }
+    }
+
+    private int compareRows(int first, int second) {
+        int result = Integer.compare(callers[first], callers[second]);
+        if (result == 0) {
+            result = Integer.compare(targets[first], targets[second]);
+        }
+        if (result == 0) {
+            result = Integer.compare(lineNumbers[first], lineNumbers[second]);
+        }
+        return result != 0 ? result : Integer.compare(extraValueOf(first), extraValueOf(second));
+    }
+
+    private void swapRows(int first, int second) {
+        swap(callers, first, second);
+        swap(targets, first, second);
+        swap(lineNumbers, first, second);
+        int extraValue = extraValueOf(first);
+        setExtraValue(first, extraValueOf(second));
+        setExtraValue(second, extraValue);
+    }
+
+    private static void swap(int[] column, int first, int second) {
+        int value = column[first];
+        column[first] = column[second];
+        column[second] = value;
+    }
+
+    /**
+     * @return The rows in their current order, where each row is written into the same array, i.e. the rows must be consumed immediately
+     */
+    private Iterator<int[]> rowsInOrder() {
+        return new Iterator<int[]>() {
+            private final int[] current = new int[4];
+            private int row = 0;
+
+            @Override
+            public boolean hasNext() {
+                return row < size;
+            }
+
+            @Override
+            public int[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                current[0] = callers[row];
+                current[1] = targets[row];
+                current[2] = lineNumbers[row];
+                current[3] = extraValueOf(row);
+                row++;
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private void clearRows() {
+        heapBudget.release((long) size * ESTIMATED_BYTES_PER_ROW);
+        callers = new int[INITIAL_CAPACITY];
+        targets = new int[INITIAL_CAPACITY];
+        lineNumbers = new int[INITIAL_CAPACITY];
+        resetExtraValues(INITIAL_CAPACITY);
+        rowsByHash = emptyTable(2 * INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    private void deleteRuns() {
+        for (Run run : runs) {
+            run.delete();
+        }
+        runs.clear();
+    }
+
+    /**
+     * Releases all records, including any files they have been spilled to. The records must not be used afterwards.
+     */
+    void discard() {
+        heapBudget.unregister(this);
+        deleteRuns();
+        spilledTargetIds.clear();
+        spilledRows = 0;
+        clearRows();
+    }
+
+    abstract int extraValueOf(int row);
+
+    abstract void setExtraValue(int row, int value);
+
+    abstract void growExtraValues(int newLength);
+
+    abstract void resetExtraValues(int length);
+
+    abstract RECORD createRecord(CodeUnit caller, TargetInfo target, int lineNumber, int extraValue);
+
+    @Override
+    public Iterator<RECORD> iterator() {
+        if (!runs.isEmpty()) {
+            spill();
+            return streamFromDisk();
+        }
+        return new Iterator<RECORD>() {
+            private int row = 0;
+
+            @Override
+            public boolean hasNext() {
+                return row < size;
+            }
+
+            @Override
+            public RECORD next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                RECORD result = createRecord(symbols.codeUnit(callers[row]), symbols.target(targets[row]), lineNumbers[row], extraValueOf(row));
+                row++;
+                return result;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * @return The records grouped by caller in order of the caller ids, where each group is only created once iterated.
+     *         This sorts the records that have not been spilled in place, i.e. the order of {@link #iterator()} changes as well.
+     */
+    Iterable<List<RECORD>> groupedByCaller() {
+        return new Iterable<List<RECORD>>() {
+            @Override
+            public Iterator<List<RECORD>> iterator() {
+                return new GroupsByCaller(sortedRows());
+            }
+        };
+    }
+
+    private Iterator<int[]> sortedRows() {
+        if (!runs.isEmpty()) {
+            spill();
+            return new MergedRuns(runs);
+        }
+        sortRows();
+        rehash(rowsByHash.length);
+        return rowsInOrder();
+    }
+
+    private Iterator<RECORD> streamFromDisk() {
+        final MergedRuns rows = new MergedRuns(runs);
+        return new Iterator<RECORD>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public RECORD next() {
+                int[] row = rows.next();
+                return createRecord(symbols.codeUnit(row[0]), symbols.target(row[1]), row[2], row[3]);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private class GroupsByCaller implements Iterator<List<RECORD>> {
+        private final Iterator<int[]> sortedRows;
+        private int[] nextRow;
+
+        GroupsByCaller(Iterator<int[]> sortedRows) {
+            this.sortedRows = sortedRows;
+            nextRow = nextRowOrNull();
+        }
+
+        // NOTE: The rows of the records in memory are all written into the same array, thus the values must be read before advancing
+        private int[] nextRowOrNull() {
+            return sortedRows.hasNext() ? sortedRows.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextRow != null;
+        }
+
+        @Override
+        public List<RECORD> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int callerId = nextRow[0];
+            CodeUnit caller = symbols.codeUnit(callerId);
+            List<RECORD> group = new ArrayList<>();
+            while (nextRow != null && nextRow[0] == callerId) {
+                group.add(createRecord(caller, symbols.target(nextRow[1]), nextRow[2], nextRow[3]));
+                nextRow = nextRowOrNull();
+            }
+            return group;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Limits the estimated heap used by all {@link RawAccessRecords} of one import. Once the budget is exceeded,
+     * all records sharing it are spilled to disk, which releases the heap of their rows again.
+     */
+    static class HeapBudget {
+        private final long maxBytes;
+        private final List<RawAccessRecords<?>> records = new ArrayList<>();
+        private long allocatedBytes = 0;
+        private long peakAllocatedBytes = 0;
+
+        HeapBudget(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private void register(RawAccessRecords<?> rawAccessRecords) {
+            records.add(rawAccessRecords);
+        }
+
+        private void unregister(RawAccessRecords<?> rawAccessRecords) {
+            records.remove(rawAccessRecords);
+        }
+
+        private void allocate(long bytes) {
+            allocatedBytes += bytes;
+            peakAllocatedBytes = Math.max(peakAllocatedBytes, allocatedBytes);
+            if (allocatedBytes > maxBytes) {
+                for (RawAccessRecords<?> rawAccessRecords : records) {
+                    rawAccessRecords.spill();
+                }
+            }
+        }
+
+        private void release(long bytes) {
+            allocatedBytes -= bytes;
+        }
+
+        /**
+         * @return The maximum of the estimated bytes ever held at the same time, which exceeds the budget at most by a single row,
+         *         since all records are spilled as soon as the budget is exceeded
+         */
+        long getPeakAllocatedBytes() {
+            return peakAllocatedBytes;
+        }
+
+        static HeapBudget unlimited() {
+            return new HeapBudget(Long.MAX_VALUE);
+        }
+
+        static HeapBudget fromConfiguration() {
+            Optional<Integer> megabytes = ArchConfiguration.get().getImportAccessRecordsHeapBudgetInMegabytes();
+            return megabytes.isPresent() ? new HeapBudget(megabytes.get() * 1024L * 1024L) : unlimited();
+        }
+    }
+
+    /**
+     * Rows sorted by caller, target, line number and extra value, written to a temporary file
+     */
+    private static class Run {
+        private static final Comparator<int[]> ROW_ORDER = new Comparator<int[]>() {
+            @Override
+            public int compare(int[] first, int[] second) {
+                for (int i = 0; i < first.length; i++) {
+                    int result = Integer.compare(first[i], second[i]);
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+                return 0;
+            }
+        };
+
+        private final Path file;
+        private final long numberOfRows;
+
+        private Run(Path file, long numberOfRows) {
+            this.file = file;
+            this.numberOfRows = numberOfRows;
+        }
+
+        Reader open() {
+            try {
+                return new Reader(new DataInputStream(new BufferedInputStream(Files.newInputStream(file))), numberOfRows);
+            } catch (IOException e) {
+                throw new ClassImportException("Couldn't read access records spilled to " + file, e);
+            }
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+
+        static Run write(Iterator<int[]> sortedRows) {
+            Path file = null;
+            try {
+                file = Files.createTempFile("archunit-access-records", ".run");
+                long numberOfRows = 0;
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                    while (sortedRows.hasNext()) {
+                        for (int value : sortedRows.next()) {
+                            out.writeInt(value);
+                        }
+                        numberOfRows++;
+                    }
+                }
+                return new Run(file, numberOfRows);
+            } catch (IOException e) {
+                throw new ClassImportException("Couldn't spill access records to " + (file != null ? file : "temporary file"), e);
+            }
+        }
+
+        private static class Reader {
+            private final DataInputStream in;
+            private long remainingRows;
+            private int[] current;
+
+            private Reader(DataInputStream in, long numberOfRows) {
+                this.in = in;
+                this.remainingRows = numberOfRows;
+            }
+
+            /**
+             * @return true, if there was another row, which is now {@link #current}, false if the run is exhausted and closed
+             */
+            boolean advance() {
+                try {
+                    if (remainingRows == 0) {
+                        in.close();
+                        return false;
+                    }
+                    current = new int[]{in.readInt(), in.readInt(), in.readInt(), in.readInt()};
+                    remainingRows--;
+                    return true;
+                } catch (IOException e) {
+                    throw new ClassImportException("Couldn't read spilled access records", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges sorted {@link Run runs} into one sorted sequence of rows without duplicates
+     */
+    private static class MergedRuns implements Iterator<int[]> {
+        private final PriorityQueue<Run.Reader> readers = new PriorityQueue<>(MAX_RUNS + 1, new Comparator<Run.Reader>() {
+            @Override
+            public int compare(Run.Reader first, Run.Reader second) {
+                return Run.ROW_ORDER.compare(first.current, second.current);
+            }
+        });
+        private int[] next;
+
+        MergedRuns(List<Run> runs) {
+            for (Run run : runs) {
+                Run.Reader reader = run.open();
+                if (reader.advance()) {
+                    readers.add(reader);
+                }
+            }
+            next = nextDistinctRow(null);
+        }
+
+        private int[] nextDistinctRow(int[] previous) {
+            while (!readers.isEmpty()) {
+                Run.Reader reader = readers.poll();
+                int[] row = reader.current;
+                if (reader.advance()) {
+                    readers.add(reader);
+                }
+                if (previous == null || Run.ROW_ORDER.compare(previous, row) != 0) {
+                    return row;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public int[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int[] result = next;
+            next = nextDistinctRow(result);
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static class ForCalls extends RawAccessRecords<RawAccessRecord> {
+        ForCalls(SymbolTable symbols) {
+            this(symbols, HeapBudget.unlimited());
+        }
+
+        ForCalls(SymbolTable symbols, HeapBudget heapBudget) {
+            super(symbols, heapBudget);
+        }
+
+        void add(CodeUnit caller, TargetInfo target, int lineNumber) {
+            add(symbols.codeUnitId(caller), symbols.targetId(target), lineNumber, 0);
+        }
+
+        @Override
+        int extraValueOf(int row) {
+            return 0;
+        }
+
+        @Override
+        void setExtraValue(int row, int value) {
+        }
+
+        @Override
+        void growExtraValues(int newLength) {
+        }
+
+        @Override
+        void resetExtraValues(int length) {
+        }
+
+        @Override
+        RawAccessRecord createRecord(CodeUnit caller, TargetInfo target, int lineNumber, int extraValue) {
+            return new RawAccessRecord.Builder()
+                    .withCaller(caller)
+                    .withTarget(target)
+                    .withLineNumber(lineNumber)
+                    .build();
+        }
+    }
+
+    static class ForFields extends RawAccessRecords<RawAccessRecord.ForField> {
+        private static final AccessType[] ACCESS_TYPES = AccessType.values();
+
+        private byte[] accessTypes = new byte[INITIAL_CAPACITY];
+
+        ForFields(SymbolTable symbols) {
+            this(symbols, HeapBudget.unlimited());
+        }
+
+        ForFields(SymbolTable symbols, HeapBudget heapBudget) {
+            super(symbols, heapBudget);
+        }
+
+        void add(CodeUnit caller, TargetInfo target, int lineNumber, AccessType accessType) {
+            add(symbols.codeUnitId(caller), symbols.targetId(target), lineNumber, accessType.ordinal());
+        }
+
+        @Override
+        int extraValueOf(int row) {
+            return accessTypes[row];
+        }
+
+        @Override
+        void setExtraValue(int row, int value) {
+            accessTypes[row] = (byte) value;
+        }
+
+        @Override
+        void growExtraValues(int newLength) {
+            accessTypes = Arrays.copyOf(accessTypes, newLength);
+        }
+
+        @Override
+        void resetExtraValues(int length) {
+            accessTypes = new byte[length];
+        }
+
+        @Override
+        RawAccessRecord.ForField createRecord(CodeUnit caller, TargetInfo target, int lineNumber, int extraValue) {
+            return new RawAccessRecord.ForField.Builder()
+                    .withAccessType(ACCESS_TYPES[extraValue])
+                    .withCaller(caller)
+                    .withTarget(target)
+                    .withLineNumber(lineNumber)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,871 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import static com.tngtech.archunit.core.importer.ClassFileProcessor.ASM_API_VERSION;
+
+/**
+ * A compact binary recording of those ASM visits of a class file, that are relevant to the import
+ * (compare {@link JavaClassProcessor}). Replaying a recording is equivalent to letting a {@link org.objectweb.asm.ClassReader}
+ * visit the original class file, but does not need to parse the class file again.
+ */
+class RecordedClassFile {
+    static final int FORMAT_VERSION = 1;
+
+    private static final byte END = 0;
+    private static final byte CLASS = 1;
+    private static final byte SOURCE = 2;
+    private static final byte INNER_CLASS = 3;
+    private static final byte OUTER_CLASS = 4;
+    private static final byte ANNOTATION = 5;
+    private static final byte FIELD = 6;
+    private static final byte METHOD = 7;
+    private static final byte CODE = 8;
+    private static final byte LINE_NUMBER = 9;
+    private static final byte FIELD_INSN = 10;
+    private static final byte METHOD_INSN = 11;
+    private static final byte ANNOTATION_DEFAULT = 12;
+    private static final byte VALUE = 13;
+    private static final byte ENUM = 14;
+    private static final byte ARRAY = 15;
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte BYTE_VALUE = 1;
+    private static final byte BOOLEAN_VALUE = 2;
+    private static final byte CHAR_VALUE = 3;
+    private static final byte SHORT_VALUE = 4;
+    private static final byte INT_VALUE = 5;
+    private static final byte LONG_VALUE = 6;
+    private static final byte FLOAT_VALUE = 7;
+    private static final byte DOUBLE_VALUE = 8;
+    private static final byte STRING_VALUE = 9;
+    private static final byte TYPE_VALUE = 10;
+    private static final byte BYTE_ARRAY_VALUE = 11;
+    private static final byte BOOLEAN_ARRAY_VALUE = 12;
+    private static final byte CHAR_ARRAY_VALUE = 13;
+    private static final byte SHORT_ARRAY_VALUE = 14;
+    private static final byte INT_ARRAY_VALUE = 15;
+    private static final byte LONG_ARRAY_VALUE = 16;
+    private static final byte FLOAT_ARRAY_VALUE = 17;
+    private static final byte DOUBLE_ARRAY_VALUE = 18;
+
+    private RecordedClassFile() {
+    }
+
+    /**
+     * @param delegate A visitor that all visits will be forwarded to while recording
+     * @return A visitor that records all relevant visits, e.g. to pass to {@link org.objectweb.asm.ClassReader#accept(ClassVisitor, int)}
+     */
+    static Recorder recordWhileVisiting(ClassVisitor delegate) {
+        return new Recorder(delegate);
+    }
+
+    static void replay(byte[] recording, ClassVisitor visitor) {
+        new Replay(ByteStreams.newDataInput(recording)).replayClass(visitor);
+    }
+
+    /**
+     * @param recording The recording as the remaining bytes of the buffer; the buffer will not be modified
+     */
+    static void replay(ByteBuffer recording, ClassVisitor visitor) {
+        new Replay(new ByteBufferDataInput(recording.slice())).replayClass(visitor);
+    }
+
+    static class Recorder extends ClassVisitor {
+        private final Output out = new Output();
+
+        private Recorder(ClassVisitor delegate) {
+            super(ASM_API_VERSION, delegate);
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            out.writeByte(CLASS);
+            out.writeInt(version);
+            out.writeInt(access);
+            out.writeString(name);
+            out.writeString(signature);
+            out.writeString(superName);
+            out.writeStrings(interfaces);
+            super.visit(version, access, name, signature, superName, interfaces);
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+            out.writeByte(SOURCE);
+            out.writeString(source);
+            out.writeString(debug);
+            super.visitSource(source, debug);
+        }
+
+        @Override
+        public void visitInnerClass(String name, String outerName, String innerName, int access) {
+            out.writeByte(INNER_CLASS);
+            out.writeString(name);
+            out.writeString(outerName);
+            out.writeString(innerName);
+            out.writeInt(access);
+            super.visitInnerClass(name, outerName, innerName, access);
+        }
+
+        @Override
+        public void visitOuterClass(String owner, String name, String descriptor) {
+            out.writeByte(OUTER_CLASS);
+            out.writeString(owner);
+            out.writeString(name);
+            out.writeString(descriptor);
+            super.visitOuterClass(owner, name, descriptor);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            out.writeByte(ANNOTATION);
+            out.writeString(descriptor);
+            out.writeBoolean(visible);
+            return new AnnotationRecorder(out, super.visitAnnotation(descriptor, visible));
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            out.writeByte(FIELD);
+            out.writeInt(access);
+            out.writeString(name);
+            out.writeString(descriptor);
+            out.writeString(signature);
+            out.writeValue(value);
+            return new FieldRecorder(out, super.visitField(access, name, descriptor, signature, value));
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            out.writeByte(METHOD);
+            out.writeInt(access);
+            out.writeString(name);
+            out.writeString(descriptor);
+            out.writeString(signature);
+            out.writeStrings(exceptions);
+            return new MethodRecorder(out, super.visitMethod(access, name, descriptor, signature, exceptions));
+        }
+
+        @Override
+        public void visitEnd() {
+            out.writeByte(END);
+            super.visitEnd();
+        }
+    }
+
+    private static class FieldRecorder extends FieldVisitor {
+        private final Output out;
+
+        FieldRecorder(Output out, FieldVisitor delegate) {
+            super(ASM_API_VERSION, delegate);
+            this.out = out;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            out.writeByte(ANNOTATION);
+            out.writeString(descriptor);
+            out.writeBoolean(visible);
+            return new AnnotationRecorder(out, super.visitAnnotation(descriptor, visible));
+        }
+
+        @Override
+        public void visitEnd() {
+            out.writeByte(END);
+            super.visitEnd();
+        }
+    }
+
+    private static class MethodRecorder extends MethodVisitor {
+        private final Output out;
+
+        MethodRecorder(Output out, MethodVisitor delegate) {
+            super(ASM_API_VERSION, delegate);
+            this.out = out;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotationDefault() {
+            out.writeByte(ANNOTATION_DEFAULT);
+            return new AnnotationRecorder(out, super.visitAnnotationDefault());
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            out.writeByte(ANNOTATION);
+            out.writeString(descriptor);
+            out.writeBoolean(visible);
+            return new AnnotationRecorder(out, super.visitAnnotation(descriptor, visible));
+        }
+
+        @Override
+        public void visitCode() {
+            out.writeByte(CODE);
+            super.visitCode();
+        }
+
+        @Override
+        public void visitLineNumber(int line, Label start) {
+            out.writeByte(LINE_NUMBER);
+            out.writeInt(line);
+            super.visitLineNumber(line, start);
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            out.writeByte(FIELD_INSN);
+            out.writeInt(opcode);
+            out.writeString(owner);
+            out.writeString(name);
+            out.writeString(descriptor);
+            super.visitFieldInsn(opcode, owner, name, descriptor);
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            out.writeByte(METHOD_INSN);
+            out.writeInt(opcode);
+            out.writeString(owner);
+            out.writeString(name);
+            out.writeString(descriptor);
+            out.writeBoolean(isInterface);
+            super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+        }
+
+        @Override
+        public void visitEnd() {
+            out.writeByte(END);
+            super.visitEnd();
+        }
+    }
+
+    private static class AnnotationRecorder extends AnnotationVisitor {
+        private final Output out;
+
+        AnnotationRecorder(Output out, AnnotationVisitor delegate) {
+            super(ASM_API_VERSION, delegate);
+            this.out = out;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            out.writeByte(VALUE);
+            out.writeString(name);
+            out.writeValue(value);
+            super.visit(name, value);
+        }
+
+        @Override
+        public void visitEnum(String name, String descriptor, String value) {
+            out.writeByte(ENUM);
+            out.writeString(name);
+            out.writeString(descriptor);
+            out.writeString(value);
+            super.visitEnum(name, descriptor, value);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+            out.writeByte(ANNOTATION);
+            out.writeString(name);
+            out.writeString(descriptor);
+            return new AnnotationRecorder(out, super.visitAnnotation(name, descriptor));
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            out.writeByte(ARRAY);
+            out.writeString(name);
+            return new AnnotationRecorder(out, super.visitArray(name));
+        }
+
+        @Override
+        public void visitEnd() {
+            out.writeByte(END);
+            super.visitEnd();
+        }
+    }
+
+    private static class Replay {
+        private final Input in;
+
+        Replay(ByteArrayDataInput in) {
+            this.in = new Input(in);
+        }
+
+        void replayClass(ClassVisitor visitor) {
+            byte tag;
+            while ((tag = in.readByte()) != END) {
+                switch (tag) {
+                    case CLASS:
+                        visitor.visit(in.readInt(), in.readInt(), in.readString(), in.readString(), in.readString(), in.readStrings());
+                        break;
+                    case SOURCE:
+                        visitor.visitSource(in.readString(), in.readString());
+                        break;
+                    case INNER_CLASS:
+                        visitor.visitInnerClass(in.readString(), in.readString(), in.readString(), in.readInt());
+                        break;
+                    case OUTER_CLASS:
+                        visitor.visitOuterClass(in.readString(), in.readString(), in.readString());
+                        break;
+                    case ANNOTATION:
+                        replayAnnotation(visitor.visitAnnotation(in.readString(), in.readBoolean()));
+                        break;
+                    case FIELD:
+                        replayField(visitor.visitField(in.readInt(), in.readString(), in.readString(), in.readString(), in.readValue()));
+                        break;
+                    case METHOD:
+                        replayMethod(visitor.visitMethod(in.readInt(), in.readString(), in.readString(), in.readString(), in.readStrings()));
+                        break;
+                    default:
+                        throw unexpected(tag);
+                }
+            }
+            visitor.visitEnd();
+        }
+
+        private void replayField(FieldVisitor visitor) {
+            FieldVisitor target = visitor != null ? visitor : new FieldVisitor(ASM_API_VERSION) {
+            };
+            byte tag;
+            while ((tag = in.readByte()) != END) {
+                if (tag != ANNOTATION) {
+                    throw unexpected(tag);
+                }
+                replayAnnotation(target.visitAnnotation(in.readString(), in.readBoolean()));
+            }
+            target.visitEnd();
+        }
+
+        private void replayMethod(MethodVisitor visitor) {
+            MethodVisitor target = visitor != null ? visitor : new MethodVisitor(ASM_API_VERSION) {
+            };
+            Label label = new Label();
+            byte tag;
+            while ((tag = in.readByte()) != END) {
+                switch (tag) {
+                    case ANNOTATION_DEFAULT:
+                        replayAnnotation(target.visitAnnotationDefault());
+                        break;
+                    case ANNOTATION:
+                        replayAnnotation(target.visitAnnotation(in.readString(), in.readBoolean()));
+                        break;
+                    case CODE:
+                        target.visitCode();
+                        break;
+                    case LINE_NUMBER:
+                        target.visitLineNumber(in.readInt(), label);
+                        break;
+                    case FIELD_INSN:
+                        target.visitFieldInsn(in.readInt(), in.readString(), in.readString(), in.readString());
+                        break;
+                    case METHOD_INSN:
+                        target.visitMethodInsn(in.readInt(), in.readString(), in.readString(), in.readString(), in.readBoolean());
+                        break;
+                    default:
+                        throw unexpected(tag);
+                }
+            }
+            target.visitEnd();
+        }
+
+        // NOTE: The visitor may be null, if the receiver is not interested in the annotation,
+        //       we still have to consume the recorded events though
+        private void replayAnnotation(AnnotationVisitor visitor) {
+            byte tag;
+            while ((tag = in.readByte()) != END) {
+                switch (tag) {
+                    case VALUE: {
+                        String name = in.readString();
+                        Object value = in.readValue();
+                        if (visitor != null) {
+                            visitor.visit(name, value);
+                        }
+                        break;
+                    }
+                    case ENUM: {
+                        String name = in.readString();
+                        String descriptor = in.readString();
+                        String value = in.readString();
+                        if (visitor != null) {
+                            visitor.visitEnum(name, descriptor, value);
+                        }
+                        break;
+                    }
+                    case ANNOTATION: {
+                        String name = in.readString();
+                        String descriptor = in.readString();
+                        replayAnnotation(visitor != null ? visitor.visitAnnotation(name, descriptor) : null);
+                        break;
+                    }
+                    case ARRAY: {
+                        String name = in.readString();
+                        replayAnnotation(visitor != null ? visitor.visitArray(name) : null);
+                        break;
+                    }
+                    default:
+                        throw unexpected(tag);
+                }
+            }
+            if (visitor != null) {
+                visitor.visitEnd();
+            }
+        }
+
+        private IllegalStateException unexpected(byte tag) {
+            return new IllegalStateException(String.format("Unexpected tag %d within recorded class file, this is most likely a bug", tag));
+        }
+    }
+
+    /**
+     * Writes strings only once per recording, any repetition (e.g. owners and descriptors of accesses) just references
+     * the index of the first occurrence.
+     */
+    private static class Output {
+        private final ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+        void writeByte(byte value) {
+            out.writeByte(value);
+        }
+
+        void writeBoolean(boolean value) {
+            out.writeBoolean(value);
+        }
+
+        void writeInt(int value) {
+            out.writeInt(value);
+        }
+
+        // 0 -> null, 1 -> new string follows, n > 1 -> string with index n - 2
+        void writeString(String value) {
+            if (value == null) {
+                out.writeInt(0);
+                return;
+            }
+            Integer index = stringIndexes.get(value);
+            if (index != null) {
+                out.writeInt(index + 2);
+            } else {
+                stringIndexes.put(value, stringIndexes.size());
+                out.writeInt(1);
+                out.writeUTF(value);
+            }
+        }
+
+        void writeStrings(String[] values) {
+            if (values == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(values.length);
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        void writeValue(Object value) {
+            if (value == null) {
+                out.writeByte(NULL_VALUE);
+            } else if (value instanceof Byte) {
+                out.writeByte(BYTE_VALUE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(BOOLEAN_VALUE);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Character) {
+                out.writeByte(CHAR_VALUE);
+                out.writeChar((Character) value);
+            } else if (value instanceof Short) {
+                out.writeByte(SHORT_VALUE);
+                out.writeShort((Short) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(INT_VALUE);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG_VALUE);
+                out.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT_VALUE);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE_VALUE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof String) {
+                out.writeByte(STRING_VALUE);
+                writeString((String) value);
+            } else if (value instanceof Type) {
+                out.writeByte(TYPE_VALUE);
+                writeString(((Type) value).getDescriptor());
+            } else {
+                writeArrayValue(value);
+            }
+        }
+
+        private void writeArrayValue(Object value) {
+            if (value instanceof byte[]) {
+                byte[] array = (byte[]) value;
+                out.writeByte(BYTE_ARRAY_VALUE);
+                out.writeInt(array.length);
+                out.write(array);
+            } else if (value instanceof boolean[]) {
+                boolean[] array = (boolean[]) value;
+                out.writeByte(BOOLEAN_ARRAY_VALUE);
+                out.writeInt(array.length);
+                for (boolean element : array) {
+                    out.writeBoolean(element);
+                }
+            } else if (value instanceof char[]) {
+                char[] array = (char[]) value;
+                out.writeByte(CHAR_ARRAY_VALUE);
+                out.writeInt(array.length);
+                for (char element : array) {
+                    out.writeChar(element);
+                }
+            } else if (value instanceof short[]) {
+                short[] array = (short[]) value;
+                out.writeByte(SHORT_ARRAY_VALUE);
+                out.writeInt(array.length);
+                for (short element : array) {
+                    out.writeShort(element);
+                }
+            } else if (value instanceof int[]) {
+                int[] array = (int[]) value;
+                out.writeByte(INT_ARRAY_VALUE);
+                out.writeInt(array.length);
+                for (int element : array) {
+                    out.writeInt(element);
+                }
+            } else if (value instanceof long[]) {
+                long[] array = (long[]) value;
+                out.writeByte(LONG_ARRAY_VALUE);
+                out.writeInt(array.length);
+                for (long element : array) {
+                    out.writeLong(element);
+                }
+            } else if (value instanceof float[]) {
+                float[] array = (float[]) value;
+                out.writeByte(FLOAT_ARRAY_VALUE);
+                out.writeInt(array.length);
+                for (float element : array) {
+                    out.writeFloat(element);
+                }
+            } else if (value instanceof double[]) {
+                double[] array = (double[]) value;
+                out.writeByte(DOUBLE_ARRAY_VALUE);
+                out.writeInt(array.length);
+                for (double element : array) {
+                    out.writeDouble(element);
+                }
+            } else {
+                throw new IllegalArgumentException(String.format(
+                        "Can't record value %s of type %s, this is most likely a bug", value, value.getClass().getName()));
+            }
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Reads a recording directly from a {@link ByteBuffer}, e.g. a view on a region of a {@link ClassFileSnapshot},
+     * instead of copying it to a byte array first. Like {@link ByteStreams#newDataInput(byte[])}, reading beyond the end
+     * of the recording fails with an {@link IllegalStateException}.
+     */
+    private static class ByteBufferDataInput implements ByteArrayDataInput {
+        private final ByteBuffer buffer;
+
+        ByteBufferDataInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void readFully(byte[] b) {
+            readFully(b, 0, b.length);
+        }
+
+        @Override
+        public void readFully(byte[] b, int off, int len) {
+            checkRemaining(len);
+            buffer.get(b, off, len);
+        }
+
+        @Override
+        public int skipBytes(int n) {
+            int skipped = Math.min(n, buffer.remaining());
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        @Override
+        public byte readByte() {
+            checkRemaining(1);
+            return buffer.get();
+        }
+
+        @Override
+        public int readUnsignedByte() {
+            return readByte() & 0xFF;
+        }
+
+        @Override
+        public short readShort() {
+            checkRemaining(2);
+            return buffer.getShort();
+        }
+
+        @Override
+        public int readUnsignedShort() {
+            return readShort() & 0xFFFF;
+        }
+
+        @Override
+        public char readChar() {
+            checkRemaining(2);
+            return buffer.getChar();
+        }
+
+        @Override
+        public int readInt() {
+            checkRemaining(4);
+            return buffer.getInt();
+        }
+
+        @Override
+        public long readLong() {
+            checkRemaining(8);
+            return buffer.getLong();
+        }
+
+        @Override
+        public float readFloat() {
+            checkRemaining(4);
+            return buffer.getFloat();
+        }
+
+        @Override
+        public double readDouble() {
+            checkRemaining(8);
+            return buffer.getDouble();
+        }
+
+        @Override
+        public String readLine() {
+            if (!buffer.hasRemaining()) {
+                return null;
+            }
+            StringBuilder result = new StringBuilder();
+            while (buffer.hasRemaining()) {
+                char next = (char) readUnsignedByte();
+                if (next == '\n') {
+                    break;
+                }
+                if (next == '\r') {
+                    if (buffer.hasRemaining() && buffer.get(buffer.position()) == '\n') {
+                        buffer.get();
+                    }
+                    break;
+                }
+                result.append(next);
+            }
+            return result.toString();
+        }
+
+        @Override
+        public String readUTF() {
+            try {
+                return DataInputStream.readUTF(this);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void checkRemaining(int length) {
+            if (buffer.remaining() < length) {
+                throw new IllegalStateException("Unexpected end of recording");
+            }
+        }
+    }
+
+    private static class Input {
+        private final ByteArrayDataInput in;
+        private final List<String> strings = new ArrayList<>();
+
+        Input(ByteArrayDataInput in) {
+            this.in = in;
+        }
+
+        byte readByte() {
+            return in.readByte();
+        }
+
+        boolean readBoolean() {
+            return in.readBoolean();
+        }
+
+        int readInt() {
+            return in.readInt();
+        }
+
+        String readString() {
+            int reference = in.readInt();
+            if (reference == 0) {
+                return null;
+            }
+            if (reference > 1) {
+                return strings.get(reference - 2);
+            }
+            String value = in.readUTF();
+            strings.add(value);
+            return value;
+        }
+
+        String[] readStrings() {
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            String[] result = new String[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = readString();
+            }
+            return result;
+        }
+
+        Object readValue() {
+            byte type = in.readByte();
+            switch (type) {
+                case NULL_VALUE:
+                    return null;
+                case BYTE_VALUE:
+                    return in.readByte();
+                case BOOLEAN_VALUE:
+                    return in.readBoolean();
+                case CHAR_VALUE:
+                    return in.readChar();
+                case SHORT_VALUE:
+                    return in.readShort();
+                case INT_VALUE:
+                    return in.readInt();
+                case LONG_VALUE:
+                    return in.readLong();
+                case FLOAT_VALUE:
+                    return in.readFloat();
+                case DOUBLE_VALUE:
+                    return in.readDouble();
+                case STRING_VALUE:
+                    return readString();
+                case TYPE_VALUE:
+                    return Type.getType(readString());
+                default:
+                    return readArrayValue(type);
+            }
+        }
+
+        private Object readArrayValue(byte type) {
+            int length = in.readInt();
+            switch (type) {
+                case BYTE_ARRAY_VALUE: {
+                    byte[] result = new byte[length];
+                    in.readFully(result);
+                    return result;
+                }
+                case BOOLEAN_ARRAY_VALUE: {
+                    boolean[] result = new boolean[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readBoolean();
+                    }
+                    return result;
+                }
+                case CHAR_ARRAY_VALUE: {
+                    char[] result = new char[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readChar();
+                    }
+                    return result;
+                }
+                case SHORT_ARRAY_VALUE: {
+                    short[] result = new short[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readShort();
+                    }
+                    return result;
+                }
+                case INT_ARRAY_VALUE: {
+                    int[] result = new int[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readInt();
+                    }
+                    return result;
+                }
+                case LONG_ARRAY_VALUE: {
+                    long[] result = new long[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readLong();
+                    }
+                    return result;
+                }
+                case FLOAT_ARRAY_VALUE: {
+                    float[] result = new float[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readFloat();
+                    }
+                    return result;
+                }
+                case DOUBLE_ARRAY_VALUE: {
+                    double[] result = new double[length];
+                    for (int i = 0; i < length; i++) {
+                        result[i] = in.readDouble();
+                    }
+                    return result;
+                }
+                default:
+                    throw new IllegalStateException(String.format(
+                            "Unexpected value type %d within recorded class file, this is most likely a bug", type));
+            }
+        }
+    }
+}
@@ -17,20 +17,58 @@ package com.tngtech.archunit.core.importer;
 
 import java.net.URI;
 
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.Source;
+import com.tngtech.archunit.core.domain.Source.Checksum;
+import com.tngtech.archunit.core.domain.Source.Md5sum;
+
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createChecksum;
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createMd5sum;
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createSource;
+
+/**
+ * Describes where a class file was imported from. If the bytes of the class file are read anyway for parsing,
+ * the configured digests are calculated from these very bytes via {@link #digest(byte[], int)}, so the class file
+ * doesn't have to be read a second time. Only if the class file was never read (e.g. because the import was replayed
+ * from the {@link ImportCache}), the {@link Source} will read the class file itself.
+ */
 class SourceDescriptor {
     private final URI sourceUri;
     private final boolean md5InClassSourcesEnabled;
+    private final Optional<Checksum.Algorithm> checksumAlgorithm;
+    private boolean digested = false;
+    private Optional<Md5sum> md5sum = Optional.absent();
+    private Optional<Checksum> checksum = Optional.absent();
 
-    SourceDescriptor(URI sourceUri, boolean md5InClassSourcesEnabled) {
+    SourceDescriptor(URI sourceUri, boolean md5InClassSourcesEnabled, Optional<Checksum.Algorithm> checksumAlgorithm) {
         this.sourceUri = sourceUri;
         this.md5InClassSourcesEnabled = md5InClassSourcesEnabled;
+        this.checksumAlgorithm = checksumAlgorithm;
     }
 
     URI getUri() {
         return sourceUri;
     }
 
-    boolean isMd5InClassSourcesEnabled() {
-        return md5InClassSourcesEnabled;
+    boolean needsDigest() {
+        return md5InClassSourcesEnabled || checksumAlgorithm.isPresent();
+    }
+
+    /**
+     * @param classFile A buffer containing the bytes of the class file
+     * @param length The length of the class file, i.e. the number of valid bytes within {@code classFile}
+     */
+    void digest(byte[] classFile, int length) {
+        md5sum = md5InClassSourcesEnabled ? Optional.of(createMd5sum(classFile, length)) : Optional.<Md5sum>absent();
+        checksum = checksumAlgorithm.isPresent()
+                ? Optional.of(createChecksum(checksumAlgorithm.get(), classFile, length))
+                : Optional.<Checksum>absent();
+        digested = true;
+    }
+
+    Source createSourceWithFileName(Optional<String> sourceFileName) {
+        return digested
+                ? createSource(sourceUri, sourceFileName, md5sum, checksum)
+                : createSource(sourceUri, sourceFileName, md5InClassSourcesEnabled, checksumAlgorithm);
     }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableList;
+import com.tngtech.archunit.core.domain.JavaType;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+
+/**
+ * Shared by all stages of one import, to avoid holding thousands of equal copies of the same names
+ * and descriptors, and to avoid parsing the same descriptors over and over again. Strings are interned
+ * into canonical instances, type names and descriptors are mapped to the canonical {@link JavaType}.
+ * Callers and targets of accesses are numbered, so {@link RawAccessRecords} can reference them by int id.<br>
+ * All methods are thread safe, since classes might be parsed concurrently (compare {@link ClassFileProcessor}).
+ */
+class SymbolTable {
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, JavaType> typesByInternalName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, JavaType> typesByDescriptor = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MethodDescriptor> methodDescriptors = new ConcurrentHashMap<>();
+    private final Ids<CodeUnit> codeUnits = new Ids<>();
+    private final Ids<TargetInfo> targets = new Ids<>();
+
+    String intern(String string) {
+        if (string == null) {
+            return null;
+        }
+        String existing = strings.putIfAbsent(string, string);
+        return existing != null ? existing : string;
+    }
+
+    /**
+     * @param internalName An 'internal' ASM object type name, like java/lang/Object
+     *                     (compare {@link JavaTypeImporter#createFromAsmObjectTypeName(String)})
+     */
+    JavaType objectType(String internalName) {
+        JavaType result = typesByInternalName.get(internalName);
+        if (result == null) {
+            result = JavaTypeImporter.createFromAsmObjectTypeName(internalName);
+            typesByInternalName.putIfAbsent(internalName, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param descriptor A type descriptor, like Ljava/lang/Object;
+     */
+    JavaType type(String descriptor) {
+        JavaType result = typesByDescriptor.get(descriptor);
+        if (result == null) {
+            result = JavaTypeImporter.importAsmType(descriptor);
+            typesByDescriptor.putIfAbsent(descriptor, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param descriptor A method descriptor, like (Ljava/lang/String;I)V
+     */
+    MethodDescriptor methodDescriptor(String descriptor) {
+        MethodDescriptor result = methodDescriptors.get(descriptor);
+        if (result == null) {
+            result = new MethodDescriptor(intern(descriptor),
+                    JavaTypeImporter.importAsmMethodArgumentTypes(descriptor),
+                    JavaTypeImporter.importAsmMethodReturnType(descriptor));
+            MethodDescriptor existing = methodDescriptors.putIfAbsent(descriptor, result);
+            result = existing != null ? existing : result;
+        }
+        return result;
+    }
+
+    int codeUnitId(CodeUnit codeUnit) {
+        return codeUnits.idOf(codeUnit);
+    }
+
+    CodeUnit codeUnit(int id) {
+        return codeUnits.get(id);
+    }
+
+    int targetId(TargetInfo target) {
+        return targets.idOf(target);
+    }
+
+    TargetInfo target(int id) {
+        return targets.get(id);
+    }
+
+    private static class Ids<T> {
+        private final ConcurrentMap<T, Integer> idsByValue = new ConcurrentHashMap<>();
+        private final List<T> valuesById = new ArrayList<>();
+
+        int idOf(T value) {
+            Integer id = idsByValue.get(value);
+            return id != null ? id : register(value);
+        }
+
+        private synchronized int register(T value) {
+            Integer id = idsByValue.get(value);
+            if (id == null) {
+                id = valuesById.size();
+                valuesById.add(value);
+                idsByValue.put(value, id);
+            }
+            return id;
+        }
+
+        synchronized T get(int id) {
+            return valuesById.get(id);
+        }
+    }
+
+    static class MethodDescriptor {
+        private final String descriptor;
+        private final List<JavaType> parameterTypes;
+        private final List<String> parameterTypeNames;
+        private final JavaType returnType;
+
+        private MethodDescriptor(String descriptor, List<JavaType> parameterTypes, JavaType returnType) {
+            this.descriptor = descriptor;
+            this.parameterTypes = parameterTypes;
+            this.parameterTypeNames = namesOf(parameterTypes);
+            this.returnType = returnType;
+        }
+
+        private static List<String> namesOf(List<JavaType> types) {
+            ImmutableList.Builder<String> result = ImmutableList.builder();
+            for (JavaType type : types) {
+                result.add(type.getName());
+            }
+            return result.build();
+        }
+
+        String getDescriptor() {
+            return descriptor;
+        }
+
+        List<JavaType> getParameterTypes() {
+            return parameterTypes;
+        }
+
+        List<String> getParameterTypeNames() {
+            return parameterTypeNames;
+        }
+
+        JavaType getReturnType() {
+            return returnType;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.tngtech.archunit.core.importer.resolvers;
 import java.lang.reflect.Constructor;
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.Internal;
@@ -63,6 +64,21 @@ public interface ClassResolver {
      */
     Optional<JavaClass> tryResolve(String typeName);
 
+    /**
+     * A {@link ClassResolver} that benefits from knowing all types that are about to be resolved at once.
+     * Before resolving missing types one by one via {@link #tryResolve(String)}, ArchUnit will pass the whole
+     * set of missing types of each step to {@link #prefetch(Set)}, e.g. all owners of access targets,
+     * or all super types of the classes resolved within the last step. Thus, an implementation
+     * can for example locate these types concurrently.
+     */
+    @PublicAPI(usage = INHERITANCE)
+    interface Prefetching extends ClassResolver {
+        /**
+         * @param typeNames The names of types that will be resolved via {@link #tryResolve(String)} next
+         */
+        void prefetch(Set<String> typeNames);
+    }
+
     /**
      * Provides a way to import a JavaClass from a given {@link URI}.
      *
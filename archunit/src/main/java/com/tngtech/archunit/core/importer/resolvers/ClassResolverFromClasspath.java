@@ -16,10 +16,9 @@
 package com.tngtech.archunit.core.importer.resolvers;
 
 import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
+import java.util.Set;
 
-import com.tngtech.archunit.base.ArchUnitException;
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.MayResolveTypesViaReflection;
 import com.tngtech.archunit.core.domain.JavaClass;
@@ -30,10 +29,14 @@ import static com.tngtech.archunit.base.ClassLoaders.getCurrentClassLoader;
 /**
  * A {@link ClassResolver} that tries to locate missing dependencies on the classpath.
  * I.e. uses {@link Class#getResource(String)} to find the {@link URI} of the classfile for the missing
- * type, then uses the supplied {@link ClassResolver.ClassUriImporter} to import the type.
+ * type, then uses the supplied {@link ClassResolver.ClassUriImporter} to import the type.<br>
+ * The located {@link URI URIs}, as well as the types that can't be located at all, are cached JVM-wide
+ * (compare {@link ClassUriCache}). If configured (compare {@link ArchConfiguration#getImportParallelism()}),
+ * all types passed to {@link #prefetch(Set)} are located concurrently.
  */
 @MayResolveTypesViaReflection(reason = "This is a dedicated option to resolve further dependencies from the classpath")
-public final class ClassResolverFromClasspath implements ClassResolver {
+public final class ClassResolverFromClasspath implements ClassResolver.Prefetching {
+    private final int parallelism = ArchConfiguration.get().getImportParallelism();
     private ClassUriImporter classUriImporter;
 
     @Override
@@ -43,23 +46,18 @@ public final class ClassResolverFromClasspath implements ClassResolver {
     }
 
     @Override
-    public Optional<JavaClass> tryResolve(String typeName) {
-        String typeFile = typeName.replace(".", "/") + ".class";
+    public void prefetch(Set<String> typeNames) {
+        uriCache().prefetch(typeNames, parallelism);
+    }
 
-        Optional<URI> uri = tryGetUriOf(typeFile);
+    @Override
+    public Optional<JavaClass> tryResolve(String typeName) {
+        Optional<URI> uri = uriCache().tryGetUriOf(typeName);
 
         return uri.isPresent() ? classUriImporter.tryImport(uri.get()) : Optional.<JavaClass>absent();
     }
 
-    private Optional<URI> tryGetUriOf(String typeFile) {
-        URL resource = getCurrentClassLoader(getClass()).getResource(typeFile);
-        if (resource == null) {
-            return Optional.absent();
-        }
-        try {
-            return Optional.of(resource.toURI());
-        } catch (URISyntaxException e) {
-            throw new ArchUnitException.LocationException(e);
-        }
+    private ClassUriCache uriCache() {
+        return ClassUriCache.of(getCurrentClassLoader(getClass()));
     }
 }
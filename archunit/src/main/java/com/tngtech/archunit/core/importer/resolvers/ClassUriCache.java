@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014-2020 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer.resolvers;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.tngtech.archunit.base.ArchUnitException.LocationException;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.MayResolveTypesViaReflection;
+
+/**
+ * Caches the class file {@link URI URIs} of types located via {@link ClassLoader#getResource(String)} JVM-wide.
+ * This includes types that can't be located at all (e.g. optional dependencies missing from the classpath),
+ * since these cause the most expensive lookups, scanning the whole classpath, and tend to be looked up by every import.<br>
+ * Lookups are cached per {@link ClassLoader}, so a different (context) class loader will locate types anew.
+ * The cached lookups only reference the {@link ClassLoader} weakly, i.e. {@link #of(ClassLoader)} creates a view
+ * on the lookups of the respective class loader, which must not be held on to beyond the current import,
+ * so class loaders that are discarded can still be garbage collected (together with their cached lookups).
+ */
+@MayResolveTypesViaReflection(reason = "This is part of the dedicated option to resolve further dependencies from the classpath")
+class ClassUriCache {
+    private static final LoadingCache<ClassLoader, ConcurrentMap<String, Optional<URI>>> urisByClassLoader = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(new CacheLoader<ClassLoader, ConcurrentMap<String, Optional<URI>>>() {
+                @Override
+                public ConcurrentMap<String, Optional<URI>> load(ClassLoader classLoader) {
+                    return new ConcurrentHashMap<>();
+                }
+            });
+
+    private final ClassLoader classLoader;
+    private final ConcurrentMap<String, Optional<URI>> urisByTypeName;
+
+    private ClassUriCache(ClassLoader classLoader, ConcurrentMap<String, Optional<URI>> urisByTypeName) {
+        this.classLoader = classLoader;
+        this.urisByTypeName = urisByTypeName;
+    }
+
+    static ClassUriCache of(ClassLoader classLoader) {
+        return new ClassUriCache(classLoader, urisByClassLoader.getUnchecked(classLoader));
+    }
+
+    Optional<URI> tryGetUriOf(String typeName) {
+        Optional<URI> result = urisByTypeName.get(typeName);
+        if (result == null) {
+            result = locate(typeName);
+            urisByTypeName.put(typeName, result);
+        }
+        return result;
+    }
+
+    private Optional<URI> locate(String typeName) {
+        URL resource = classLoader.getResource(typeName.replace(".", "/") + ".class");
+        if (resource == null) {
+            return Optional.absent();
+        }
+        try {
+            return Optional.of(resource.toURI());
+        } catch (URISyntaxException e) {
+            throw new LocationException(e);
+        }
+    }
+
+    /**
+     * Locates all the given types, that have not been located before, using up to {@code parallelism} threads.
+     * Types that fail to be located are simply not cached, i.e. the failure will surface on {@link #tryGetUriOf(String)}.
+     */
+    void prefetch(Set<String> typeNames, int parallelism) {
+        List<Callable<Void>> lookups = new ArrayList<>();
+        for (final String typeName : typeNames) {
+            if (!urisByTypeName.containsKey(typeName)) {
+                lookups.add(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        tryGetUriOf(typeName);
+                        return null;
+                    }
+                });
+            }
+        }
+        if (parallelism <= 1 || lookups.size() <= 1) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, lookups.size()),
+                new ThreadFactoryBuilder().setNameFormat("archunit-resolve-%d").setDaemon(true).build());
+        try {
+            executor.invokeAll(lookups);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.tngtech.archunit.core.importer.resolvers;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -32,7 +33,7 @@ import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
  *
  * @see ClassResolverFromClasspath
  */
-public final class SelectedClassResolverFromClasspath implements ClassResolver {
+public final class SelectedClassResolverFromClasspath implements ClassResolver.Prefetching {
     private final Set<String> packageRoots;
     private final ClassResolverFromClasspath classResolverFromClasspath = new ClassResolverFromClasspath();
 
@@ -47,14 +48,30 @@ public final class SelectedClassResolverFromClasspath implements ClassResolver {
         classResolverFromClasspath.setClassUriImporter(classUriImporter);
     }
 
+    @Override
+    @PublicAPI(usage = ACCESS)
+    public void prefetch(Set<String> typeNames) {
+        Set<String> selected = new HashSet<>();
+        for (String typeName : typeNames) {
+            if (isSelected(typeName)) {
+                selected.add(typeName);
+            }
+        }
+        classResolverFromClasspath.prefetch(selected);
+    }
+
     @Override
     @PublicAPI(usage = ACCESS)
     public Optional<JavaClass> tryResolve(String typeName) {
+        return isSelected(typeName) ? classResolverFromClasspath.tryResolve(typeName) : Optional.<JavaClass>absent();
+    }
+
+    private boolean isSelected(String typeName) {
         for (String root : packageRoots) {
             if (typeName.startsWith(root)) {
-                return classResolverFromClasspath.tryResolve(typeName);
+                return true;
             }
         }
-        return Optional.absent();
+        return false;
     }
 }
@@ -16,8 +16,14 @@
 package com.tngtech.archunit.lang.conditions;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -63,6 +69,7 @@ import com.tngtech.archunit.lang.SimpleConditionEvent;
 import com.tngtech.archunit.lang.conditions.ClassAccessesFieldCondition.ClassGetsFieldCondition;
 import com.tngtech.archunit.lang.conditions.ClassAccessesFieldCondition.ClassSetsFieldCondition;
 
+import static com.google.common.collect.Iterables.getLast;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 import static com.tngtech.archunit.base.DescribedPredicate.anyElementThat;
 import static com.tngtech.archunit.base.DescribedPredicate.empty;
@@ -113,6 +120,7 @@ import static com.tngtech.archunit.core.domain.properties.HasThrowsClause.Predic
 import static com.tngtech.archunit.core.domain.properties.HasType.Predicates.rawType;
 import static com.tngtech.archunit.lang.conditions.ArchPredicates.have;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 
 public final class ArchConditions {
     private ArchConditions() {
@@ -296,6 +304,17 @@ public final class ArchConditions {
                 GET_DIRECT_DEPENDENCIES_FROM_SELF);
     }
 
+    /**
+     * @param predicate Determines which {@link JavaClass JavaClasses} match the transitive dependency target
+     * @return A condition that is satisfied, if any class matching the predicate can be reached by following the dependencies
+     *         of a class (compare {@link JavaClass#transitivelyDependsOnClassesThat(DescribedPredicate)}).
+     *         If so, the event reports the shortest chain of dependencies to such a class.
+     */
+    @PublicAPI(usage = ACCESS)
+    public static ArchCondition<JavaClass> transitivelyDependOnClassesThat(final DescribedPredicate<? super JavaClass> predicate) {
+        return new TransitivelyDependOnCondition(predicate);
+    }
+
     @PublicAPI(usage = ACCESS)
     public static ArchCondition<JavaClass> onlyDependOnClassesThat(final DescribedPredicate<? super JavaClass> predicate) {
         return new AllDependenciesCondition(
@@ -1107,6 +1126,60 @@ public final class ArchConditions {
         }
     }
 
+    private static class TransitivelyDependOnCondition extends ArchCondition<JavaClass> {
+        private final DescribedPredicate<? super JavaClass> predicate;
+
+        TransitivelyDependOnCondition(DescribedPredicate<? super JavaClass> predicate) {
+            super("transitively depend on classes that " + predicate.getDescription());
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void check(JavaClass javaClass, ConditionEvents events) {
+            boolean satisfied = javaClass.transitivelyDependsOnClassesThat(predicate);
+            String message = satisfied
+                    ? createMessage(javaClass, "transitively depends on " + describe(findShortestPathToMatchingClass(javaClass)))
+                    : createMessage(javaClass, "does not transitively depend on classes that " + predicate.getDescription());
+            events.add(new SimpleConditionEvent(javaClass, satisfied, message));
+        }
+
+        private List<Dependency> findShortestPathToMatchingClass(JavaClass origin) {
+            Map<JavaClass, Dependency> reachedBy = new HashMap<>();
+            Deque<JavaClass> toVisit = new ArrayDeque<>(singleton(origin));
+            while (!toVisit.isEmpty()) {
+                for (Dependency dependency : toVisit.poll().getDirectDependenciesFromSelf()) {
+                    JavaClass target = dependency.getTargetClass();
+                    if (predicate.apply(target)) {
+                        return pathTo(dependency, reachedBy);
+                    }
+                    if (!target.equals(origin) && !reachedBy.containsKey(target)) {
+                        reachedBy.put(target, dependency);
+                        toVisit.add(target);
+                    }
+                }
+            }
+            throw new IllegalStateException(String.format(
+                    "Class %s was supposed to transitively depend on classes that %s", origin.getName(), predicate.getDescription()));
+        }
+
+        private List<Dependency> pathTo(Dependency last, Map<JavaClass, Dependency> reachedBy) {
+            LinkedList<Dependency> result = new LinkedList<>(singleton(last));
+            while (reachedBy.containsKey(result.getFirst().getOriginClass())) {
+                result.addFirst(reachedBy.get(result.getFirst().getOriginClass()));
+            }
+            return result;
+        }
+
+        private String describe(List<Dependency> path) {
+            List<String> classNames = new ArrayList<>();
+            classNames.add(path.get(0).getOriginClass().getName());
+            for (Dependency dependency : path) {
+                classNames.add(dependency.getTargetClass().getName());
+            }
+            return String.format("<%s> by [%s]", getLast(classNames), Joiner.on("->").join(classNames));
+        }
+    }
+
     private static class InterfacesCondition extends ArchCondition<JavaClass> {
         private static final InterfacesCondition BE_INTERFACES = new InterfacesCondition();
 
@@ -529,6 +529,21 @@ class ClassesShouldInternal extends ObjectsShouldInternal<JavaClass>
         return addCondition(ArchConditions.dependOnClassesThat(predicate));
     }
 
+    @Override
+    public ClassesThat<ClassesShouldConjunction> transitivelyDependOnClassesThat() {
+        return new ClassesThatInternal<>(new Function<DescribedPredicate<? super JavaClass>, ClassesShouldConjunction>() {
+            @Override
+            public ClassesShouldConjunction apply(DescribedPredicate<? super JavaClass> predicate) {
+                return addCondition(ArchConditions.transitivelyDependOnClassesThat(predicate));
+            }
+        });
+    }
+
+    @Override
+    public ClassesShouldConjunction transitivelyDependOnClassesThat(DescribedPredicate<? super JavaClass> predicate) {
+        return addCondition(ArchConditions.transitivelyDependOnClassesThat(predicate));
+    }
+
     @Override
     public ClassesThat<ClassesShouldConjunction> onlyDependOnClassesThat() {
         return new ClassesThatInternal<>(new Function<DescribedPredicate<? super JavaClass>, ClassesShouldConjunction>() {
@@ -70,6 +70,59 @@ public class ArchConfigurationTest {
         assertThat(configuration.getClassResolverArguments()).isEmpty();
     }
 
+    @Test
+    public void class_source_checksum_algorithm() {
+        writeProperties(ArchConfiguration.CLASS_SOURCE_CHECKSUM_ALGORITHM, "crc32c");
+
+        ArchConfiguration configuration = testConfiguration(PROPERTIES_FILE_NAME);
+
+        assertThat(configuration.getClassSourceChecksumAlgorithm()).contains("crc32c");
+
+        configuration.unsetClassSourceChecksumAlgorithm();
+        assertThat(configuration.getClassSourceChecksumAlgorithm()).isAbsent();
+
+        configuration.setClassSourceChecksumAlgorithm("MURMUR3_128");
+        assertThat(configuration.getClassSourceChecksumAlgorithm()).contains("MURMUR3_128");
+    }
+
+    @Test
+    public void import_resolution_limits() {
+        writeProperties(
+                ArchConfiguration.IMPORT_RESOLUTION_MAX_DEPTH, "1",
+                ArchConfiguration.IMPORT_RESOLUTION_MAX_CLASSES, " 500 "
+        );
+
+        ArchConfiguration configuration = testConfiguration(PROPERTIES_FILE_NAME);
+
+        assertThat(configuration.getImportResolutionMaxDepth()).contains(1);
+        assertThat(configuration.getImportResolutionMaxClasses()).contains(500);
+
+        configuration.unsetImportResolutionMaxDepth();
+        configuration.unsetImportResolutionMaxClasses();
+        assertThat(configuration.getImportResolutionMaxDepth()).isAbsent();
+        assertThat(configuration.getImportResolutionMaxClasses()).isAbsent();
+
+        configuration.setImportResolutionMaxDepth(2);
+        configuration.setImportResolutionMaxClasses(1000);
+        assertThat(configuration.getImportResolutionMaxDepth()).contains(2);
+        assertThat(configuration.getImportResolutionMaxClasses()).contains(1000);
+    }
+
+    @Test
+    public void import_access_records_heap_budget() {
+        writeProperties(ArchConfiguration.IMPORT_ACCESS_RECORDS_HEAP_BUDGET, "256");
+
+        ArchConfiguration configuration = testConfiguration(PROPERTIES_FILE_NAME);
+
+        assertThat(configuration.getImportAccessRecordsHeapBudgetInMegabytes()).contains(256);
+
+        configuration.unsetImportAccessRecordsHeapBudgetInMegabytes();
+        assertThat(configuration.getImportAccessRecordsHeapBudgetInMegabytes()).isAbsent();
+
+        configuration.setImportAccessRecordsHeapBudgetInMegabytes(512);
+        assertThat(configuration.getImportAccessRecordsHeapBudgetInMegabytes()).contains(512);
+    }
+
     @Test
     public void resolver_explicitly_set() {
         writeProperties(
@@ -287,6 +340,8 @@ public class ArchConfigurationTest {
                 .as("configuration.resolveMissingDependenciesFromClassPath()").isTrue();
         assertThat(configuration.md5InClassSourcesEnabled())
                 .as("configuration.md5InClassSourcesEnabled()").isFalse();
+        assertThat(configuration.getImportParallelism())
+                .as("configuration.getImportParallelism()").isEqualTo(1);
     }
 
     private ArchConfiguration testConfiguration(String resourceName) {
@@ -5,6 +5,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSortedSet;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.testutil.Assertions;
 import com.tngtech.archunit.testutil.assertion.DependencyAssertion;
@@ -196,6 +197,29 @@ public class DependencyTest {
                 .hasDescription("dependency first -> second");
     }
 
+    @Test
+    public void orders_dependencies_by_origin_and_target() {
+        Dependency originToTarget = createDependency(Origin.class, Target.class);
+        Dependency originToDependencyClass = createDependency(Origin.class, DependencyClass.class);
+        Dependency subInterfaceToInterface = createDependency(DependencySubInterface.class, DependencyInterface.class);
+
+        assertThat(ImmutableSortedSet.of(originToTarget, originToDependencyClass, subInterfaceToInterface))
+                .containsExactly(subInterfaceToInterface, originToDependencyClass, originToTarget);
+    }
+
+    @Test
+    public void dependencies_with_same_cause_are_equal() {
+        JavaClass origin = importClassWithContext(Origin.class);
+        JavaClass target = importClassWithContext(Target.class);
+
+        Dependency dependency = Dependency.fromInheritance(origin, target);
+        Dependency sameDependency = Dependency.fromInheritance(origin, target);
+
+        assertThat(dependency).isEqualTo(sameDependency);
+        assertThat(dependency.hashCode()).isEqualTo(sameDependency.hashCode());
+        assertThat(dependency.compareTo(sameDependency)).isZero();
+    }
+
     @Test
     public void functions() {
         assertThat(GET_ORIGIN_CLASS.apply(createDependency(Origin.class, Target.class))).matches(Origin.class);
@@ -11,6 +11,7 @@ import java.util.Set;
 
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.tngtech.archunit.base.ArchUnitException.InvalidSyntaxUsageException;
 import com.tngtech.archunit.base.DescribedPredicate;
@@ -298,6 +299,21 @@ public class JavaClassTest {
                 .contains(javaClass, javaClass.getSuperClass().get());
     }
 
+    @Test
+    public void accesses_are_only_collected_once() {
+        JavaClass javaClass = importClassWithContext(ClassWithSelfReferences.class);
+
+        assertThat(javaClass.getAccessesFromSelf()).isNotEmpty().isSameAs(javaClass.getAccessesFromSelf());
+        assertThat(javaClass.getFieldAccessesFromSelf()).isSameAs(javaClass.getFieldAccessesFromSelf());
+        assertThat(javaClass.getCallsFromSelf()).isSameAs(javaClass.getCallsFromSelf());
+        assertThat(javaClass.getMethodCallsFromSelf()).isSameAs(javaClass.getMethodCallsFromSelf());
+        assertThat(javaClass.getConstructorCallsFromSelf()).isSameAs(javaClass.getConstructorCallsFromSelf());
+        assertThat(javaClass.getAccessesToSelf()).isNotEmpty().isSameAs(javaClass.getAccessesToSelf());
+        assertThat(javaClass.getFieldAccessesToSelf()).isSameAs(javaClass.getFieldAccessesToSelf());
+        assertThat(javaClass.getMethodCallsToSelf()).isSameAs(javaClass.getMethodCallsToSelf());
+        assertThat(javaClass.getConstructorCallsToSelf()).isSameAs(javaClass.getConstructorCallsToSelf());
+    }
+
     @Test
     public void JavaClass_is_equivalent_to_reflect_type() {
         JavaClass list = importClassWithContext(List.class);
@@ -600,6 +616,74 @@ public class JavaClassTest {
                         .inLineNumber(0));
     }
 
+    @Test
+    public void transitive_dependencies_from_self() {
+        JavaClasses classes = importClassesWithContext(CyclicDependencyA.class, CyclicDependencyB.class, DependencyOfCycle.class);
+        JavaClass cycleA = classes.get(CyclicDependencyA.class);
+        JavaClass cycleB = classes.get(CyclicDependencyB.class);
+        JavaClass dependencyOfCycle = classes.get(DependencyOfCycle.class);
+
+        assertThat(cycleA.getTransitiveDependenciesFromSelf())
+                .containsAll(cycleA.getDirectDependenciesFromSelf())
+                .containsAll(cycleB.getDirectDependenciesFromSelf())
+                .containsAll(dependencyOfCycle.getDirectDependenciesFromSelf());
+        assertThat(cycleA.getTransitiveDependenciesFromSelf()).isEqualTo(cycleB.getTransitiveDependenciesFromSelf());
+
+        assertThat(dependencyOfCycle.getTransitiveDependenciesFromSelf())
+                .containsAll(dependencyOfCycle.getDirectDependenciesFromSelf())
+                .doNotHave(anyDependency().fromClassEquivalentTo(CyclicDependencyA.class))
+                .doNotHave(anyDependency().fromClassEquivalentTo(CyclicDependencyB.class));
+    }
+
+    @Test
+    public void transitivelyDependsOnClassesThat() {
+        JavaClasses classes = importClassesWithContext(CyclicDependencyA.class, CyclicDependencyB.class, DependencyOfCycle.class);
+        JavaClass cycleA = classes.get(CyclicDependencyA.class);
+        JavaClass cycleB = classes.get(CyclicDependencyB.class);
+        JavaClass dependencyOfCycle = classes.get(DependencyOfCycle.class);
+
+        assertThat(cycleA.transitivelyDependsOnClassesThat(equivalentTo(CyclicDependencyA.class)))
+                .as("class within cycle depends on itself").isTrue();
+        assertThat(cycleB.transitivelyDependsOnClassesThat(equivalentTo(CyclicDependencyA.class))).isTrue();
+        assertThat(cycleA.transitivelyDependsOnClassesThat(equivalentTo(DependencyOfCycle.class))).isTrue();
+        assertThat(dependencyOfCycle.transitivelyDependsOnClassesThat(equivalentTo(DependencyOfCycle.class)))
+                .as("class outside of any cycle depends on itself").isFalse();
+        assertThat(dependencyOfCycle.transitivelyDependsOnClassesThat(equivalentTo(CyclicDependencyA.class))).isFalse();
+
+        DescribedPredicate<JavaClass> notPartOfTheCycle = DescribedPredicate.not(belongToAnyOf(CyclicDependencyA.class, CyclicDependencyB.class));
+        for (JavaClass javaClass : classes) {
+            boolean dependsOnTarget = false;
+            for (Dependency dependency : javaClass.getTransitiveDependenciesFromSelf()) {
+                dependsOnTarget = dependsOnTarget || notPartOfTheCycle.apply(dependency.getTargetClass());
+            }
+            assertThat(javaClass.transitivelyDependsOnClassesThat(notPartOfTheCycle))
+                    .as("%s transitively depends on classes that %s", javaClass.getSimpleName(), notPartOfTheCycle.getDescription())
+                    .isEqualTo(dependsOnTarget);
+        }
+    }
+
+    @Test
+    public void direct_dependencies_to_self_are_all_dependencies_from_classes_of_the_import_with_self_as_target() {
+        JavaClasses javaClasses = importClassesWithContext(AAccessingB.class, AhavingMembersOfTypeB.class, B.class);
+
+        Set<Dependency> allDependencies = new HashSet<>();
+        for (JavaClass javaClass : javaClasses) {
+            allDependencies.addAll(javaClass.getDirectDependenciesFromSelf());
+        }
+        for (JavaClass javaClass : javaClasses) {
+            Set<Dependency> expected = new HashSet<>();
+            for (Dependency dependency : allDependencies) {
+                if (dependency.getTargetClass().equals(javaClass)) {
+                    expected.add(dependency);
+                }
+            }
+            assertThat(javaClass.getDirectDependenciesToSelf()).as("dependencies to " + javaClass.getSimpleName())
+                    .containsOnlyElementsOf(expected)
+                    .hasSameSizeAs(expected)
+                    .isSameAs(javaClass.getDirectDependenciesToSelf());
+        }
+    }
+
     @Test
     public void direct_dependencies_to_self_finds_correct_set_of_origin_types() {
         JavaClasses classes = importPackagesOf(getClass());
@@ -732,6 +816,45 @@ public class JavaClassTest {
         assertThat(simpleNameEndingWith("Suffix")).hasDescription("simple name ending with 'Suffix'");
     }
 
+    @Test
+    public void type_hierarchy_is_only_collected_once() {
+        JavaClasses classes = importClasses(ChildWithFieldAndMethod.class, ParentWithFieldAndMethod.class, InterfaceWithFieldAndMethod.class);
+        JavaClass child = classes.get(ChildWithFieldAndMethod.class);
+        JavaClass parent = classes.get(ParentWithFieldAndMethod.class);
+
+        assertThat(child.getAllSuperClasses()).isSameAs(child.getAllSuperClasses());
+        assertThat(child.getClassHierarchy()).isSameAs(child.getClassHierarchy());
+        assertThat(child.getAllInterfaces()).isSameAs(child.getAllInterfaces());
+        assertThat(child.getAllClassesSelfIsAssignableTo()).isSameAs(child.getAllClassesSelfIsAssignableTo());
+        assertThat(parent.getAllSubClasses()).containsOnly(child).isSameAs(parent.getAllSubClasses());
+    }
+
+    @Test
+    public void type_hierarchy_is_only_memoized_once_the_import_is_complete() {
+        JavaClasses classes = importClasses(ChildWithFieldAndMethod.class, ParentWithFieldAndMethod.class, InterfaceWithFieldAndMethod.class);
+        JavaClass parent = classes.get(ParentWithFieldAndMethod.class);
+        ClassGraph classGraphOfRunningImport = ClassGraph.of(ImmutableMap.of(
+                ChildWithFieldAndMethod.class.getName(), classes.get(ChildWithFieldAndMethod.class),
+                parent.getName(), parent));
+
+        assertThat(parent.getAllSubClasses()).as("sub classes while import is running").isNotSameAs(parent.getAllSubClasses());
+
+        classGraphOfRunningImport.markComplete();
+
+        assertThat(parent.getAllSubClasses()).as("sub classes once import is complete").isSameAs(parent.getAllSubClasses());
+    }
+
+    @Test
+    public void isAssignable_by_name_of_type_outside_of_hierarchy() {
+        JavaClass clazz = importClasses(ChildWithFieldAndMethod.class, ParentWithFieldAndMethod.class, InterfaceWithFieldAndMethod.class, Parent.class)
+                .get(ChildWithFieldAndMethod.class);
+
+        assertThat(clazz.isAssignableTo(Parent.class)).as("assignable to imported type outside of hierarchy").isFalse();
+        assertThat(clazz.isAssignableFrom(Parent.class)).as("assignable from imported type outside of hierarchy").isFalse();
+        assertThat(clazz.isAssignableTo("not.Imported")).as("assignable to type not imported").isFalse();
+        assertThat(clazz.isAssignableFrom("not.Imported")).as("assignable from type not imported").isFalse();
+    }
+
     @Test
     public void predicate_assignableFrom() {
         assertThatAssignable().from(SuperClassWithFieldAndMethod.class)
@@ -1452,6 +1575,20 @@ public class JavaClassTest {
         ANNOTATION_ARRAY_PARAMETER
     }
 
+    @SuppressWarnings("unused")
+    private static class CyclicDependencyA {
+        CyclicDependencyB b;
+    }
+
+    @SuppressWarnings("unused")
+    private static class CyclicDependencyB {
+        CyclicDependencyA a;
+        DependencyOfCycle dependency;
+    }
+
+    private static class DependencyOfCycle {
+    }
+
     @SuppressWarnings("ALL")
     private static class ClassWithSelfReferences extends Exception {
         static {
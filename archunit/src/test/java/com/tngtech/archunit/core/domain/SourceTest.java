@@ -7,14 +7,17 @@ import java.net.URL;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
 import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.Source.Checksum;
 import com.tngtech.archunit.core.domain.Source.Md5sum;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -157,6 +160,46 @@ public class SourceTest {
         assertThat(source.getMd5sum().asBytes()).isEqualTo(expectedMd5BytesAt(source.getUri().toURL()));
     }
 
+    @Test
+    @UseDataProvider("classes")
+    public void calculates_checksum_with_configured_algorithm(URL url) throws Exception {
+        Source source = new Source(url.toURI(), Optional.<String>absent(), false, Optional.of(Checksum.Algorithm.CRC32C));
+
+        assertThat(source.getMd5sum()).isEqualTo(Md5sum.DISABLED);
+        assertThat(source.getChecksum().getAlgorithm()).contains(Checksum.Algorithm.CRC32C);
+        assertThat(source.getChecksum().asBytes()).isEqualTo(Hashing.crc32c().hashBytes(bytesAt(url)).asBytes());
+    }
+
+    @Test
+    public void checksum_from_buffer_equals_checksum_from_uri() throws Exception {
+        URL url = urlOf(getClass());
+        byte[] bytes = bytesAt(url);
+        byte[] buffer = Arrays.copyOf(bytes, bytes.length + 100);
+
+        for (Checksum.Algorithm algorithm : Checksum.Algorithm.values()) {
+            Source fromUri = new Source(url.toURI(), Optional.<String>absent(), true, Optional.of(algorithm));
+            Source fromBuffer = new Source(url.toURI(), Optional.<String>absent(),
+                    Md5sum.of(buffer, bytes.length), Checksum.of(algorithm, buffer, bytes.length));
+
+            assertThat(fromBuffer).as("source digested from buffer with " + algorithm).isEqualTo(fromUri);
+        }
+    }
+
+    @Test
+    public void checksum_is_disabled_by_default() throws Exception {
+        Source source = new Source(urlOf(getClass()).toURI(), Optional.<String>absent(), true);
+
+        assertThat(source.getChecksum()).isEqualTo(Checksum.DISABLED);
+        assertThat(source.getChecksum().getAlgorithm()).isAbsent();
+    }
+
+    @Test
+    public void compensates_error_on_checksum_calculation() throws Exception {
+        Source source = new Source(new URI("bummer"), Optional.<String>absent(), false, Optional.of(Checksum.Algorithm.MURMUR3_128));
+
+        assertThat(source.getChecksum()).isEqualTo(Checksum.UNDETERMINED);
+    }
+
     private Source newSource(URL url) throws URISyntaxException {
         return newSource(url.toURI());
     }
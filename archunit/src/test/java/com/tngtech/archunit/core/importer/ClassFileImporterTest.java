@@ -1,5 +1,6 @@
 package com.tngtech.archunit.core.importer;
 
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
@@ -10,9 +11,11 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.net.JarURLConnection;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -30,9 +33,13 @@ import com.google.common.base.Predicate;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.ArchUnitException.ChecksumAlgorithmConfigurationException;
+import com.tngtech.archunit.base.ArchUnitException.ClassImportException;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.base.ForwardingCollection;
 import com.tngtech.archunit.base.Optional;
@@ -57,6 +64,7 @@ import com.tngtech.archunit.core.domain.JavaMethodCall;
 import com.tngtech.archunit.core.domain.JavaModifier;
 import com.tngtech.archunit.core.domain.JavaPackage;
 import com.tngtech.archunit.core.domain.Source;
+import com.tngtech.archunit.core.domain.Source.Checksum;
 import com.tngtech.archunit.core.domain.ThrowsDeclaration;
 import com.tngtech.archunit.core.domain.properties.HasName;
 import com.tngtech.archunit.core.domain.properties.HasOwner;
@@ -165,6 +173,8 @@ import com.tngtech.archunit.core.importer.testexamples.pathone.Class11;
 import com.tngtech.archunit.core.importer.testexamples.pathone.Class12;
 import com.tngtech.archunit.core.importer.testexamples.pathtwo.Class21;
 import com.tngtech.archunit.core.importer.testexamples.pathtwo.Class22;
+import com.tngtech.archunit.core.importer.testexamples.resolutionlimits.ClassWithDependency;
+import com.tngtech.archunit.core.importer.testexamples.resolutionlimits.DirectDependency;
 import com.tngtech.archunit.core.importer.testexamples.simpleimport.ClassToImportOne;
 import com.tngtech.archunit.core.importer.testexamples.simpleimport.ClassToImportTwo;
 import com.tngtech.archunit.core.importer.testexamples.simpleimport.EnumToImport;
@@ -183,10 +193,13 @@ import org.assertj.core.api.Condition;
 import org.assertj.core.util.Objects;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.objectweb.asm.ClassVisitor;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Predicates.containsPattern;
 import static com.google.common.base.Predicates.not;
@@ -230,6 +243,7 @@ import static com.tngtech.archunit.testutil.ReflectionTestUtils.method;
 import static com.tngtech.archunit.testutil.TestUtils.namesOf;
 import static com.tngtech.java.junit.dataprovider.DataProviders.testForEach;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
 import static org.junit.Assume.assumeTrue;
 
 @RunWith(DataProviderRunner.class)
@@ -244,6 +258,8 @@ public class ClassFileImporterTest {
     public final IndependentClasspathRule independentClasspathRule = new IndependentClasspathRule();
     @Rule
     public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule();
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
 
     @Test
     public void imports_simple_package() throws Exception {
@@ -2042,6 +2058,42 @@ public class ClassFileImporterTest {
         assertThat(clazz.getSuperClass().get().getMethods()).isEmpty();
     }
 
+    @Test
+    public void resolution_depth_can_be_limited() {
+        ArchConfiguration.get().unsetClassResolver();
+        ArchConfiguration.get().setResolveMissingDependenciesFromClassPath(true);
+
+        ArchConfiguration.get().setImportResolutionMaxDepth(1);
+        JavaClass directDependency = directDependencyOf(new ClassFileImporter().importClasses(ClassWithDependency.class));
+
+        assertThat(directDependency.getMethods()).as("methods of direct dependency").isNotEmpty();
+        assertThat(directDependency.getSuperClass().get().getMethods()).as("methods of super class of direct dependency").isNotEmpty();
+        assertThat(directDependency.getField("transitiveDependency").getRawType().getModifiers()).as("modifiers of stubbed transitive dependency").isEmpty();
+
+        ArchConfiguration.get().setImportResolutionMaxDepth(2);
+        directDependency = directDependencyOf(new ClassFileImporter().importClasses(ClassWithDependency.class));
+
+        assertThat(directDependency.getField("transitiveDependency").getRawType().getModifiers()).as("modifiers of transitive dependency").contains(PUBLIC);
+    }
+
+    @Test
+    public void number_of_resolved_classes_can_be_limited() {
+        ArchConfiguration.get().unsetClassResolver();
+        ArchConfiguration.get().setResolveMissingDependenciesFromClassPath(true);
+        ArchConfiguration.get().setImportResolutionMaxClasses(0);
+
+        JavaClass directDependency = directDependencyOf(new ClassFileImporter().importClasses(ClassWithDependency.class));
+
+        assertThat(directDependency.getName()).isEqualTo(DirectDependency.class.getName());
+        assertThat(directDependency.getModifiers()).as("modifiers of stubbed direct dependency").isEmpty();
+        assertThat(directDependency.getMethods()).as("methods of stubbed direct dependency").isEmpty();
+        assertThat(directDependency.getSuperClass()).as("super class of direct dependency").isAbsent();
+    }
+
+    private JavaClass directDependencyOf(JavaClasses classes) {
+        return getOnlyElement(classes.get(ClassWithDependency.class).getMethodCallsFromSelf()).getTargetOwner();
+    }
+
     @Test
     public void import_is_resilient_against_broken_class_files() throws Exception {
         Class<?> expectedClass = getClass();
@@ -2085,6 +2137,28 @@ public class ClassFileImporterTest {
         assertThat(source.getMd5sum()).isEqualTo(MD5_SUM_DISABLED);
     }
 
+    @Test
+    public void class_source_has_configured_checksum() throws Exception {
+        ArchConfiguration.get().setClassSourceChecksumAlgorithm("crc32c");
+
+        Source source = new ClassFileImporter().importClass(ClassToImportOne.class).getSource().get();
+
+        assertThat(source.getChecksum().getAlgorithm()).contains(Checksum.Algorithm.CRC32C);
+        assertThat(source.getChecksum().asBytes()).isEqualTo(Hashing.crc32c().hashBytes(bytesAt(urlOf(ClassToImportOne.class))).asBytes());
+    }
+
+    @Test
+    public void rejects_unknown_checksum_algorithm() {
+        ArchConfiguration.get().setClassSourceChecksumAlgorithm("crc-32");
+
+        thrown.expect(ChecksumAlgorithmConfigurationException.class);
+        thrown.expectMessage("'crc-32'");
+        thrown.expectMessage(ArchConfiguration.CLASS_SOURCE_CHECKSUM_ALGORITHM);
+        thrown.expectMessage("['CRC32C', 'FARMHASH_64', 'MURMUR3_128']");
+
+        new ClassFileImporter().importClass(ClassToImportOne.class);
+    }
+
     @Test
     public void imports_class_objects() {
         JavaClasses classes = new ClassFileImporter().importClasses(ClassToImportOne.class, ClassToImportTwo.class);
@@ -2148,6 +2222,268 @@ public class ClassFileImporterTest {
         assertThatClasses(importer.importJar(jarFileOf(Rule.class))).matchExactly(Rule.class);
     }
 
+    @Test
+    public void imports_classes_in_parallel_with_the_same_result_as_sequentially() throws Exception {
+        Path exampleFolder = Paths.get(urlOf(getClass()).toURI()).getParent().resolve("testexamples");
+        JavaClasses sequentiallyImported = new ClassFileImporter().importPath(exampleFolder);
+
+        ArchConfiguration.get().setImportParallelism(4);
+        JavaClasses importedInParallel = new ClassFileImporter().importPath(exampleFolder);
+
+        assertThat(namesOf(importedInParallel)).isEqualTo(namesOf(sequentiallyImported));
+        for (JavaClass expected : sequentiallyImported) {
+            JavaClass actual = importedInParallel.get(expected.getName());
+            assertThat(namesOf(actual.getMembers())).as("members of " + expected.getName())
+                    .isEqualTo(namesOf(expected.getMembers()));
+            assertThat(descriptionsOf(actual.getAccessesFromSelf())).as("accesses from " + expected.getName())
+                    .isEqualTo(descriptionsOf(expected.getAccessesFromSelf()));
+        }
+    }
+
+    @Test
+    public void imports_class_bytes_from_memory() throws Exception {
+        ByteBuffer heapBuffer = ByteBuffer.wrap(Files.readAllBytes(Paths.get(urlOf(ClassToImportOne.class).toURI())));
+        byte[] bytesOfTwo = Files.readAllBytes(Paths.get(urlOf(ClassToImportTwo.class).toURI()));
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytesOfTwo.length);
+        directBuffer.put(bytesOfTwo).flip();
+
+        JavaClasses classes = new ClassFileImporter().importClassBytes(ImmutableMap.of(
+                ClassToImportOne.class.getName(), heapBuffer,
+                ClassToImportTwo.class.getName(), directBuffer));
+
+        assertThatClasses(classes).matchInAnyOrder(ClassToImportOne.class, ClassToImportTwo.class);
+        assertThat(classes.get(ClassToImportOne.class).getSource().get().getUri())
+                .isEqualTo(URI.create("memory:/" + ClassToImportOne.class.getName().replace('.', '/') + ".class"));
+        assertThat(heapBuffer.remaining()).as("remaining bytes of passed buffer").isEqualTo(heapBuffer.capacity());
+        assertThat(directBuffer.remaining()).as("remaining bytes of passed buffer").isEqualTo(bytesOfTwo.length);
+    }
+
+    @Test
+    public void class_imported_from_memory_has_md5sum() throws Exception {
+        ArchConfiguration.get().setMd5InClassSourcesEnabled(true);
+        byte[] bytes = bytesAt(urlOf(ClassToImportOne.class));
+
+        JavaClasses classes = new ClassFileImporter().importClassBytes(ImmutableMap.of(ClassToImportOne.class.getName(), ByteBuffer.wrap(bytes)));
+
+        assertThat(classes.get(ClassToImportOne.class).getSource().get().getMd5sum()).isEqualTo(md5sumOf(bytes));
+    }
+
+    @Test
+    public void reimport_skips_classes_imported_from_memory() throws Exception {
+        JavaClasses previous = new ClassFileImporter().importClassBytes(ImmutableMap.of(ClassToImportOne.class.getName(),
+                ByteBuffer.wrap(Files.readAllBytes(Paths.get(urlOf(ClassToImportOne.class).toURI())))));
+
+        JavaClasses classes = new ClassFileImporter().reimport(previous, singleton(Location.of(urlOf(ClassToImportTwo.class))));
+
+        assertThatClasses(classes).matchInAnyOrder(ClassToImportTwo.class);
+    }
+
+    @Test
+    public void reimports_changed_locations() throws Exception {
+        File folder = temporaryFolder.newFolder();
+        copyClassFile(ClassToImportOne.class, folder);
+        copyClassFile(ClassToImportTwo.class, folder);
+        JavaClasses previous = new ClassFileImporter().importPath(folder.toPath());
+
+        Path removed = new File(folder, ClassToImportTwo.class.getSimpleName() + ".class").toPath();
+        Files.delete(removed);
+        copyClassFile(InterfaceToImport.class, folder);
+        Path added = new File(folder, InterfaceToImport.class.getSimpleName() + ".class").toPath();
+
+        JavaClasses classes = new ClassFileImporter().reimport(previous, ImmutableSet.of(Location.of(removed), Location.of(added)));
+
+        assertThatClasses(classes).matchInAnyOrder(ClassToImportOne.class, InterfaceToImport.class);
+    }
+
+    @Test
+    public void reimport_replays_unchanged_class_files_parsed_by_previous_import() throws Exception {
+        File folder = temporaryFolder.newFolder();
+        copyClassFile(ClassToImportOne.class, folder);
+        copyClassFile(ClassToImportTwo.class, folder);
+        JavaClasses previous = new ClassFileImporter().withReimportSupport().importPath(folder.toPath());
+
+        Path unchanged = new File(folder, ClassToImportOne.class.getSimpleName() + ".class").toPath();
+        Files.write(unchanged, new byte[]{1, 2, 3});
+        Path changed = new File(folder, ClassToImportTwo.class.getSimpleName() + ".class").toPath();
+
+        JavaClasses classes = new ClassFileImporter().reimport(previous, singleton(Location.of(changed)));
+
+        assertThatClasses(classes).matchInAnyOrder(ClassToImportOne.class, ClassToImportTwo.class);
+        assertThat(classes.get(ClassToImportOne.class).getConstructors()).as("constructors replayed from previous import").isNotEmpty();
+    }
+
+    @Test
+    public void reimport_parses_unchanged_class_files_again_without_reimport_support() throws Exception {
+        File folder = temporaryFolder.newFolder();
+        copyClassFile(ClassToImportOne.class, folder);
+        copyClassFile(ClassToImportTwo.class, folder);
+        JavaClasses previous = new ClassFileImporter().importPath(folder.toPath());
+
+        Path unchanged = new File(folder, ClassToImportOne.class.getSimpleName() + ".class").toPath();
+        Files.delete(unchanged);
+        Path changed = new File(folder, ClassToImportTwo.class.getSimpleName() + ".class").toPath();
+
+        JavaClasses classes = new ClassFileImporter().reimport(previous, singleton(Location.of(changed)));
+
+        assertThatClasses(classes).matchInAnyOrder(ClassToImportTwo.class);
+    }
+
+    @Test
+    public void reimport_only_considers_classes_within_whole_path_segments_of_deleted_locations_as_changed() throws Exception {
+        File root = temporaryFolder.newFolder();
+        File changedFolder = new File(root, "some");
+        File unchangedFolder = new File(root, "something");
+        checkState(changedFolder.mkdir() && unchangedFolder.mkdir());
+        copyClassFile(ClassToImportOne.class, changedFolder);
+        copyClassFile(ClassToImportTwo.class, unchangedFolder);
+        JavaClasses previous = new ClassFileImporter().importPath(root.toPath());
+
+        Files.delete(new File(changedFolder, ClassToImportOne.class.getSimpleName() + ".class").toPath());
+        Files.delete(changedFolder.toPath());
+        JavaClasses classes = new ClassFileImporter().reimport(previous, singleton(Location.of(changedFolder.toPath())));
+
+        assertThatClasses(classes).matchInAnyOrder(ClassToImportTwo.class);
+    }
+
+    @Test
+    public void reimports_changed_folders_with_the_same_result_as_a_full_import() throws Exception {
+        Path exampleFolder = Paths.get(urlOf(getClass()).toURI()).getParent().resolve("testexamples");
+        JavaClasses previous = new ClassFileImporter().importPath(exampleFolder);
+
+        JavaClasses reimported = new ClassFileImporter().reimport(previous,
+                singleton(Location.of(exampleFolder.resolve("simpleimport"))));
+
+        assertThat(namesOf(reimported)).isEqualTo(namesOf(previous));
+        for (JavaClass expected : previous) {
+            assertThat(descriptionsOf(reimported.get(expected.getName()).getAccessesFromSelf())).as("accesses from " + expected.getName())
+                    .isEqualTo(descriptionsOf(expected.getAccessesFromSelf()));
+        }
+    }
+
+    @Test
+    public void imports_exported_snapshot_without_original_class_files() throws Exception {
+        Path exampleFolder = Paths.get(urlOf(getClass()).toURI()).getParent().resolve("testexamples");
+        JavaClasses original = new ClassFileImporter().importPath(exampleFolder);
+        Path snapshot = temporaryFolder.newFile("classes.snapshot").toPath();
+        new ClassFileImporter().exportSnapshot(original, snapshot);
+
+        JavaClasses fromSnapshot = new ClassFileImporter().importSnapshot(snapshot);
+
+        assertThat(namesOf(fromSnapshot)).isEqualTo(namesOf(original));
+        for (JavaClass expected : original) {
+            JavaClass actual = fromSnapshot.get(expected.getName());
+            assertThat(namesOf(actual.getMembers())).as("members of " + expected.getName())
+                    .isEqualTo(namesOf(expected.getMembers()));
+            assertThat(descriptionsOf(actual.getAccessesFromSelf())).as("accesses from " + expected.getName())
+                    .isEqualTo(descriptionsOf(expected.getAccessesFromSelf()));
+            assertThat(namesOf(actual.getAllInterfaces())).as("interfaces of " + expected.getName())
+                    .isEqualTo(namesOf(expected.getAllInterfaces()));
+            assertThat(actual.getAnnotations()).as("annotations of " + expected.getName())
+                    .hasSameSizeAs(expected.getAnnotations());
+            assertThat(actual.getSource().get().getUri()).isEqualTo(expected.getSource().get().getUri());
+        }
+    }
+
+    @Test
+    public void imports_snapshot_with_import_detail_it_was_exported_with() throws Exception {
+        JavaClasses original = new ClassFileImporter().importClasses(ClassWithComplexMethod.class);
+        Path snapshot = temporaryFolder.newFile("classes.snapshot").toPath();
+        new ClassFileImporter().withImportDetail(ImportDetail.MEMBERS).exportSnapshot(original, snapshot);
+
+        JavaClass fromSnapshot = new ClassFileImporter().importSnapshot(snapshot).get(ClassWithComplexMethod.class);
+
+        assertThat(namesOf(fromSnapshot.getMembers())).isEqualTo(namesOf(original.get(ClassWithComplexMethod.class).getMembers()));
+        assertThat(fromSnapshot.getAccessesFromSelf()).isEmpty();
+    }
+
+    @Test
+    public void imports_same_accesses_if_access_records_are_spilled_to_disk() throws Exception {
+        Set<String> expectedAccesses = accessDescriptionsOf(classesIn("testexamples/callimport"));
+
+        ArchConfiguration.get().setImportAccessRecordsHeapBudgetInMegabytes(0);
+        Set<String> accesses = accessDescriptionsOf(classesIn("testexamples/callimport"));
+
+        assertThat(accesses).isNotEmpty().isEqualTo(expectedAccesses);
+    }
+
+    @Test
+    public void imports_selected_classes_of_snapshot_and_resolves_other_classes_from_snapshot() throws Exception {
+        Path exampleFolder = Paths.get(urlOf(getClass()).toURI()).getParent().resolve("testexamples").resolve("resolutionlimits");
+        Path snapshot = temporaryFolder.newFile("classes.snapshot").toPath();
+        new ClassFileImporter().exportSnapshot(new ClassFileImporter().importPath(exampleFolder), snapshot);
+        ArchConfiguration.get().setResolveMissingDependenciesFromClassPath(false);
+
+        JavaClasses classes = new ClassFileImporter()
+                .withImportOption(new ImportOption() {
+                    @Override
+                    public boolean includes(Location location) {
+                        return location.contains(ClassWithDependency.class.getSimpleName());
+                    }
+                })
+                .importSnapshot(snapshot);
+
+        assertThatClasses(classes).matchInAnyOrder(ClassWithDependency.class);
+        JavaClass directDependency = directDependencyOf(classes);
+        assertThat(directDependency.getMethods()).as("methods of dependency resolved from snapshot").isNotEmpty();
+        assertThat(directDependency.getSuperClass().get().getMethods()).as("methods of super class resolved from snapshot").isNotEmpty();
+    }
+
+    @Test
+    public void snapshot_can_not_be_replayed_anymore_once_closed() throws Exception {
+        Path snapshotFile = temporaryFolder.newFile("classes.snapshot").toPath();
+        new ClassFileImporter().exportSnapshot(new ClassFileImporter().importClasses(ClassWithComplexMethod.class), snapshotFile);
+        ClassFileSnapshot snapshot = ClassFileSnapshot.read(snapshotFile);
+        URI uri = getOnlyElement(snapshot.select(new ImportOptions())).getUri();
+        snapshot.replay(uri, new ClassVisitor(ClassFileProcessor.ASM_API_VERSION) {
+        });
+
+        snapshot.close();
+
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("has already been closed");
+        snapshot.replay(uri, new ClassVisitor(ClassFileProcessor.ASM_API_VERSION) {
+        });
+    }
+
+    @Test
+    public void rejects_snapshot_of_incompatible_version() throws Exception {
+        Path snapshot = temporaryFolder.newFile("classes.snapshot").toPath();
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(snapshot))) {
+            out.writeInt(ClassFileSnapshot.MAGIC);
+            out.writeInt(ClassFileSnapshot.FORMAT_VERSION + 1);
+            out.writeInt(RecordedClassFile.FORMAT_VERSION);
+        }
+
+        thrown.expect(ClassImportException.class);
+        thrown.expectMessage("please export the snapshot again");
+
+        new ClassFileImporter().importSnapshot(snapshot);
+    }
+
+    @Test
+    public void imports_only_hierarchy_and_annotations_with_import_detail_HIERARCHY_ONLY() {
+        JavaClass javaClass = new ClassFileImporter().withImportDetail(ImportDetail.HIERARCHY_ONLY)
+                .importClasses(ClassFileImporterTest.class).get(ClassFileImporterTest.class);
+
+        assertThat(javaClass.getSuperClass().get().getName()).isEqualTo(Object.class.getName());
+        assertThat(javaClass.isAnnotatedWith(RunWith.class)).as("annotated with @RunWith").isTrue();
+        assertThat(javaClass.getMembers()).isEmpty();
+        assertThat(javaClass.getAccessesFromSelf()).isEmpty();
+    }
+
+    @Test
+    public void imports_members_without_accesses_with_import_detail_MEMBERS() {
+        JavaClass javaClass = new ClassFileImporter().withImportDetail(ImportDetail.MEMBERS)
+                .importClasses(ClassFileImporterTest.class).get(ClassFileImporterTest.class);
+        JavaClass fullyImported = new ClassFileImporter().importClasses(ClassFileImporterTest.class).get(ClassFileImporterTest.class);
+
+        assertThat(namesOf(javaClass.getMembers())).isEqualTo(namesOf(fullyImported.getMembers()));
+        assertThat(javaClass.getMethod("imports_members_without_accesses_with_import_detail_MEMBERS").isAnnotatedWith(Test.class))
+                .as("method annotated with @Test").isTrue();
+        assertThat(javaClass.getAccessesFromSelf()).isEmpty();
+        assertThat(fullyImported.getAccessesFromSelf()).isNotEmpty();
+    }
+
     @Test
     public void is_resilient_against_broken_ClassFileSources() throws MalformedURLException {
         JavaClasses classes = new ClassFileImporter().importUrl(new File("/broken.class").toURI().toURL());
@@ -2165,6 +2501,14 @@ public class ClassFileImporterTest {
         assertThat(classes.get(clazz.getName()).getSimpleName()).isEqualTo(clazz.getSimpleName());
     }
 
+    private Set<String> descriptionsOf(Set<JavaAccess<?>> accesses) {
+        Set<String> result = new HashSet<>();
+        for (JavaAccess<?> access : accesses) {
+            result.add(access.getDescription());
+        }
+        return result;
+    }
+
     private Set<Dependency> withoutJavaLangTargets(Set<Dependency> dependencies) {
         Set<Dependency> result = new HashSet<>();
         for (Dependency dependency : dependencies) {
@@ -2341,6 +2685,16 @@ public class ClassFileImporterTest {
         return checkNotNull(result, "No object with name '" + name + "' is present in " + thingsWithName);
     }
 
+    private static Set<String> accessDescriptionsOf(Iterable<JavaClass> classes) {
+        Set<String> result = new HashSet<>();
+        for (JavaClass javaClass : classes) {
+            for (JavaAccess<?> access : javaClass.getAccessesFromSelf()) {
+                result.add(access.getDescription());
+            }
+        }
+        return result;
+    }
+
     private ImportedClasses classesIn(String path) throws Exception {
         return new ImportedClasses(path);
     }
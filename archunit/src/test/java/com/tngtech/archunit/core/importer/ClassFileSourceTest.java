@@ -7,10 +7,13 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Paths;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.jar.JarFile;
 
 import com.google.common.collect.ImmutableSet;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
@@ -32,6 +35,8 @@ public class ClassFileSourceTest {
 
     @Rule
     public final TemporaryFolder tempDir = new TemporaryFolder();
+    @Rule
+    public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule();
 
     @DataProvider
     public static Object[][] expected_classes() {
@@ -89,6 +94,42 @@ public class ClassFileSourceTest {
         assertSourceMatches(source, expectedIncluded);
     }
 
+    @Test
+    @UseDataProvider("expected_classes")
+    public void classes_from_file_path_are_filtered_when_walked_in_parallel(
+            Set<String> givenFiles, ImportOptions importOptions, final Set<String> expectedIncluded) throws IOException {
+        ArchConfiguration.get().setImportParallelism(4);
+
+        classes_from_file_path_are_filtered(givenFiles, importOptions, expectedIncluded);
+    }
+
+    @Test
+    public void skips_directories_pruned_by_import_option() throws IOException {
+        File dir = tempDir.newFolder();
+        for (String file : ImmutableSet.of("/one/Foo.class", "/two/Bar.class", "/two/sub/Baz.class")) {
+            File newFile = new File(dir, file);
+            checkArgument(newFile.getParentFile().exists() || newFile.getParentFile().mkdirs());
+            checkState(newFile.createNewFile());
+        }
+        final Set<Location> evaluatedLocations = new HashSet<>();
+
+        ClassFileSource source = Location.of(dir.toPath()).asClassFileSource(new ImportOptions().with(new ImportOption.PrunesDirectories() {
+            @Override
+            public boolean mayIncludeClassesIn(Location directory) {
+                return !directory.contains("/two/");
+            }
+
+            @Override
+            public boolean includes(Location location) {
+                evaluatedLocations.add(location);
+                return !location.contains("/two/");
+            }
+        }));
+
+        assertSourceMatches(source, ImmutableSet.of("/one/Foo.class"));
+        assertThat(evaluatedLocations).as("evaluated locations").containsOnly(Location.of(new File(dir, "/one/Foo.class").toPath()));
+    }
+
     @Test
     public void filters_out_module_infos_in_Jar_location() {
         String onlyExpectedEntry = "pkg/Some.class";
@@ -0,0 +1,152 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.Source.Checksum;
+import com.tngtech.archunit.core.importer.testexamples.annotatedclassimport.ClassWithComplexAnnotations;
+import com.tngtech.archunit.core.importer.testexamples.annotatedclassimport.TypeAnnotationWithEnumAndArrayValue;
+import com.tngtech.archunit.core.importer.testexamples.complexmethodimport.ClassWithComplexMethod;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.tngtech.archunit.core.domain.SourceTest.urlOf;
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+import static com.tngtech.archunit.testutil.TestUtils.namesOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assume.assumeTrue;
+
+public class ImportCacheTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    @Rule
+    public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule();
+
+    @Test
+    public void imports_unchanged_class_files_from_cache() throws Exception {
+        Path classFile = copyClassFile(ClassWithComplexMethod.class);
+        ArchConfiguration.get().setImportCachePath(temporaryFolder.newFolder("cache").toPath());
+
+        JavaClass parsed = importSingleClass(classFile);
+        FileTime lastModified = Files.getLastModifiedTime(classFile);
+        overwriteKeepingSizeAndModificationTime(classFile, lastModified);
+
+        JavaClass fromCache = importSingleClass(classFile);
+
+        assertThat(fromCache.getName()).isEqualTo(parsed.getName());
+        assertThat(fromCache.getMethodCallsFromSelf()).hasSameSizeAs(parsed.getMethodCallsFromSelf());
+        assertThat(fromCache.getFieldAccessesFromSelf()).hasSameSizeAs(parsed.getFieldAccessesFromSelf());
+        assertThat(fromCache.getMethods()).hasSameSizeAs(parsed.getMethods());
+    }
+
+    @Test
+    public void reparses_modified_class_files() throws Exception {
+        Path classFile = copyClassFile(ClassWithComplexAnnotations.class);
+        ArchConfiguration.get().setImportCachePath(temporaryFolder.newFolder("cache").toPath());
+
+        importSingleClass(classFile);
+        Files.write(classFile, "broken".getBytes(UTF_8));
+
+        JavaClasses classes = new ClassFileImporter().importPath(classFile);
+
+        assertThat(classes).isEmpty();
+    }
+
+    @Test
+    public void cached_import_equals_original_import() throws Exception {
+        Path classFile = copyClassFile(ClassWithComplexAnnotations.class);
+        JavaClass withoutCache = importSingleClass(classFile);
+
+        ArchConfiguration.get().setImportCachePath(temporaryFolder.newFolder("cache").toPath());
+        importSingleClass(classFile);
+        JavaClass fromCache = importSingleClass(classFile);
+
+        assertThat(fromCache.getAnnotations()).hasSameSizeAs(withoutCache.getAnnotations());
+        assertThat(fromCache.getAnnotationOfType(TypeAnnotationWithEnumAndArrayValue.class).classes())
+                .isEqualTo(withoutCache.getAnnotationOfType(TypeAnnotationWithEnumAndArrayValue.class).classes());
+        assertThat(fromCache.getSource().get().getUri()).isEqualTo(withoutCache.getSource().get().getUri());
+        assertThat(fromCache.getModifiers()).isEqualTo(withoutCache.getModifiers());
+        assertThat(namesOf(fromCache.getAllInterfaces())).isEqualTo(namesOf(withoutCache.getAllInterfaces()));
+    }
+
+    @Test
+    public void replays_jdk_classes_from_snapshot_of_current_runtime() throws Exception {
+        assumeTrue("Classes are only located within the runtime image (jrt:/) from Java 9 on",
+                Files.exists(Paths.get(System.getProperty("java.home"), "lib", "modules")));
+        Path snapshotPath = temporaryFolder.newFolder("jdk").toPath();
+        ArchConfiguration.get().setImportJdkSnapshotPath(snapshotPath);
+        CountingClassFileLocation location = new CountingClassFileLocation(
+                URI.create("jrt:/java.base/java/lang/SomeJdkClass.class"), ClassWithComplexMethod.class);
+
+        byte[] parsed = visitWithNewImportCache(location);
+        byte[] replayed = visitWithNewImportCache(location);
+
+        assertThat(replayed).isEqualTo(parsed);
+        assertThat(location.timesOpened).as("times class file was opened").isEqualTo(1);
+        assertThat(snapshotPath.toFile().list()).as("snapshots of runtime versions").hasSize(1);
+    }
+
+    private byte[] visitWithNewImportCache(ClassFileLocation location) throws IOException {
+        RecordedClassFile.Recorder recorder = RecordedClassFile.recordWhileVisiting(null);
+        ImportCache.fromConfiguration(ImportDetail.FULL_ACCESSES)
+                .accept(location, recorder, new SourceDescriptor(location.getUri(), false, Optional.<Checksum.Algorithm>absent()));
+        return recorder.toByteArray();
+    }
+
+    private JavaClass importSingleClass(Path classFile) {
+        JavaClasses classes = new ClassFileImporter().importPath(classFile);
+        assertThat(classes).hasSize(1);
+        return classes.iterator().next();
+    }
+
+    private void overwriteKeepingSizeAndModificationTime(Path classFile, FileTime lastModified) throws IOException {
+        byte[] garbage = new byte[(int) Files.size(classFile)];
+        Files.write(classFile, garbage);
+        Files.setLastModifiedTime(classFile, lastModified);
+    }
+
+    private static class CountingClassFileLocation implements ClassFileLocation {
+        private final URI uri;
+        private final Class<?> actualClass;
+        private int timesOpened;
+
+        CountingClassFileLocation(URI uri, Class<?> actualClass) {
+            this.uri = uri;
+            this.actualClass = actualClass;
+        }
+
+        @Override
+        public InputStream openStream() {
+            timesOpened++;
+            try {
+                return urlOf(actualClass).openStream();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public URI getUri() {
+            return uri;
+        }
+    }
+
+    private Path copyClassFile(Class<?> clazz) throws Exception {
+        File folder = temporaryFolder.newFolder();
+        Path target = new File(folder, clazz.getSimpleName() + ".class").toPath();
+        Files.copy(Paths.get(urlOf(clazz).toURI()), target);
+        return target;
+    }
+}
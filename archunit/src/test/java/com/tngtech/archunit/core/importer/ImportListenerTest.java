@@ -0,0 +1,183 @@
+package com.tngtech.archunit.core.importer;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.ArchUnitException.ImportListenerConfigurationException;
+import com.tngtech.archunit.base.ArchUnitException.UnsupportedUriSchemeException;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ImportListener.Phase;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
+import com.tngtech.archunit.core.importer.testexamples.hierarchicalmethodcall.CallOfSuperAndSubClassMethod;
+import com.tngtech.archunit.core.importer.testexamples.hierarchicalmethodcall.SubClassWithCalledMethod;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static com.tngtech.archunit.core.importer.ImportListener.Phase.CREATE_CLASS_GRAPH;
+import static com.tngtech.archunit.core.importer.ImportListener.Phase.LOCATE_CLASS_FILES;
+import static com.tngtech.archunit.core.importer.ImportListener.Phase.READ_CLASS_FILES;
+import static com.tngtech.archunit.core.importer.ImportListener.Phase.RESOLVE_CLASSES;
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+
+public class ImportListenerTest {
+    @Rule
+    public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule();
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void notifies_listener_about_phases_and_statistics() {
+        RecordingListener listener = new RecordingListener();
+
+        new ClassFileImporter().withImportListener(listener)
+                .importClasses(CallOfSuperAndSubClassMethod.class, SubClassWithCalledMethod.class);
+
+        assertThat(listener.events).containsExactly(
+                "started " + LOCATE_CLASS_FILES, "finished " + LOCATE_CLASS_FILES,
+                "started " + READ_CLASS_FILES, "finished " + READ_CLASS_FILES,
+                "started " + RESOLVE_CLASSES, "finished " + RESOLVE_CLASSES,
+                "started " + CREATE_CLASS_GRAPH, "finished " + CREATE_CLASS_GRAPH,
+                "import finished");
+        assertThat(listener.statistics.getNumberOfImportedClasses()).isEqualTo(2);
+        assertThat(listener.statistics.getNumberOfAccesses()).isGreaterThan(0);
+        assertThat(listener.statistics.getNumberOfResolvedClasses()).as("resolved classes, e.g. the super class").isGreaterThan(0);
+        assertThat(listener.statistics.getBytesRead()).isGreaterThan(0);
+    }
+
+    @Test
+    public void finishes_all_started_phases_and_the_import_if_the_import_fails() {
+        ArchConfiguration.get().setClassResolver(FailingClassResolver.class);
+        RecordingListener listener = new RecordingListener();
+
+        try {
+            new ClassFileImporter().withImportListener(listener)
+                    .importClasses(CallOfSuperAndSubClassMethod.class);
+            throw new AssertionError("Import should have failed");
+        } catch (IllegalStateException expected) {
+        }
+
+        assertThat(listener.events).containsExactly(
+                "started " + LOCATE_CLASS_FILES, "finished " + LOCATE_CLASS_FILES,
+                "started " + READ_CLASS_FILES, "finished " + READ_CLASS_FILES,
+                "started " + RESOLVE_CLASSES, "finished " + RESOLVE_CLASSES,
+                "import finished");
+    }
+
+    @Test
+    public void finishes_the_import_if_the_locations_can_not_be_resolved() throws MalformedURLException {
+        RecordingListener listener = new RecordingListener();
+
+        try {
+            new ClassFileImporter().withImportListener(listener)
+                    .importUrl(new URL("http://example.com/classes/"));
+            throw new AssertionError("Import should have failed");
+        } catch (UnsupportedUriSchemeException expected) {
+        }
+
+        assertThat(listener.events).containsExactly(
+                "started " + LOCATE_CLASS_FILES, "finished " + LOCATE_CLASS_FILES,
+                "import finished");
+    }
+
+    @Test
+    public void reports_classes_stubbed_because_of_resolution_limits() {
+        ArchConfiguration.get().setImportResolutionMaxClasses(0);
+        RecordingListener listener = new RecordingListener();
+
+        new ClassFileImporter().withImportListener(listener)
+                .importClasses(CallOfSuperAndSubClassMethod.class);
+
+        assertThat(listener.statistics.getNumberOfResolvedClasses()).isZero();
+        assertThat(listener.statistics.getNumberOfStubbedClasses()).as("stubbed classes, e.g. the called class").isGreaterThan(0);
+    }
+
+    @Test
+    public void notifies_listeners_configured_in_archunit_properties() {
+        ArchConfiguration.get().setImportListeners(StaticRecordingListener.class.getName());
+        StaticRecordingListener.events.clear();
+
+        new ClassFileImporter().importClasses(SubClassWithCalledMethod.class);
+
+        assertThat(StaticRecordingListener.events).contains("import finished");
+    }
+
+    @Test
+    public void rejects_configured_listeners_that_cannot_be_created() {
+        ArchConfiguration.get().setImportListeners(Object.class.getName());
+
+        thrown.expect(ImportListenerConfigurationException.class);
+        thrown.expectMessage(Object.class.getName());
+
+        new ClassFileImporter().importClasses(SubClassWithCalledMethod.class);
+    }
+
+    @Test
+    public void summarizes_statistics() {
+        RecordingListener listener = new RecordingListener();
+
+        new ClassFileImporter().withImportListener(listener).withImportListener(new ImportSummaryLogger())
+                .importClasses(SubClassWithCalledMethod.class);
+
+        assertThat(listener.statistics.toString()).startsWith("Imported 1 classes");
+        long sumOfPhases = 0;
+        for (Phase phase : Phase.values()) {
+            sumOfPhases += listener.statistics.getDurationMillis(phase);
+        }
+        assertThat(listener.statistics.getTotalDurationMillis()).isEqualTo(sumOfPhases);
+    }
+
+    private static class RecordingListener implements ImportListener {
+        final List<String> events = new ArrayList<>();
+        ImportStatistics statistics;
+
+        @Override
+        public void onPhaseStarted(Phase phase) {
+            events.add("started " + phase);
+        }
+
+        @Override
+        public void onPhaseFinished(Phase phase, long durationMillis) {
+            events.add("finished " + phase);
+        }
+
+        @Override
+        public void onImportFinished(ImportStatistics statistics) {
+            events.add("import finished");
+            this.statistics = statistics;
+        }
+    }
+
+    public static class FailingClassResolver implements ClassResolver {
+        @Override
+        public void setClassUriImporter(ClassUriImporter classUriImporter) {
+        }
+
+        @Override
+        public Optional<JavaClass> tryResolve(String typeName) {
+            throw new IllegalStateException("Resolution failed");
+        }
+    }
+
+    public static class StaticRecordingListener implements ImportListener {
+        static final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onPhaseStarted(Phase phase) {
+        }
+
+        @Override
+        public void onPhaseFinished(Phase phase, long durationMillis) {
+        }
+
+        @Override
+        public void onImportFinished(ImportStatistics statistics) {
+            events.add("import finished");
+        }
+    }
+}
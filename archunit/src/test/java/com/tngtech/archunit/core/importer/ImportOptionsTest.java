@@ -81,6 +81,8 @@ public class ImportOptionsTest {
 
         assertThat(doNotIncludeTests.includes(Location.of(targetFile.toPath())))
                 .as("includes location %s", targetFile.getAbsolutePath()).isEqualTo(expectedInclude);
+        assertThat(((ImportOption.PrunesDirectories) doNotIncludeTests).mayIncludeClassesIn(Location.of(folder.toPath())))
+                .as("may include classes in %s", folder.getAbsolutePath()).isEqualTo(expectedInclude);
     }
 
     @DataProvider
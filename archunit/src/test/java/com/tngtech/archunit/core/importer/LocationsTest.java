@@ -1,5 +1,6 @@
 package com.tngtech.archunit.core.importer;
 
+import java.io.File;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
@@ -11,7 +12,9 @@ import com.google.common.collect.ImmutableList;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.tngtech.archunit.core.importer.LocationTest.urlOfClass;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,6 +22,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class LocationsTest {
     @Rule
     public final IndependentClasspathRule independentClasspathRule = new IndependentClasspathRule();
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @Test
     public void locations_of_URLs() throws Exception {
@@ -71,6 +76,29 @@ public class LocationsTest {
                 .hasSize(independentClasspathRule.getNamesOfClasses().size());
     }
 
+    @Test
+    public void locations_of_packages_reflect_changes_of_the_classpath() {
+        String independentPackage = independentClasspathRule.getIndependentTopLevelPackage();
+        assertThat(Locations.ofPackage(independentPackage)).isEmpty();
+
+        independentClasspathRule.configureClasspath();
+
+        assertThat(Locations.ofPackage(independentPackage)).hasSize(1);
+    }
+
+    @Test
+    public void locations_of_packages_reflect_changes_of_classpath_directories() throws Exception {
+        File classpathDirectory = temporaryFolder.newFolder();
+        System.setProperty("java.class.path", classpathDirectory.getAbsolutePath());
+        assertThat(Locations.ofPackage("some.pkg")).isEmpty();
+
+        File packageDirectory = new File(classpathDirectory, "some/pkg");
+        checkState(packageDirectory.mkdirs());
+        checkState(new File(packageDirectory, "SomeClass.class").createNewFile());
+
+        assertThat(urisOf(Locations.ofPackage("some.pkg"))).containsOnly(packageDirectory.toURI());
+    }
+
     @Test
     public void locations_of_packages_from_mixed_URIs() {
         Set<Location> locations = Locations.ofPackage("com.tngtech");
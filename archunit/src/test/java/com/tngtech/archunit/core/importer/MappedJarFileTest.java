@@ -0,0 +1,113 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import com.google.common.io.ByteStreams;
+import com.tngtech.archunit.core.importer.testexamples.complexmethodimport.ClassWithComplexMethod;
+import com.tngtech.archunit.core.importer.testexamples.simpleimport.ClassToImportOne;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+
+public class MappedJarFileTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void reads_the_same_entries_as_JarFile() throws IOException {
+        File file = temporaryFolder.newFile("test.jar");
+        JarFile jarFile = new TestJarFile()
+                .withEntry(classFileResource(ClassToImportOne.class))
+                .withEntry(classFileResource(ClassWithComplexMethod.class))
+                .create(file);
+
+        try (MappedJarFile mappedJarFile = MappedJarFile.tryOpen(file).get()) {
+            assertThat(contentsOf(mappedJarFile)).isEqualTo(contentsOf(jarFile));
+        }
+    }
+
+    @Test
+    public void maps_modified_archive_again() throws IOException {
+        File file = temporaryFolder.newFile("test.jar");
+        new TestJarFile().withEntry(classFileResource(ClassToImportOne.class)).create(file);
+        MappedJarFile.tryOpen(file).get().close();
+
+        JarFile modified = new TestJarFile()
+                .withEntry(classFileResource(ClassToImportOne.class))
+                .withEntry(classFileResource(ClassWithComplexMethod.class))
+                .create(file);
+
+        try (MappedJarFile mappedJarFile = MappedJarFile.tryOpen(file).get()) {
+            assertThat(contentsOf(mappedJarFile)).isEqualTo(contentsOf(modified));
+        }
+    }
+
+    @Test
+    public void maps_each_archive_only_once_per_scope() throws IOException {
+        File file = temporaryFolder.newFile("test.jar");
+        new TestJarFile().withEntry(classFileResource(ClassToImportOne.class)).create(file);
+
+        try (MappedJarFile.Scope scope = new MappedJarFile.Scope()) {
+            assertThat(scope.tryOpen(file).get()).isSameAs(scope.tryOpen(file).get());
+        }
+    }
+
+    @Test
+    public void releases_archives_when_scope_is_closed() throws IOException {
+        File file = temporaryFolder.newFile("test.jar");
+        new TestJarFile().withEntry(classFileResource(ClassToImportOne.class)).create(file);
+
+        MappedJarFile mappedJarFile;
+        try (MappedJarFile.Scope scope = new MappedJarFile.Scope()) {
+            mappedJarFile = scope.tryOpen(file).get();
+        }
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage("has already been closed");
+        mappedJarFile.openStream(mappedJarFile.getEntries().iterator().next());
+    }
+
+    @Test
+    public void reports_absent_for_files_that_are_no_archives() throws IOException {
+        File file = temporaryFolder.newFile("broken.jar");
+
+        assertThat(MappedJarFile.tryOpen(file)).isAbsent();
+        assertThat(MappedJarFile.tryOpen(new File(file.getParentFile(), "missing.jar"))).isAbsent();
+    }
+
+    private Map<String, String> contentsOf(MappedJarFile jarFile) throws IOException {
+        Map<String, String> result = new HashMap<>();
+        for (MappedJarFile.Entry entry : jarFile.getEntries()) {
+            try (InputStream in = jarFile.openStream(entry)) {
+                result.put(entry.getName(), new String(ByteStreams.toByteArray(in), "ISO-8859-1"));
+            }
+        }
+        return result;
+    }
+
+    private Map<String, String> contentsOf(JarFile jarFile) throws IOException {
+        Map<String, String> result = new HashMap<>();
+        for (JarEntry entry : Collections.list(jarFile.entries())) {
+            try (InputStream in = jarFile.getInputStream(entry)) {
+                result.put(entry.getName(), new String(ByteStreams.toByteArray(in), "ISO-8859-1"));
+            }
+        }
+        return result;
+    }
+
+    private static String classFileResource(Class<?> clazz) {
+        return String.format("/%s.class", clazz.getName().replace('.', '/'));
+    }
+}
@@ -0,0 +1,51 @@
+package com.tngtech.archunit.core.importer;
+
+import java.util.Collections;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaType;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import com.tngtech.archunit.core.importer.RawAccessRecord.MethodTargetInfo;
+import com.tngtech.archunit.core.importer.testexamples.hierarchicalmethodcall.CallOfSuperAndSubClassMethod;
+import com.tngtech.archunit.core.importer.testexamples.hierarchicalmethodcall.SubClassWithCalledMethod;
+import com.tngtech.archunit.core.importer.testexamples.hierarchicalmethodcall.SuperClassWithCalledMethod;
+import org.junit.Test;
+
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+
+public class MemberIndexTest {
+    private final JavaClasses classes = new ClassFileImporter().importClasses(
+            CallOfSuperAndSubClassMethod.class, SubClassWithCalledMethod.class, SuperClassWithCalledMethod.class);
+    private final MemberIndex index = new MemberIndex();
+
+    @Test
+    public void finds_caller_by_name_and_descriptor() {
+        CodeUnit caller = new CodeUnit("callSubClassMethod", "()I", Collections.<String>emptyList(), CallOfSuperAndSubClassMethod.class.getName());
+
+        assertThat(index.getCaller(caller, importedClasses()))
+                .isEqualTo(classes.get(CallOfSuperAndSubClassMethod.class).getMethod("callSubClassMethod"));
+    }
+
+    @Test
+    public void finds_method_candidates_within_the_class_hierarchy() {
+        JavaClass subClass = classes.get(SubClassWithCalledMethod.class);
+        JavaClass superClass = classes.get(SuperClassWithCalledMethod.class);
+
+        assertThat(index.getMethodCandidates(subClass, methodTarget("maskedMethod", "()I")))
+                .containsOnly(subClass.getMethod("maskedMethod"), superClass.getMethod("maskedMethod"));
+        assertThat(index.getMethodCandidates(subClass, methodTarget("method", "()Ljava/lang/String;")))
+                .containsOnly(superClass.getMethod("method"));
+        assertThat(index.getMethodCandidates(subClass, methodTarget("method", "()I"))).isEmpty();
+    }
+
+    private ImportedClasses importedClasses() {
+        return new ImportedClasses(
+                Collections.singletonMap(CallOfSuperAndSubClassMethod.class.getName(), classes.get(CallOfSuperAndSubClassMethod.class)),
+                null);
+    }
+
+    private static MethodTargetInfo methodTarget(String name, String descriptor) {
+        return new MethodTargetInfo(JavaType.From.name(SubClassWithCalledMethod.class.getName()), name, descriptor);
+    }
+}
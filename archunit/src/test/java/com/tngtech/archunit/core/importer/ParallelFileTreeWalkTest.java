@@ -0,0 +1,116 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelFileTreeWalkTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void walks_all_files_of_nested_directories() throws IOException {
+        File root = temporaryFolder.newFolder();
+        Set<Path> expected = createFiles(root, "Top.class", "a/A.class", "a/b/B.class", "a/b/c/C.class", "d/D.class", "d/e/E.class");
+
+        ParallelFileTreeWalk walk = new ParallelFileTreeWalk(root.toPath(), visitAll(), 4);
+
+        assertThat(ImmutableSet.copyOf(walk)).containsOnlyElementsOf(expected).hasSameSizeAs(expected);
+        assertThat(ImmutableSet.copyOf(walk)).as("second walk").hasSameSizeAs(expected);
+    }
+
+    @Test
+    public void skips_directories_and_files_rejected_by_visitor() throws IOException {
+        File root = temporaryFolder.newFolder();
+        Set<Path> expected = createFiles(root, "a/A.class", "a/b/B.class");
+        createFiles(root, "a/A.txt", "skipped/S.class", "a/skipped/S.class");
+
+        ParallelFileTreeWalk walk = new ParallelFileTreeWalk(root.toPath(), new ParallelFileTreeWalk.Visitor() {
+            @Override
+            public boolean shouldEnter(Path directory) {
+                return !directory.getFileName().toString().equals("skipped");
+            }
+
+            @Override
+            public boolean shouldInclude(Path file) {
+                return file.toString().endsWith(".class");
+            }
+        }, 2);
+
+        assertThat(ImmutableSet.copyOf(walk)).containsOnlyElementsOf(expected).hasSameSizeAs(expected);
+    }
+
+    @Test
+    public void walks_single_file() throws IOException {
+        File root = temporaryFolder.newFolder();
+        Path file = getOnlyPath(createFiles(root, "Single.class"));
+
+        assertThat(new ParallelFileTreeWalk(file, visitAll(), 2)).containsExactly(file);
+    }
+
+    @Test
+    public void releases_its_threads_even_if_the_walk_is_abandoned() throws Exception {
+        File root = temporaryFolder.newFolder();
+        createFiles(root, "a/A.class", "a/b/B.class", "c/C.class");
+
+        Iterator<Path> abandoned = new ParallelFileTreeWalk(root.toPath(), visitAll(), 2).iterator();
+        abandoned.next();
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!walkThreads().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(walkThreads()).isEmpty();
+    }
+
+    private Set<Thread> walkThreads() {
+        Set<Thread> result = new HashSet<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("archunit-file-tree-walk") && thread.isAlive()) {
+                result.add(thread);
+            }
+        }
+        return result;
+    }
+
+    private Path getOnlyPath(Set<Path> paths) {
+        checkState(paths.size() == 1);
+        return paths.iterator().next();
+    }
+
+    private Set<Path> createFiles(File root, String... relativePaths) throws IOException {
+        ImmutableSet.Builder<Path> result = ImmutableSet.builder();
+        for (String relativePath : relativePaths) {
+            File file = new File(root, relativePath);
+            checkState(file.getParentFile().exists() || file.getParentFile().mkdirs());
+            checkState(file.createNewFile());
+            result.add(file.toPath());
+        }
+        return result.build();
+    }
+
+    private ParallelFileTreeWalk.Visitor visitAll() {
+        return new ParallelFileTreeWalk.Visitor() {
+            @Override
+            public boolean shouldEnter(Path directory) {
+                return true;
+            }
+
+            @Override
+            public boolean shouldInclude(Path file) {
+                return true;
+            }
+        };
+    }
+}
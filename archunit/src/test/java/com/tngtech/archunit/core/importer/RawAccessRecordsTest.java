@@ -0,0 +1,226 @@
+package com.tngtech.archunit.core.importer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.domain.JavaType;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import com.tngtech.archunit.core.importer.RawAccessRecord.FieldTargetInfo;
+import com.tngtech.archunit.core.importer.RawAccessRecord.MethodTargetInfo;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+import org.junit.Test;
+
+import static com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType.GET;
+import static com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType.SET;
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+
+public class RawAccessRecordsTest {
+    private final SymbolTable symbols = new SymbolTable();
+
+    @Test
+    public void ignores_duplicate_records() {
+        RawAccessRecords.ForFields records = new RawAccessRecords.ForFields(symbols);
+        CodeUnit caller = codeUnit("Caller", "call");
+        TargetInfo target = new FieldTargetInfo(JavaType.From.name("Target"), "field", "I");
+
+        records.add(caller, target, 5, GET);
+        records.add(caller, target, 5, GET);
+        records.add(codeUnit("Caller", "call"), new FieldTargetInfo(JavaType.From.name("Target"), "field", "I"), 5, GET);
+        records.add(caller, target, 5, SET);
+        records.add(caller, target, 6, GET);
+
+        assertThat(records.size()).isEqualTo(3);
+        assertThat(toSet(records)).containsOnly(
+                fieldRecord(caller, target, 5, GET),
+                fieldRecord(caller, target, 5, SET),
+                fieldRecord(caller, target, 6, GET));
+    }
+
+    @Test
+    public void stores_many_records() {
+        RawAccessRecords.ForCalls records = new RawAccessRecords.ForCalls(symbols);
+        Set<RawAccessRecord> expected = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            RawAccessRecord record = callRecord(codeUnit("Caller" + (i % 7), "call"), methodTarget("Target" + (i % 13)), i % 100);
+            records.add(record.caller, record.target, record.lineNumber);
+            expected.add(record);
+        }
+
+        assertThat(records.size()).isEqualTo(expected.size());
+        assertThat(toSet(records)).isEqualTo(expected);
+    }
+
+    @Test
+    public void spills_records_exceeding_heap_budget_and_streams_them_back_grouped_by_caller() {
+        RawAccessRecords.HeapBudget heapBudget = new RawAccessRecords.HeapBudget(1000);
+        RawAccessRecords.ForCalls records = new RawAccessRecords.ForCalls(symbols, heapBudget);
+        RawAccessRecords.ForFields otherRecords = new RawAccessRecords.ForFields(symbols, heapBudget);
+        Set<RawAccessRecord> expected = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            RawAccessRecord record = callRecord(codeUnit("Caller" + (i % 7), "call"), methodTarget("Target" + (i % 13)), i % 100);
+            records.add(record.caller, record.target, record.lineNumber);
+            expected.add(record);
+        }
+        otherRecords.add(codeUnit("Caller", "call"), new FieldTargetInfo(JavaType.From.name("Target"), "field", "I"), 1, GET);
+
+        List<RawAccessRecord> streamed = ImmutableList.copyOf(records);
+
+        assertThat(streamed).as("streamed records").hasSize(expected.size());
+        assertThat(ImmutableSet.copyOf(streamed)).isEqualTo(expected);
+        assertThat(callersOf(streamed)).as("callers of streamed records").isSorted();
+        assertThat(records.getTargetIds().cardinality()).isEqualTo(13);
+        assertThat(otherRecords).hasSize(1);
+        records.discard();
+        otherRecords.discard();
+    }
+
+    @Test
+    public void streams_records_grouped_by_caller() {
+        RawAccessRecords.ForCalls records = new RawAccessRecords.ForCalls(symbols);
+        Set<RawAccessRecord> expected = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            RawAccessRecord record = callRecord(codeUnit("Caller" + (i % 7), "call"), methodTarget("Target" + (i % 13)), i % 100);
+            records.add(record.caller, record.target, record.lineNumber);
+            expected.add(record);
+        }
+
+        Set<RawAccessRecord> streamed = new HashSet<>();
+        Set<CodeUnit> callersOfPreviousGroups = new HashSet<>();
+        for (List<RawAccessRecord> group : records.groupedByCaller()) {
+            CodeUnit caller = group.get(0).caller;
+            assertThat(ImmutableSet.copyOf(callersOf(group))).as("callers of group").containsOnly(symbols.codeUnitId(caller));
+            assertThat(callersOfPreviousGroups.add(caller)).as("caller %s is unique to its group", caller).isTrue();
+            streamed.addAll(group);
+        }
+
+        assertThat(callersOfPreviousGroups).hasSize(7);
+        assertThat(streamed).isEqualTo(expected);
+        assertThat(toSet(records)).as("records after grouping").isEqualTo(expected);
+    }
+
+    @Test
+    public void keeps_records_within_heap_budget_while_streaming_spilled_records_grouped_by_caller() {
+        int maxBytes = 1000;
+        RawAccessRecords.HeapBudget heapBudget = new RawAccessRecords.HeapBudget(maxBytes);
+        RawAccessRecords.ForCalls records = new RawAccessRecords.ForCalls(symbols, heapBudget);
+        RawAccessRecords.ForFields otherRecords = new RawAccessRecords.ForFields(symbols, heapBudget);
+        Set<RawAccessRecord> expected = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            RawAccessRecord record = callRecord(codeUnit("Caller" + (i % 50), "call"), methodTarget("Target" + (i % 13)), i % 100);
+            records.add(record.caller, record.target, record.lineNumber);
+            otherRecords.add(record.caller, new FieldTargetInfo(JavaType.From.name("Target"), "field", "I"), i, GET);
+            expected.add(record);
+        }
+
+        Set<RawAccessRecord> streamed = new HashSet<>();
+        int largestGroup = 0;
+        for (List<RawAccessRecord> group : records.groupedByCaller()) {
+            largestGroup = Math.max(largestGroup, group.size());
+            streamed.addAll(group);
+        }
+
+        assertThat(heapBudget.getPeakAllocatedBytes()).as("peak bytes of records held in memory")
+                .isLessThanOrEqualTo(maxBytes + RawAccessRecords.ESTIMATED_BYTES_PER_ROW);
+        assertThat(largestGroup).as("records held as objects at the same time").isLessThanOrEqualTo(expected.size() / 50);
+        assertThat(streamed).isEqualTo(expected);
+        records.discard();
+        otherRecords.discard();
+    }
+
+    @Test
+    public void discards_spilled_records() {
+        RawAccessRecords.ForCalls records = new RawAccessRecords.ForCalls(symbols, new RawAccessRecords.HeapBudget(0));
+        records.add(codeUnit("Caller", "call"), methodTarget("Target"), 1);
+        records.add(codeUnit("Caller", "call"), methodTarget("Target"), 2);
+
+        records.discard();
+
+        assertThat(records.size()).isEqualTo(0);
+        assertThat(records).isEmpty();
+    }
+
+    @Test
+    public void spills_field_records_sorted_by_all_values() {
+        RawAccessRecords.ForFields records = new RawAccessRecords.ForFields(symbols, new RawAccessRecords.HeapBudget(100));
+        CodeUnit caller = codeUnit("Caller", "call");
+        TargetInfo target = new FieldTargetInfo(JavaType.From.name("Target"), "field", "I");
+        for (int lineNumber = 20; lineNumber > 0; lineNumber--) {
+            records.add(caller, target, lineNumber % 5, lineNumber % 2 == 0 ? GET : SET);
+        }
+
+        List<RawAccessRecord.ForField> streamed = ImmutableList.copyOf(records);
+
+        assertThat(streamed).hasSize(10);
+        assertThat(ImmutableSet.copyOf(streamed)).hasSize(10);
+        records.discard();
+    }
+
+    @Test
+    public void releases_heap_budget_of_discarded_records() {
+        RawAccessRecords.HeapBudget heapBudget = new RawAccessRecords.HeapBudget(100);
+        RawAccessRecords.ForCalls discarded = new RawAccessRecords.ForCalls(symbols, heapBudget);
+        for (int lineNumber = 0; lineNumber < 4; lineNumber++) {
+            discarded.add(codeUnit("Caller", "call"), methodTarget("Target"), lineNumber);
+        }
+        discarded.discard();
+
+        RawAccessRecords.ForCalls records = new RawAccessRecords.ForCalls(symbols, heapBudget);
+        records.add(codeUnit("Caller", "call"), methodTarget("Target"), 1);
+        records.add(codeUnit("Caller", "call"), methodTarget("Target"), 1);
+
+        assertThat(records.size()).as("records (duplicates are only detected, if nothing has been spilled)").isEqualTo(1);
+    }
+
+    @Test
+    public void adds_records_of_callers_declared_in_given_classes() {
+        RawAccessRecords.ForCalls partial = new RawAccessRecords.ForCalls(symbols);
+        CodeUnit first = codeUnit("First", "call");
+        CodeUnit second = codeUnit("Second", "call");
+        partial.add(first, methodTarget("Target"), 1);
+        partial.add(second, methodTarget("Target"), 2);
+        partial.add(first, methodTarget("Other"), 3);
+        RawAccessRecords.ForCalls records = new RawAccessRecords.ForCalls(symbols);
+        records.add(first, methodTarget("Target"), 1);
+
+        records.addAllWithCallerIn(Collections.singleton("First"), partial);
+
+        assertThat(toSet(records)).containsOnly(
+                callRecord(first, methodTarget("Target"), 1),
+                callRecord(first, methodTarget("Other"), 3));
+        assertThat(records.getTargetIds().cardinality()).isEqualTo(2);
+    }
+
+    private static <T> Set<T> toSet(Iterable<T> records) {
+        return ImmutableSet.copyOf(records);
+    }
+
+    private List<Integer> callersOf(List<RawAccessRecord> records) {
+        List<Integer> result = new ArrayList<>();
+        for (RawAccessRecord record : records) {
+            result.add(symbols.codeUnitId(record.caller));
+        }
+        return result;
+    }
+
+    private static CodeUnit codeUnit(String owner, String name) {
+        return new CodeUnit(name, "()V", Collections.<String>emptyList(), owner);
+    }
+
+    private static TargetInfo methodTarget(String owner) {
+        return new MethodTargetInfo(JavaType.From.name(owner), "method", "()V");
+    }
+
+    private static RawAccessRecord callRecord(CodeUnit caller, TargetInfo target, int lineNumber) {
+        return new RawAccessRecord.Builder().withCaller(caller).withTarget(target).withLineNumber(lineNumber).build();
+    }
+
+    private static RawAccessRecord.ForField fieldRecord(CodeUnit caller, TargetInfo target, int lineNumber, AccessType accessType) {
+        return new RawAccessRecord.ForField.Builder().withAccessType(accessType).withCaller(caller).withTarget(target).withLineNumber(lineNumber).build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.tngtech.archunit.core.importer.testexamples.annotatedclassimport.ClassAnnotationWithArrays;
+import com.tngtech.archunit.core.importer.testexamples.annotatedclassimport.ClassWithComplexAnnotations;
+import com.tngtech.archunit.core.importer.testexamples.annotationmethodimport.MethodAnnotationWithArrays;
+import com.tngtech.archunit.core.importer.testexamples.complexmethodimport.ClassWithComplexMethod;
+import com.tngtech.archunit.core.importer.testexamples.fieldaccessimport.ForeignFieldAccess;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.objectweb.asm.ClassReader;
+
+import static com.tngtech.archunit.core.domain.SourceTest.urlOf;
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+import static com.tngtech.java.junit.dataprovider.DataProviders.testForEach;
+
+@RunWith(DataProviderRunner.class)
+public class RecordedClassFileTest {
+    @DataProvider
+    public static Object[][] recorded_classes() {
+        return testForEach(
+                ClassWithComplexAnnotations.class,
+                ClassAnnotationWithArrays.class,
+                MethodAnnotationWithArrays.class,
+                ClassWithComplexMethod.class,
+                ForeignFieldAccess.class);
+    }
+
+    @Test
+    @UseDataProvider("recorded_classes")
+    public void replaying_a_recording_repeats_all_recorded_visits(Class<?> recordedClass) throws IOException {
+        byte[] recording = record(recordedClass);
+
+        RecordedClassFile.Recorder recorderOfReplay = RecordedClassFile.recordWhileVisiting(null);
+        RecordedClassFile.replay(recording, recorderOfReplay);
+
+        assertThat(recorderOfReplay.toByteArray()).isEqualTo(recording);
+    }
+
+    @Test
+    @UseDataProvider("recorded_classes")
+    public void replaying_a_recording_from_a_region_of_a_buffer_repeats_all_recorded_visits(Class<?> recordedClass) throws IOException {
+        byte[] recording = record(recordedClass);
+        ByteBuffer region = ByteBuffer.allocate(recording.length + 6);
+        region.put(new byte[]{1, 2, 3}).put(recording).put(new byte[]{4, 5, 6});
+        region.position(3).limit(3 + recording.length);
+
+        RecordedClassFile.Recorder recorderOfReplay = RecordedClassFile.recordWhileVisiting(null);
+        RecordedClassFile.replay(region.asReadOnlyBuffer(), recorderOfReplay);
+
+        assertThat(recorderOfReplay.toByteArray()).isEqualTo(recording);
+    }
+
+    private byte[] record(Class<?> clazz) throws IOException {
+        RecordedClassFile.Recorder recorder = RecordedClassFile.recordWhileVisiting(null);
+        try (InputStream in = urlOf(clazz).openStream()) {
+            new ClassReader(in).accept(recorder, 0);
+        }
+        return recorder.toByteArray();
+    }
+}
@@ -0,0 +1,35 @@
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.core.importer.SymbolTable.MethodDescriptor;
+import org.junit.Test;
+
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+
+public class SymbolTableTest {
+    private final SymbolTable symbols = new SymbolTable();
+
+    @Test
+    public void interns_strings() {
+        String first = symbols.intern(new String("someName"));
+        String second = symbols.intern(new String("someName"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(symbols.intern(null)).isNull();
+    }
+
+    @Test
+    public void resolves_types_by_internal_name_and_descriptor() {
+        assertThat(symbols.objectType("java/lang/String").getName()).isEqualTo(String.class.getName());
+        assertThat(symbols.type("Ljava/lang/String;")).isSameAs(symbols.objectType("java/lang/String"));
+        assertThat(symbols.type("[I").getName()).isEqualTo(int[].class.getName());
+    }
+
+    @Test
+    public void parses_method_descriptors_only_once() {
+        MethodDescriptor descriptor = symbols.methodDescriptor("(Ljava/lang/String;I)Ljava/lang/Object;");
+
+        assertThat(descriptor.getParameterTypeNames()).containsExactly(String.class.getName(), int.class.getName());
+        assertThat(descriptor.getReturnType().getName()).isEqualTo(Object.class.getName());
+        assertThat(symbols.methodDescriptor(new String("(Ljava/lang/String;I)Ljava/lang/Object;"))).isSameAs(descriptor);
+    }
+}
@@ -3,6 +3,7 @@ package com.tngtech.archunit.core.importer.resolvers;
 import java.net.URI;
 import java.net.URISyntaxException;
 
+import com.google.common.collect.ImmutableSet;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver.ClassUriImporter;
@@ -48,6 +49,18 @@ public class ClassResolverFromClassPathTest {
         verifyNoMoreInteractions(uriImporter);
     }
 
+    @Test
+    public void resolves_prefetched_classes() throws URISyntaxException {
+        JavaClass expectedJavaClass = importClassWithContext(ClassResolverFromClassPathTest.class);
+        when(uriImporter.tryImport(uriOf(ClassResolverFromClassPathTest.class))).thenReturn(Optional.of(expectedJavaClass));
+        resolver.setClassUriImporter(uriImporter);
+
+        resolver.prefetch(ImmutableSet.of(ClassResolverFromClassPathTest.class.getName(), "sooo.Wrong"));
+
+        assertThat(resolver.tryResolve(ClassResolverFromClassPathTest.class.getName())).contains(expectedJavaClass);
+        assertThat(resolver.tryResolve("sooo.Wrong")).isAbsent();
+    }
+
     private URI uriOf(Class<?> clazz) throws URISyntaxException {
         return getClass().getResource("/" + clazz.getName().replace('.', '/') + ".class").toURI();
     }
@@ -0,0 +1,101 @@
+package com.tngtech.archunit.core.importer.resolvers;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+
+public class ClassUriCacheTest {
+    @Test
+    public void locates_each_type_only_once() throws Exception {
+        CountingClassLoader classLoader = new CountingClassLoader();
+        ClassUriCache cache = ClassUriCache.of(classLoader);
+
+        assertThat(cache.tryGetUriOf(Object.class.getName())).contains(urlOf(Object.class).toURI());
+        assertThat(cache.tryGetUriOf(Object.class.getName())).contains(urlOf(Object.class).toURI());
+        assertThat(ClassUriCache.of(classLoader).tryGetUriOf(Object.class.getName())).contains(urlOf(Object.class).toURI());
+
+        assertThat(classLoader.numberOfLookups(Object.class.getName())).isEqualTo(1);
+    }
+
+    @Test
+    public void remembers_types_that_cant_be_located() {
+        CountingClassLoader classLoader = new CountingClassLoader();
+        ClassUriCache cache = ClassUriCache.of(classLoader);
+
+        assertThat(cache.tryGetUriOf("not.There")).isAbsent();
+        assertThat(cache.tryGetUriOf("not.There")).isAbsent();
+
+        assertThat(classLoader.numberOfLookups("not.There")).isEqualTo(1);
+    }
+
+    @Test
+    public void prefetches_types_concurrently() throws Exception {
+        CountingClassLoader classLoader = new CountingClassLoader();
+        ClassUriCache cache = ClassUriCache.of(classLoader);
+
+        cache.prefetch(ImmutableSet.of(Object.class.getName(), String.class.getName(), "not.There"), 4);
+
+        assertThat(cache.tryGetUriOf(String.class.getName())).contains(urlOf(String.class).toURI());
+        assertThat(cache.tryGetUriOf("not.There")).isAbsent();
+        for (String typeName : ImmutableSet.of(Object.class.getName(), String.class.getName(), "not.There")) {
+            assertThat(classLoader.numberOfLookups(typeName)).as("lookups of " + typeName).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void caches_per_class_loader() {
+        CountingClassLoader first = new CountingClassLoader();
+        CountingClassLoader second = new CountingClassLoader();
+
+        ClassUriCache.of(first).tryGetUriOf(Object.class.getName());
+        ClassUriCache.of(second).tryGetUriOf(Object.class.getName());
+
+        assertThat(first.numberOfLookups(Object.class.getName())).isEqualTo(1);
+        assertThat(second.numberOfLookups(Object.class.getName())).isEqualTo(1);
+    }
+
+    @Test
+    public void does_not_prevent_class_loaders_from_being_garbage_collected() {
+        CountingClassLoader classLoader = new CountingClassLoader();
+        ClassUriCache.of(classLoader).tryGetUriOf(Object.class.getName());
+        WeakReference<ClassLoader> reference = new WeakReference<ClassLoader>(classLoader);
+
+        classLoader = null;
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+        }
+
+        assertThat(reference.get()).as("class loader of cached lookups").isNull();
+    }
+
+    private static URL urlOf(Class<?> clazz) {
+        return ClassUriCacheTest.class.getResource("/" + clazz.getName().replace('.', '/') + ".class");
+    }
+
+    private static class CountingClassLoader extends ClassLoader {
+        private final ConcurrentMap<String, AtomicInteger> lookups = new ConcurrentHashMap<>();
+
+        CountingClassLoader() {
+            super(ClassUriCacheTest.class.getClassLoader());
+        }
+
+        @Override
+        public URL getResource(String name) {
+            lookups.putIfAbsent(name, new AtomicInteger());
+            lookups.get(name).incrementAndGet();
+            return super.getResource(name);
+        }
+
+        int numberOfLookups(String typeName) {
+            AtomicInteger result = lookups.get(typeName.replace('.', '/') + ".class");
+            return result != null ? result.get() : 0;
+        }
+    }
+}
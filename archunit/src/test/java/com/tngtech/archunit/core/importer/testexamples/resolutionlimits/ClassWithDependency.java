@@ -0,0 +1,7 @@
+package com.tngtech.archunit.core.importer.testexamples.resolutionlimits;
+
+public class ClassWithDependency {
+    void callDependency(DirectDependency dependency) {
+        dependency.call();
+    }
+}
@@ -0,0 +1,8 @@
+package com.tngtech.archunit.core.importer.testexamples.resolutionlimits;
+
+public class DirectDependency extends ParentOfDirectDependency {
+    TransitiveDependency transitiveDependency;
+
+    void call() {
+    }
+}
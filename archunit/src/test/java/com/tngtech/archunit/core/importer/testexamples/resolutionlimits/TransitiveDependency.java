@@ -0,0 +1,6 @@
+package com.tngtech.archunit.core.importer.testexamples.resolutionlimits;
+
+public class TransitiveDependency {
+    void transitiveMethod() {
+    }
+}
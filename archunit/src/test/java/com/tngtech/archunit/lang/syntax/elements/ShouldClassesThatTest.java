@@ -16,6 +16,7 @@ import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.properties.HasName;
 import com.tngtech.archunit.core.domain.properties.HasType;
 import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
@@ -29,7 +30,9 @@ import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.tngtech.archunit.base.DescribedPredicate.equalTo;
 import static com.tngtech.archunit.base.DescribedPredicate.not;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.assignableFrom;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.equivalentTo;
 import static com.tngtech.archunit.core.domain.JavaModifier.PRIVATE;
+import static com.tngtech.archunit.core.domain.TestUtils.importClasses;
 import static com.tngtech.archunit.core.domain.properties.HasName.Functions.GET_NAME;
 import static com.tngtech.archunit.core.domain.properties.HasType.Functions.GET_RAW_TYPE;
 import static com.tngtech.archunit.lang.conditions.ArchPredicates.are;
@@ -1536,6 +1539,33 @@ public class ShouldClassesThatTest {
         assertThat(classes).isEmpty();
     }
 
+    @Test
+    public void transitivelyDependOnClassesThat_reports_shortest_chain_of_dependencies() {
+        ArchRule rule = noClasses().should().transitivelyDependOnClassesThat().haveSimpleName(TransitivelyAccessedClass.class.getSimpleName());
+
+        EvaluationResult result = rule.evaluate(importClasses(
+                ClassDependingTransitively.class, ClassDependingDirectly.class, TransitivelyAccessedClass.class));
+
+        assertThat(result.getFailureReport().getDetails()).containsOnly(
+                String.format("Class <%s> transitively depends on <%s> by [%s->%s->%s] in (%s.java:0)",
+                        ClassDependingTransitively.class.getName(), TransitivelyAccessedClass.class.getName(),
+                        ClassDependingTransitively.class.getName(), ClassDependingDirectly.class.getName(), TransitivelyAccessedClass.class.getName(),
+                        getClass().getSimpleName()),
+                String.format("Class <%s> transitively depends on <%s> by [%s->%s] in (%s.java:0)",
+                        ClassDependingDirectly.class.getName(), TransitivelyAccessedClass.class.getName(),
+                        ClassDependingDirectly.class.getName(), TransitivelyAccessedClass.class.getName(),
+                        getClass().getSimpleName()));
+    }
+
+    @Test
+    public void transitivelyDependOnClassesThat_predicate() {
+        Set<JavaClass> classes = filterClassesAppearingInFailureReport(
+                classes().should().transitivelyDependOnClassesThat(are(equivalentTo(TransitivelyAccessedClass.class))))
+                .on(ClassDependingTransitively.class, ClassDependingDirectly.class, TransitivelyAccessedClass.class);
+
+        assertThatClasses(classes).matchInAnyOrder(TransitivelyAccessedClass.class);
+    }
+
     @Test
     public void onlyDependOnClassesThat_reports_all_dependencies() {
         Function<ArchRule, Set<JavaClass>> filterClassesInFailureReport = new Function<ArchRule, Set<JavaClass>>() {
@@ -1625,6 +1655,19 @@ public class ShouldClassesThatTest {
     private static class ClassImplementingSerializable implements Serializable {
     }
 
+    @SuppressWarnings("unused")
+    private static class ClassDependingTransitively {
+        ClassDependingDirectly dependency;
+    }
+
+    @SuppressWarnings("unused")
+    private static class ClassDependingDirectly {
+        TransitivelyAccessedClass dependency;
+    }
+
+    private static class TransitivelyAccessedClass {
+    }
+
     private static class ClassAccessingConstructor {
         @SuppressWarnings({"ResultOfMethodCallIgnored", "unused"})
         void call(Constructor<?> constructor) {